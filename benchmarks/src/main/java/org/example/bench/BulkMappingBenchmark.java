@@ -0,0 +1,67 @@
+package org.example.bench;
+
+import org.example.bench.model.Pedido;
+import org.example.bench.model.PedidoDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o laço sequencial com o {@code fromAll}/{@code toModelAll} gerados,
+ * que passam a dividir o trabalho em paralelo acima de
+ * {@link org.example.BulkMapping#PARALLEL_THRESHOLD} elementos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Pedido> pedidos;
+    private List<PedidoDTO> pedidoDTOs;
+
+    @Setup
+    public void setup() {
+        pedidos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pedidos.add(Fixtures.pedido(i, 5));
+        }
+        pedidoDTOs = PedidoDTO.fromAll(pedidos);
+    }
+
+    @Benchmark
+    public List<PedidoDTO> fromLoop() {
+        List<PedidoDTO> result = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            result.add(PedidoDTO.from(pedido));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<PedidoDTO> fromAll() {
+        return PedidoDTO.fromAll(pedidos);
+    }
+
+    @Benchmark
+    public List<Pedido> toModelAll() {
+        return PedidoDTO.toModelAll(pedidoDTOs);
+    }
+}
@@ -0,0 +1,479 @@
+package org.example.bench;
+
+import org.example.GenerateDTOProcessor;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Mede como o {@link GenerateDTOProcessor} escala com o número de entidades,
+ * campos e relacionamentos.
+ * <p>
+ * Gera entidades sintéticas em memória, compila com o {@link JavaCompiler} do
+ * próprio JDK (no mesmo processo, com o processor atual) e reporta, para cada
+ * tamanho, o tempo total da compilação, o tempo gasto dentro do processor, o
+ * pico de heap e os bytes alocados pela thread do compilador. Não é JMH: cada
+ * compilação é uma medida única, repetida {@code --runs} vezes (vale a menor).
+ * <p>
+ * Uso (depois de {@code mvn clean package}):
+ * <pre>
+ *   java -Xmx8g -cp target/benchmarks.jar org.example.bench.CompileScalingHarness \
+ *       [--sizes 100,1000,10000] [--fields 10] [--relations 3] [--runs 3] [--full] \
+ *       [--save resultado.csv] [--baseline anterior.csv] [--threshold 1.25] [--threads n]
+ * </pre>
+ * Regressão: o tempo do processor por entidade no maior tamanho não pode passar
+ * de {@code --threshold} vezes o do menor (crescimento superlinear), e, com
+ * {@code --baseline}, o tempo do processor de cada tamanho não pode passar de
+ * {@code --threshold} vezes o registrado no arquivo. Se passar, o processo
+ * termina com código 1.
+ * <p>
+ * Por padrão compila com {@code -proc:only}: os DTOs gerados são analisados
+ * mas não compilados. {@code --full} inclui a compilação deles no tempo total.
+ * {@code --threads} repassa {@code -Agenerate.dto.threads} ao processor.
+ */
+public class CompileScalingHarness {
+
+    private static final String PACKAGE = "bench.synthetic";
+
+    private static final String[] SIMPLE_TYPES = {
+            "String", "int", "Long", "java.math.BigDecimal", "boolean",
+            "java.time.LocalDate", "double", "java.util.UUID"
+    };
+
+    public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("JavaCompiler indisponível: execute com um JDK, não um JRE");
+        }
+
+        System.out.printf(Locale.ROOT, "campos=%d relacionamentos=%d runs=%d modo=%s%n",
+                options.fields, options.relations, options.runs, options.full ? "full" : "proc:only");
+
+        // Aquecimento: a primeira compilação paga o JIT do javac e do processor
+        compile(compiler, options, Math.min(100, options.sizes[0]));
+
+        List<Result> results = new ArrayList<>();
+        for (int size : options.sizes) {
+            Result best = null;
+            for (int run = 0; run < options.runs; run++) {
+                Result result = compile(compiler, options, size);
+                if (best == null || result.processorNanos < best.processorNanos) {
+                    best = result;
+                }
+            }
+            results.add(best);
+            System.out.println(best);
+        }
+
+        if (options.save != null) {
+            save(Paths.get(options.save), results);
+        }
+        boolean ok = checkScaling(results, options.threshold);
+        if (options.baseline != null) {
+            ok &= checkBaseline(results, load(Paths.get(options.baseline)), options.threshold);
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // ========== COMPILAÇÃO ==========
+
+    private static Result compile(JavaCompiler compiler, Options options, int size) throws IOException {
+        List<JavaFileObject> sources = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sources.add(new SourceFile("Entity" + i, entitySource(i, options)));
+        }
+
+        Path out = Files.createTempDirectory("generate-dto-scaling");
+        try {
+            Path generated = Files.createDirectories(out.resolve("generated"));
+            Path classes = Files.createDirectories(out.resolve("classes"));
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+            try (StandardJavaFileManager fileManager =
+                         compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+                fileManager.setLocationFromPaths(StandardLocation.SOURCE_OUTPUT, List.of(generated));
+                fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(classes));
+
+                List<String> javacOptions = new ArrayList<>();
+                javacOptions.add("-classpath");
+                javacOptions.add(System.getProperty("java.class.path"));
+                javacOptions.add("-Xlint:-options");
+                if (!options.full) {
+                    javacOptions.add("-proc:only");
+                }
+                if (options.threads > 0) {
+                    javacOptions.add("-Agenerate.dto.threads=" + options.threads);
+                }
+
+                TimedProcessor processor = new TimedProcessor(new GenerateDTOProcessor());
+                JavaCompiler.CompilationTask task =
+                        compiler.getTask(null, fileManager, diagnostics, javacOptions, null, sources);
+                task.setProcessors(List.of(processor));
+
+                System.gc();
+                Heap heap = new Heap();
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                boolean success = task.call();
+                long wall = System.nanoTime() - start;
+                long allocated = allocatedBytes() - allocatedBefore;
+
+                if (!success) {
+                    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                            System.err.println(diagnostic);
+                        }
+                    }
+                    throw new IllegalStateException("compilação de " + size + " entidades falhou");
+                }
+                return new Result(size, wall, processor.nanos, heap.peak(), allocated);
+            }
+        } finally {
+            delete(out);
+        }
+    }
+
+    /**
+     * Entidade {@code Entity<i>} com {@code fields} campos simples e até
+     * {@code relations} relacionamentos para entidades de índice menor
+     * (alternando aninhado, coleção e flatten), então o grafo não tem ciclos.
+     */
+    static String entitySource(int index, Options options) {
+        List<String[]> members = new ArrayList<>();
+        members.add(new String[]{"Long", "id"});
+        for (int f = 0; f < options.fields; f++) {
+            members.add(new String[]{SIMPLE_TYPES[f % SIMPLE_TYPES.length], "campo" + f});
+        }
+
+        List<String> flatten = new ArrayList<>();
+        for (int r = 0; r < options.relations && r < index; r++) {
+            String target = "Entity" + (index - 1 - r);
+            String name = "rel" + r;
+            switch (r % 3) {
+                case 0:
+                    members.add(new String[]{target, name});
+                    break;
+                case 1:
+                    members.add(new String[]{"java.util.List<" + target + ">", name});
+                    break;
+                default:
+                    members.add(new String[]{target, name});
+                    flatten.add("\"" + name + "\"");
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(256 + members.size() * 192);
+        sb.append("package ").append(PACKAGE).append(";\n\n");
+        sb.append("@org.example.GenerateDTO");
+        if (!flatten.isEmpty()) {
+            sb.append("(flattenRelations = {").append(String.join(", ", flatten)).append("})");
+        }
+        sb.append("\npublic class Entity").append(index).append(" {\n");
+        for (String[] member : members) {
+            sb.append("    private ").append(member[0]).append(' ').append(member[1]).append(";\n");
+        }
+        for (String[] member : members) {
+            String type = member[0];
+            String name = member[1];
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            sb.append("    public ").append(type).append(" get").append(suffix)
+                    .append("() { return ").append(name).append("; }\n");
+            sb.append("    public void set").append(suffix).append('(').append(type).append(' ')
+                    .append(name).append(") { this.").append(name).append(" = ").append(name).append("; }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    // ========== REGRESSÃO ==========
+
+    private static boolean checkScaling(List<Result> results, double threshold) {
+        if (results.size() < 2) {
+            return true;
+        }
+        Result smallest = results.get(0);
+        Result largest = results.get(results.size() - 1);
+        double ratio = largest.processorNanosPerEntity() / smallest.processorNanosPerEntity();
+        System.out.printf(Locale.ROOT, "escala: processor/entidade em %d = %.2fx o de %d (limite %.2fx)%n",
+                largest.entities, ratio, smallest.entities, threshold);
+        if (ratio > threshold) {
+            System.out.println("REGRESSÃO: o tempo do processor cresce mais que linearmente com o número de entidades");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean checkBaseline(List<Result> results, Map<Integer, Long> baseline, double threshold) {
+        boolean ok = true;
+        for (Result result : results) {
+            Long previous = baseline.get(result.entities);
+            if (previous == null || previous == 0) {
+                continue;
+            }
+            double ratio = (double) result.processorNanos / previous;
+            System.out.printf(Locale.ROOT, "baseline: %d entidades, processor %.2fx o anterior (limite %.2fx)%n",
+                    result.entities, ratio, threshold);
+            if (ratio > threshold) {
+                System.out.println("REGRESSÃO: " + result.entities + " entidades acima do baseline");
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    private static void save(Path file, List<Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("entities,wallNs,processorNs,peakHeapBytes,allocatedBytes");
+        for (Result result : results) {
+            lines.add(result.entities + "," + result.wallNanos + "," + result.processorNanos
+                    + "," + result.peakHeap + "," + result.allocated);
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static Map<Integer, Long> load(Path file) throws IOException {
+        Map<Integer, Long> processorNanos = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            processorNanos.put(Integer.parseInt(columns[0]), Long.parseLong(columns[2]));
+        }
+        return processorNanos;
+    }
+
+    // ========== MEDIÇÃO ==========
+
+    private static long allocatedBytes() {
+        // O javac roda na thread que chamou task.call()
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // Pico de uso do heap desde a criação (soma dos picos de cada pool)
+    private static final class Heap {
+
+        private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+
+        Heap() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                    pool.resetPeakUsage();
+                    pools.add(pool);
+                }
+            }
+        }
+
+        long peak() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            return peak;
+        }
+    }
+
+    /**
+     * Delega para o processor real somando o tempo de {@code init} e de cada
+     * {@code process}: o que sobra do tempo total é do próprio javac.
+     */
+    private static final class TimedProcessor implements Processor {
+
+        private final Processor delegate;
+        private long nanos;
+
+        TimedProcessor(Processor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override
+        public void init(ProcessingEnvironment processingEnv) {
+            long start = System.nanoTime();
+            delegate.init(processingEnv);
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            long start = System.nanoTime();
+            try {
+                return delegate.process(annotations, roundEnv);
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(Element element, AnnotationMirror annotation,
+                                                             ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String simpleName, String source) {
+            super(URI.create("string:///" + PACKAGE.replace('.', '/') + "/" + simpleName + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static final class Result {
+
+        private final int entities;
+        private final long wallNanos;
+        private final long processorNanos;
+        private final long peakHeap;
+        private final long allocated;
+
+        Result(int entities, long wallNanos, long processorNanos, long peakHeap, long allocated) {
+            this.entities = entities;
+            this.wallNanos = wallNanos;
+            this.processorNanos = processorNanos;
+            this.peakHeap = peakHeap;
+            this.allocated = allocated;
+        }
+
+        double processorNanosPerEntity() {
+            return (double) processorNanos / entities;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%6d entidades: total %8.1f ms, processor %8.1f ms (%6.1f us/entidade), "
+                            + "pico heap %6d MB, alocado %7d MB",
+                    entities, wallNanos / 1e6, processorNanos / 1e6, processorNanosPerEntity() / 1e3,
+                    peakHeap >> 20, allocated >> 20);
+        }
+    }
+
+    static final class Options {
+
+        int[] sizes = {100, 1_000, 10_000};
+        int fields = 10;
+        int relations = 3;
+        int runs = 3;
+        boolean full;
+        // 0 = padrão do processor
+        int threads;
+        double threshold = 1.25;
+        String save;
+        String baseline;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--sizes":
+                        options.sizes = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                        break;
+                    case "--fields":
+                        options.fields = Integer.parseInt(args[++i]);
+                        break;
+                    case "--relations":
+                        options.relations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--runs":
+                        options.runs = Math.max(1, Integer.parseInt(args[++i]));
+                        break;
+                    case "--full":
+                        options.full = true;
+                        break;
+                    case "--threshold":
+                        options.threshold = Double.parseDouble(args[++i]);
+                        break;
+                    case "--save":
+                        options.save = args[++i];
+                        break;
+                    case "--baseline":
+                        options.baseline = args[++i];
+                        break;
+                    case "--threads":
+                        options.threads = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("opção desconhecida: " + args[i]);
+                }
+            }
+            Arrays.sort(options.sizes);
+            return options;
+        }
+    }
+
+    private static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
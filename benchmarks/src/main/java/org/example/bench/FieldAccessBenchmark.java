@@ -0,0 +1,70 @@
+package org.example.bench;
+
+import org.example.FieldAccessor;
+import org.example.bench.model.ClienteDTO;
+import org.example.bench.model.ClienteDTOFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lê todas as propriedades de um DTO pelo {@code ClienteDTOFields} gerado e
+ * pelos getters obtidos com introspecção de beans (já em cache, só o
+ * {@code Method.invoke}), como faz uma camada genérica de CSV.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessBenchmark {
+
+    private ClienteDTO cliente;
+    private FieldAccessor<ClienteDTO> fields;
+    private Method[] getters;
+
+    @Setup
+    public void setup() throws Exception {
+        cliente = ClienteDTO.from(Fixtures.cliente(42, 10));
+        fields = ClienteDTOFields.accessor();
+
+        List<Method> readers = new ArrayList<>();
+        for (PropertyDescriptor property : Introspector.getBeanInfo(ClienteDTO.class, Object.class)
+                .getPropertyDescriptors()) {
+            if (property.getReadMethod() != null) {
+                readers.add(property.getReadMethod());
+            }
+        }
+        getters = readers.toArray(new Method[0]);
+    }
+
+    @Benchmark
+    public void accessor(Blackhole bh) {
+        for (int i = 0; i < fields.fields().size(); i++) {
+            bh.consume(fields.get(cliente, i));
+        }
+    }
+
+    @Benchmark
+    public void reflection(Blackhole bh) throws Exception {
+        for (Method getter : getters) {
+            bh.consume(getter.invoke(cliente));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.bench;
+
+import org.example.bench.model.Cliente;
+import org.example.bench.model.ClienteLoop;
+import org.example.bench.model.Contato;
+import org.example.bench.model.Empresa;
+import org.example.bench.model.Endereco;
+import org.example.bench.model.ItemPedido;
+import org.example.bench.model.Pedido;
+import org.example.bench.model.Tag;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Monta grafos de entidades determinísticos para os benchmarks.
+ * O {@code fanOut} controla o tamanho de cada lista, set e map aninhado.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Cliente cliente(long id, int fanOut) {
+        Empresa empresa = new Empresa();
+        empresa.setId(id % 97);
+        empresa.setNome("Empresa " + (id % 97));
+        empresa.setCnpj("00.000.000/0001-" + (id % 97));
+
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome("Cliente " + id);
+        cliente.setEmail("cliente" + id + "@example.org");
+        cliente.setIdade((int) (18 + id % 60));
+        cliente.setSaldo(id * 10.5);
+        cliente.setAtivo(id % 2 == 0);
+        cliente.setEmpresa(empresa);
+        cliente.setEndereco(endereco(id));
+
+        List<Endereco> enderecos = new ArrayList<>(fanOut);
+        Set<Tag> tags = new HashSet<>();
+        Map<String, Contato> contatos = new HashMap<>();
+        for (int i = 0; i < fanOut; i++) {
+            enderecos.add(endereco(id * 1000 + i));
+            tags.add(tag(i));
+            contatos.put("contato-" + i, contato(i));
+        }
+        cliente.setEnderecos(enderecos);
+        cliente.setTags(tags);
+        cliente.setContatos(contatos);
+        return cliente;
+    }
+
+    // Mesmo grafo de cliente(id, fanOut), para a entidade gerada com MappingStyle.LOOP
+    static ClienteLoop clienteLoop(long id, int fanOut) {
+        Cliente origem = cliente(id, fanOut);
+
+        ClienteLoop cliente = new ClienteLoop();
+        cliente.setId(origem.getId());
+        cliente.setNome(origem.getNome());
+        cliente.setEmail(origem.getEmail());
+        cliente.setIdade(origem.getIdade());
+        cliente.setSaldo(origem.getSaldo());
+        cliente.setAtivo(origem.getAtivo());
+        cliente.setEmpresa(origem.getEmpresa());
+        cliente.setEndereco(origem.getEndereco());
+        cliente.setEnderecos(origem.getEnderecos());
+        cliente.setTags(origem.getTags());
+        cliente.setContatos(origem.getContatos());
+        return cliente;
+    }
+
+    static Pedido pedido(long id, int fanOut) {
+        Pedido pedido = new Pedido();
+        pedido.setId(id);
+        pedido.setCliente(cliente(id, 0));
+        pedido.setCriadoEm(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id));
+        pedido.setStatus("ABERTO");
+
+        List<ItemPedido> itens = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            ItemPedido item = new ItemPedido();
+            item.setId(id * 1000 + i);
+            item.setProduto("Produto " + i);
+            item.setQuantidade(1 + i % 5);
+            item.setPrecoCentavos(199L * (i + 1));
+            itens.add(item);
+        }
+        pedido.setItens(itens);
+        return pedido;
+    }
+
+    private static Endereco endereco(long id) {
+        Endereco endereco = new Endereco();
+        endereco.setId(id);
+        endereco.setRua("Rua " + id);
+        endereco.setNumero((int) (id % 1000));
+        endereco.setCidade("São Paulo");
+        endereco.setCep("01000-" + (id % 1000));
+        return endereco;
+    }
+
+    private static Tag tag(int i) {
+        Tag tag = new Tag();
+        tag.setId((long) i);
+        tag.setNome("tag-" + i);
+        tag.setCor(i % 2 == 0 ? "azul" : "verde");
+        return tag;
+    }
+
+    private static Contato contato(int i) {
+        Contato contato = new Contato();
+        contato.setTipo(i % 2 == 0 ? "email" : "telefone");
+        contato.setValor("valor-" + i);
+        contato.setPrincipal(i == 0);
+        return contato;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.bench;
+
+import org.example.bench.model.Cliente;
+import org.example.bench.model.ClienteDTO;
+import org.example.bench.model.ClienteLoop;
+import org.example.bench.model.ClienteLoopDTO;
+import org.example.bench.model.Pedido;
+import org.example.bench.model.PedidoDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o {@code from(model)} e o {@code toModel()} gerados: relação flatten,
+ * DTO aninhado, List, Set e Map com fan-out variável. {@code clienteLoop*}
+ * usa o mesmo grafo gerado com {@link org.example.MappingStyle#LOOP}.
+ * {@code clienteFromInto}/{@code clienteToModelInto} preenchem sempre a mesma
+ * instância, como um exportador que recicla o DTO a cada registro.
+ * <p>
+ * Rodar com {@code java -jar target/benchmarks.jar MappingBenchmark -prof gc}
+ * para obter também a alocação por operação.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int fanOut;
+
+    private Cliente cliente;
+    private ClienteDTO clienteDTO;
+    private ClienteDTO clienteTarget;
+    private Cliente clienteModelTarget;
+    private ClienteLoop clienteLoop;
+    private ClienteLoopDTO clienteLoopDTO;
+    private Pedido pedido;
+    private PedidoDTO pedidoDTO;
+
+    @Setup
+    public void setup() {
+        cliente = Fixtures.cliente(42, fanOut);
+        clienteDTO = ClienteDTO.from(cliente);
+        clienteTarget = ClienteDTO.from(cliente);
+        clienteModelTarget = clienteDTO.toModel();
+        clienteLoop = Fixtures.clienteLoop(42, fanOut);
+        clienteLoopDTO = ClienteLoopDTO.from(clienteLoop);
+        pedido = Fixtures.pedido(42, fanOut);
+        pedidoDTO = PedidoDTO.from(pedido);
+    }
+
+    @Benchmark
+    public ClienteDTO clienteFrom() {
+        return ClienteDTO.from(cliente);
+    }
+
+    @Benchmark
+    public Cliente clienteToModel() {
+        return clienteDTO.toModel();
+    }
+
+    @Benchmark
+    public ClienteDTO clienteFromInto() {
+        return ClienteDTO.fromInto(cliente, clienteTarget);
+    }
+
+    @Benchmark
+    public Cliente clienteToModelInto() {
+        return clienteDTO.toModelInto(clienteModelTarget);
+    }
+
+    @Benchmark
+    public ClienteLoopDTO clienteLoopFrom() {
+        return ClienteLoopDTO.from(clienteLoop);
+    }
+
+    @Benchmark
+    public ClienteLoop clienteLoopToModel() {
+        return clienteLoopDTO.toModel();
+    }
+
+    @Benchmark
+    public PedidoDTO pedidoFrom() {
+        return PedidoDTO.from(pedido);
+    }
+
+    @Benchmark
+    public Pedido pedidoToModel() {
+        return pedidoDTO.toModel();
+    }
+}
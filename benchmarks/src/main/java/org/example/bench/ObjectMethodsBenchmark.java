@@ -0,0 +1,77 @@
+package org.example.bench;
+
+import org.example.bench.model.ClienteDTO;
+import org.example.bench.model.PedidoDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@code equals}, {@code hashCode} e {@code toString} gerados.
+ * O equals compara duas instâncias distintas com o mesmo conteúdo,
+ * forçando a comparação de todos os campos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectMethodsBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int fanOut;
+
+    private ClienteDTO cliente;
+    private ClienteDTO clienteCopia;
+    private PedidoDTO pedido;
+    private PedidoDTO pedidoCopia;
+
+    @Setup
+    public void setup() {
+        cliente = ClienteDTO.from(Fixtures.cliente(42, fanOut));
+        clienteCopia = ClienteDTO.from(Fixtures.cliente(42, fanOut));
+        pedido = PedidoDTO.from(Fixtures.pedido(42, fanOut));
+        pedidoCopia = PedidoDTO.from(Fixtures.pedido(42, fanOut));
+    }
+
+    @Benchmark
+    public boolean clienteEquals() {
+        return cliente.equals(clienteCopia);
+    }
+
+    @Benchmark
+    public int clienteHashCode() {
+        return cliente.hashCode();
+    }
+
+    @Benchmark
+    public String clienteToString() {
+        return cliente.toString();
+    }
+
+    @Benchmark
+    public boolean pedidoEquals() {
+        return pedido.equals(pedidoCopia);
+    }
+
+    @Benchmark
+    public int pedidoHashCode() {
+        return pedido.hashCode();
+    }
+
+    @Benchmark
+    public String pedidoToString() {
+        return pedido.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.bench.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.GenerateDTO;
+import org.example.MappingStyle;
+
+@GenerateDTO(flattenRelations = {"empresa"}, mappingStyle = MappingStyle.LOOP)
+public class ClienteLoop {
+
+    private Long id;
+    private String nome;
+    private String email;
+    private int idade;
+    private double saldo;
+    private boolean ativo;
+    private Empresa empresa;
+    private Endereco endereco;
+    private List<Endereco> enderecos;
+    private Set<Tag> tags;
+    private Map<String, Contato> contatos;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public int getIdade() {
+        return idade;
+    }
+
+    public void setIdade(int idade) {
+        this.idade = idade;
+    }
+
+    public double getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(double saldo) {
+        this.saldo = saldo;
+    }
+
+    public boolean getAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public Empresa getEmpresa() {
+        return empresa;
+    }
+
+    public void setEmpresa(Empresa empresa) {
+        this.empresa = empresa;
+    }
+
+    public Endereco getEndereco() {
+        return endereco;
+    }
+
+    public void setEndereco(Endereco endereco) {
+        this.endereco = endereco;
+    }
+
+    public List<Endereco> getEnderecos() {
+        return enderecos;
+    }
+
+    public void setEnderecos(List<Endereco> enderecos) {
+        this.enderecos = enderecos;
+    }
+
+    public Set<Tag> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<Tag> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Contato> getContatos() {
+        return contatos;
+    }
+
+    public void setContatos(Map<String, Contato> contatos) {
+        this.contatos = contatos;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.bench.model;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class Contato {
+
+    private String tipo;
+    private String valor;
+    private boolean principal;
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public void setValor(String valor) {
+        this.valor = valor;
+    }
+
+    public boolean getPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(boolean principal) {
+        this.principal = principal;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.bench.model;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class ItemPedido {
+
+    private Long id;
+    private String produto;
+    private int quantidade;
+    private long precoCentavos;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getProduto() {
+        return produto;
+    }
+
+    public void setProduto(String produto) {
+        this.produto = produto;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(int quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public long getPrecoCentavos() {
+        return precoCentavos;
+    }
+
+    public void setPrecoCentavos(long precoCentavos) {
+        this.precoCentavos = precoCentavos;
+    }
+}
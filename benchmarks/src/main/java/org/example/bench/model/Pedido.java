@@ -0,0 +1,60 @@
+package org.example.bench.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.example.GenerateDTO;
+import org.example.NestedDTO;
+
+@GenerateDTO(
+        flattenRelations = {"cliente"},
+        nestedDTOs = {@NestedDTO(field = "itens", dto = "ItemPedidoDTO")},
+        bulkMapping = true
+)
+public class Pedido {
+
+    private Long id;
+    private Cliente cliente;
+    private LocalDateTime criadoEm;
+    private String status;
+    private List<ItemPedido> itens;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(Cliente cliente) {
+        this.cliente = cliente;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<ItemPedido> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemPedido> itens) {
+        this.itens = itens;
+    }
+}
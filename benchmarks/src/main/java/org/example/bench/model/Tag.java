@@ -0,0 +1,35 @@
+package org.example.bench.model;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fields = {"nome", "cor"})
+public class Tag {
+
+    private Long id;
+    private String nome;
+    private String cor;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getCor() {
+        return cor;
+    }
+
+    public void setCor(String cor) {
+        this.cor = cor;
+    }
+}
@@ -0,0 +1,459 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gera {@code serializedSize()}, {@code writeTo(ByteBuffer)} e
+ * {@code static readFrom(ByteBuffer)} nos DTOs com {@link GenerateDTO#binaryCodec()}.
+ * <p>
+ * Formato: um bitmap com um bit por campo que aceita null (1 = null), seguido
+ * dos valores não nulos na ordem dos campos, codificados por {@link BinarySupport}.
+ * Elementos de coleções, arrays de objetos e maps levam um byte de presença.
+ * DTOs aninhados são gravados em linha pelo próprio {@code writeTo}.
+ * <p>
+ * Guarda os enums do DTO em geração: uma instância não pode ser usada por
+ * duas threads ao mesmo tempo.
+ */
+final class BinaryCodecGenerator {
+
+    private static final String SUPPORT = "org.example.BinarySupport.";
+
+    // Tipos de valor suportados além de primitivos, wrappers e enums
+    private static final Set<String> VALUE_TYPES = new HashSet<>(Arrays.asList(
+            "java.lang.String",
+            "java.math.BigDecimal",
+            "java.math.BigInteger",
+            "java.util.UUID",
+            "java.time.LocalDate",
+            "java.time.LocalDateTime",
+            "java.time.Instant"
+    ));
+
+    private static final Set<String> WRAPPERS = new HashSet<>(Arrays.asList(
+            "Boolean", "Byte", "Short", "Character", "Integer", "Long", "Float", "Double"
+    ));
+
+    // Enum → constante com o cache de values() do DTO em geração
+    private final Map<String, String> enumValues = new LinkedHashMap<>();
+
+    /**
+     * Tipos (qualificados) que o codec grava diretamente; enums são
+     * verificados pelo processador, que tem acesso ao {@code TypeMirror}.
+     */
+    static boolean isValueType(String type) {
+        if (DTOField.primitiveWrapper(type) != null || VALUE_TYPES.contains(type)) {
+            return true;
+        }
+        return type.startsWith("java.lang.") && WRAPPERS.contains(type.substring("java.lang.".length()));
+    }
+
+    void gerarCodecBinario(Writer out, DTOModel model) throws IOException {
+        enumValues.clear();
+
+        // Os métodos são gerados antes para conhecer os enums usados
+        StringWriter w = new StringWriter();
+        gerarSerializedSize(w, model);
+        gerarWriteTo(w, model);
+        gerarReadFrom(w, model);
+
+        out.write("    // ========== CODEC BINÁRIO ==========\n\n");
+        for (Map.Entry<String, String> e : enumValues.entrySet()) {
+            out.write("    private static final " + e.getKey() + "[] " + e.getValue()
+                    + " = " + e.getKey() + ".values();\n");
+        }
+        if (!enumValues.isEmpty()) {
+            out.write("\n");
+        }
+        out.write(w.toString());
+    }
+
+    // ========== serializedSize ==========
+
+    private void gerarSerializedSize(Writer w, DTOModel model) throws IOException {
+        w.write("    public int serializedSize() {\n");
+        w.write("        int size = " + bitmapBytes(model) + ";\n");
+        for (DTOField field : model.fields()) {
+            String value = "this." + field.dtoFieldName();
+            if (isPrimitive(field)) {
+                w.write("        size += " + codec(field.dtoFieldType()).size(value) + ";\n");
+                continue;
+            }
+            w.write("        if (" + value + " != null) {\n");
+            gerarSize(w, "            ", field, value);
+            w.write("        }\n");
+        }
+        w.write("        return size;\n");
+        w.write("    }\n\n");
+    }
+
+    private void gerarSize(Writer w, String indent, DTOField field, String value) throws IOException {
+        Container container = container(field);
+        if (container == null) {
+            w.write(indent + "size += " + valueCodec(field).size(value) + ";\n");
+            return;
+        }
+
+        String length = container.array ? value + ".length" : value + ".size()";
+        Codec element = container.element;
+        w.write(indent + "size += " + SUPPORT + "varIntSize(" + length + ");\n");
+        if (container.key == null && !element.reference && element.fixedSize > 0) {
+            w.write(indent + "size += " + length + " * " + element.fixedSize + ";\n");
+            return;
+        }
+        if (container.key != null) {
+            w.write(indent + "for (java.util.Map.Entry<" + container.keyType + ", " + container.elementType
+                    + "> e : " + value + ".entrySet()) {\n");
+            w.write(indent + "    size += " + elementSize(container.key, "e.getKey()") + ";\n");
+            w.write(indent + "    size += " + elementSize(element, "e.getValue()") + ";\n");
+        } else {
+            w.write(indent + "for (" + container.elementType + " e : " + value + ") {\n");
+            w.write(indent + "    size += " + elementSize(element, "e") + ";\n");
+        }
+        w.write(indent + "}\n");
+    }
+
+    // Elementos de objetos levam o byte de presença
+    private String elementSize(Codec codec, String value) {
+        if (!codec.reference) {
+            return codec.size(value);
+        }
+        return value + " == null ? 1 : 1 + " + codec.size(value);
+    }
+
+    // ========== writeTo ==========
+
+    private void gerarWriteTo(Writer w, DTOModel model) throws IOException {
+        w.write("    public void writeTo(java.nio.ByteBuffer buf) {\n");
+
+        List<DTOField> nullable = nullableFields(model);
+        for (int b = 0; b < nullable.size(); b += 8) {
+            w.write("        buf.put((byte) (");
+            for (int i = b; i < Math.min(b + 8, nullable.size()); i++) {
+                if (i > b) {
+                    w.write("\n                | ");
+                }
+                w.write("(this." + nullable.get(i).dtoFieldName() + " == null ? " + (1 << (i - b)) + " : 0)");
+            }
+            w.write("));\n");
+        }
+
+        for (DTOField field : model.fields()) {
+            String value = "this." + field.dtoFieldName();
+            if (isPrimitive(field)) {
+                w.write("        " + codec(field.dtoFieldType()).write(value) + ";\n");
+                continue;
+            }
+            w.write("        if (" + value + " != null) {\n");
+            gerarWrite(w, "            ", field, value);
+            w.write("        }\n");
+        }
+        w.write("    }\n\n");
+    }
+
+    private void gerarWrite(Writer w, String indent, DTOField field, String value) throws IOException {
+        Container container = container(field);
+        if (container == null) {
+            w.write(indent + valueCodec(field).write(value) + ";\n");
+            return;
+        }
+
+        String length = container.array ? value + ".length" : value + ".size()";
+        w.write(indent + SUPPORT + "writeVarInt(buf, " + length + ");\n");
+        if (container.key != null) {
+            w.write(indent + "for (java.util.Map.Entry<" + container.keyType + ", " + container.elementType
+                    + "> e : " + value + ".entrySet()) {\n");
+            gerarWriteElemento(w, indent + "    ", container.key, "e.getKey()");
+            gerarWriteElemento(w, indent + "    ", container.element, "e.getValue()");
+        } else {
+            w.write(indent + "for (" + container.elementType + " e : " + value + ") {\n");
+            gerarWriteElemento(w, indent + "    ", container.element, "e");
+        }
+        w.write(indent + "}\n");
+    }
+
+    private void gerarWriteElemento(Writer w, String indent, Codec codec, String value) throws IOException {
+        if (!codec.reference) {
+            w.write(indent + codec.write(value) + ";\n");
+            return;
+        }
+        w.write(indent + "if (" + value + " == null) {\n");
+        w.write(indent + "    buf.put((byte) 0);\n");
+        w.write(indent + "} else {\n");
+        w.write(indent + "    buf.put((byte) 1);\n");
+        w.write(indent + "    " + codec.write(value) + ";\n");
+        w.write(indent + "}\n");
+    }
+
+    // ========== readFrom ==========
+
+    private void gerarReadFrom(Writer w, DTOModel model) throws IOException {
+        w.write("    public static " + model.dtoName() + " readFrom(java.nio.ByteBuffer buf) {\n");
+
+        List<DTOField> nullable = nullableFields(model);
+        for (int b = 0; b < nullable.size(); b += 8) {
+            w.write("        int nulls" + (b / 8) + " = buf.get();\n");
+        }
+
+        for (DTOField field : model.fields()) {
+            String local = localName(field);
+            if (isPrimitive(field)) {
+                w.write("        " + field.dtoFieldType() + " " + local + " = "
+                        + codec(field.dtoFieldType()).read() + ";\n");
+                continue;
+            }
+            int index = nullable.indexOf(field);
+            w.write("        " + field.dtoFieldType() + " " + local + " = null;\n");
+            w.write("        if ((nulls" + (index / 8) + " & " + (1 << (index % 8)) + ") == 0) {\n");
+            gerarRead(w, "            ", field, local);
+            w.write("        }\n");
+        }
+
+        if (model.immutable()) {
+            StringBuilder args = new StringBuilder();
+            for (DTOField field : model.fields()) {
+                if (args.length() > 0) {
+                    args.append(", ");
+                }
+                args.append(localName(field));
+            }
+            w.write("        return new " + model.dtoName() + "(" + args + ");\n");
+        } else {
+            w.write("        " + model.dtoName() + " dto = new " + model.dtoName() + "();\n");
+            for (DTOField field : model.fields()) {
+                w.write("        dto." + field.dtoFieldName() + " = " + localName(field) + ";\n");
+            }
+            w.write("        return dto;\n");
+        }
+        w.write("    }\n\n");
+    }
+
+    private void gerarRead(Writer w, String indent, DTOField field, String local) throws IOException {
+        Container container = container(field);
+        if (container == null) {
+            w.write(indent + local + " = " + valueCodec(field).read() + ";\n");
+            return;
+        }
+
+        w.write(indent + "int count = " + SUPPORT + "readVarInt(buf);\n");
+        if (container.array) {
+            String component = container.elementType;
+            // new T[count] precisa da dimensão antes dos colchetes extras (ex: int[count][])
+            int bracket = component.indexOf('[');
+            String allocation = bracket < 0
+                    ? component + "[count]"
+                    : component.substring(0, bracket) + "[count]" + component.substring(bracket);
+            w.write(indent + local + " = new " + allocation + ";\n");
+            w.write(indent + "for (int i = 0; i < count; i++) {\n");
+            w.write(indent + "    " + local + "[i] = " + elementRead(container.element) + ";\n");
+        } else if (container.key != null) {
+            w.write(indent + local + " = new java.util.HashMap<>((int) (count / 0.75f) + 1);\n");
+            w.write(indent + "for (int i = 0; i < count; i++) {\n");
+            w.write(indent + "    " + container.keyType + " key = " + elementRead(container.key) + ";\n");
+            w.write(indent + "    " + local + ".put(key, " + elementRead(container.element) + ");\n");
+        } else {
+            String impl = container.set
+                    ? "java.util.LinkedHashSet<>((int) (count / 0.75f) + 1)"
+                    : "java.util.ArrayList<>(count)";
+            w.write(indent + local + " = new " + impl + ";\n");
+            w.write(indent + "for (int i = 0; i < count; i++) {\n");
+            w.write(indent + "    " + local + ".add(" + elementRead(container.element) + ");\n");
+        }
+        w.write(indent + "}\n");
+    }
+
+    private String elementRead(Codec codec) {
+        if (!codec.reference) {
+            return codec.read();
+        }
+        return "buf.get() == 0 ? null : " + codec.read();
+    }
+
+    // ========== ANÁLISE DOS TIPOS ==========
+
+    private int bitmapBytes(DTOModel model) {
+        return (nullableFields(model).size() + 7) / 8;
+    }
+
+    private List<DTOField> nullableFields(DTOModel model) {
+        List<DTOField> nullable = new ArrayList<>();
+        for (DTOField field : model.fields()) {
+            if (!isPrimitive(field)) {
+                nullable.add(field);
+            }
+        }
+        return nullable;
+    }
+
+    private boolean isPrimitive(DTOField field) {
+        return field.isPrimitive();
+    }
+
+    private String localName(DTOField field) {
+        return field.dtoFieldName() + "Value";
+    }
+
+    // Codec de campos que não são coleções, arrays nem maps
+    private Codec valueCodec(DTOField field) {
+        if (field.isNested()) {
+            return dtoCodec(field.nestedDTO());
+        }
+        return codec(field.dtoFieldType());
+    }
+
+    private Codec dtoCodec(String dto) {
+        return new Codec("%s.writeTo(buf)", dto + ".readFrom(buf)", "%s.serializedSize()", -1, true);
+    }
+
+    // Coleções de DTOs, maps de DTOs, arrays (exceto byte[]) e coleções/maps de tipos de valor
+    private Container container(DTOField field) {
+        if (field.isCollection()) {
+            return new Container(false, field.collectionType().equals("Set"), null, null,
+                    field.nestedDTO(), dtoCodec(field.nestedDTO()));
+        }
+        if (field.isMap()) {
+            return new Container(false, false, field.mapKeyType(), codec(field.mapKeyType()),
+                    field.nestedDTO(), dtoCodec(field.nestedDTO()));
+        }
+
+        String type = field.dtoFieldType();
+        if (field.isArray() && !type.equals("byte[]")) {
+            String component = type.substring(0, type.length() - 2);
+            return new Container(true, false, null, null, component, codec(component));
+        }
+        if (field.isSimpleContainer()) {
+            String args = type.substring(type.indexOf('<') + 1, type.lastIndexOf('>'));
+            if (type.startsWith("java.util.Map<")) {
+                // Tipos de valor não têm parâmetros genéricos: a primeira vírgula separa K e V
+                int comma = args.indexOf(',');
+                String key = args.substring(0, comma).trim();
+                String value = args.substring(comma + 1).trim();
+                return new Container(false, false, key, codec(key), value, codec(value));
+            }
+            return new Container(false, type.startsWith("java.util.Set<"), null, null, args, codec(args));
+        }
+        return null;
+    }
+
+    private Codec codec(String type) {
+        switch (type) {
+            case "boolean":
+                return primitive("writeBoolean(buf, %s)", "readBoolean(buf)", "1", 1);
+            case "byte":
+                return new Codec("buf.put(%s)", "buf.get()", "1", 1, false);
+            case "short":
+                return primitive("writeInt(buf, %s)", "(short) " + SUPPORT + "readInt(buf)", "intSize(%s)", -1);
+            case "char":
+                return primitive("writeVarInt(buf, %s)", "(char) " + SUPPORT + "readVarInt(buf)", "varIntSize(%s)", -1);
+            case "int":
+                return primitive("writeInt(buf, %s)", "readInt(buf)", "intSize(%s)", -1);
+            case "long":
+                return primitive("writeLong(buf, %s)", "readLong(buf)", "longSize(%s)", -1);
+            case "float":
+                return new Codec("buf.putFloat(%s)", "buf.getFloat()", "4", 4, false);
+            case "double":
+                return new Codec("buf.putDouble(%s)", "buf.getDouble()", "8", 8, false);
+            case "byte[]":
+                return reference("writeBytes", "readBytes", "bytesSize");
+            case "java.lang.String":
+            case "String":
+                return reference("writeString", "readString", "stringSize");
+            case "java.math.BigDecimal":
+                return reference("writeBigDecimal", "readBigDecimal", "bigDecimalSize");
+            case "java.math.BigInteger":
+                return reference("writeBigInteger", "readBigInteger", "bigIntegerSize");
+            case "java.util.UUID":
+                return reference("writeUUID", "readUUID", "uuidSize");
+            case "java.time.LocalDate":
+                return reference("writeLocalDate", "readLocalDate", "localDateSize");
+            case "java.time.LocalDateTime":
+                return reference("writeLocalDateTime", "readLocalDateTime", "localDateTimeSize");
+            case "java.time.Instant":
+                return reference("writeInstant", "readInstant", "instantSize");
+            default:
+        }
+
+        // Wrappers (qualificados ou simples, como o Long dos relacionamentos flatten)
+        String simple = type.startsWith("java.lang.") ? type.substring("java.lang.".length()) : type;
+        if (WRAPPERS.contains(simple)) {
+            Codec unboxed = codec(simple.equals("Integer") ? "int"
+                    : simple.equals("Character") ? "char"
+                    : simple.toLowerCase());
+            return new Codec(unboxed.write, unboxed.read, unboxed.size, unboxed.fixedSize, true);
+        }
+
+        // Demais tipos chegam aqui só se forem enums (validado pelo processador)
+        String values = enumValues.computeIfAbsent(type, t -> "ENUM_VALUES_" + enumValues.size());
+        return new Codec(SUPPORT + "writeEnum(buf, %s)", SUPPORT + "readEnum(buf, " + values + ")",
+                SUPPORT + "enumSize(%s)", -1, true);
+    }
+
+    private Codec primitive(String write, String read, String size, int fixedSize) {
+        return new Codec(SUPPORT + write,
+                read.startsWith("(") ? read : SUPPORT + read,
+                fixedSize > 0 ? size : SUPPORT + size,
+                fixedSize,
+                false);
+    }
+
+    private Codec reference(String write, String read, String size) {
+        return new Codec(SUPPORT + write + "(buf, %s)", SUPPORT + read + "(buf)", SUPPORT + size + "(%s)", -1, true);
+    }
+
+    // Trechos de código para gravar, ler e medir um valor; %s é o valor
+    private static final class Codec {
+
+        private final String write;
+        private final String read;
+        private final String size;
+        private final int fixedSize;
+        private final boolean reference;
+
+        Codec(String write, String read, String size, int fixedSize, boolean reference) {
+            this.write = write;
+            this.read = read;
+            this.size = size;
+            this.fixedSize = fixedSize;
+            this.reference = reference;
+        }
+
+        String write(String value) {
+            return write.replace("%s", value);
+        }
+
+        String read() {
+            return read;
+        }
+
+        String size(String value) {
+            return size.replace("%s", value);
+        }
+    }
+
+    private static final class Container {
+
+        private final boolean array;
+        private final boolean set;
+        private final String keyType;
+        private final Codec key;
+        private final String elementType;
+        private final Codec element;
+
+        Container(boolean array, boolean set, String keyType, Codec key, String elementType, Codec element) {
+            this.array = array;
+            this.set = set;
+            this.keyType = keyType;
+            this.key = key;
+            this.elementType = elementType;
+            this.element = element;
+        }
+    }
+}
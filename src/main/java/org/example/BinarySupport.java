@@ -0,0 +1,333 @@
+package org.example;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Codificação binária usada pelos {@code writeTo}/{@code readFrom}/{@code serializedSize}
+ * gerados com {@link GenerateDTO#binaryCodec()}.
+ * <p>
+ * Inteiros usam varint (int, short e long em zigzag), float/double ocupam 4/8
+ * bytes, strings são prefixadas pelo tamanho em bytes UTF-8 e codificadas
+ * direto no {@link ByteBuffer} — heap, direto ou mapeado em memória — sem
+ * {@code byte[]} intermediário. Enums são gravados pelo ordinal.
+ * <p>
+ * O formato não tem cabeçalho nem versão: depende da ordem e dos tipos dos
+ * campos do DTO, então leitor e escritor precisam ter sido gerados a partir
+ * da mesma entidade. Serve para cache e filas locais, não para armazenamento
+ * de longo prazo.
+ */
+public final class BinarySupport {
+
+    private BinarySupport() {
+    }
+
+    // ========== VARINT ==========
+
+    public static void writeVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    public static int readVarInt(ByteBuffer buf) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("varint malformado na posição " + buf.position());
+    }
+
+    public static int varIntSize(int value) {
+        // 1 byte a cada 7 bits significativos; 0 ocupa 1 byte
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    public static void writeVarLong(ByteBuffer buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    public static long readVarLong(ByteBuffer buf) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("varint malformado na posição " + buf.position());
+    }
+
+    public static int varLongSize(long value) {
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    // ========== PRIMITIVOS ==========
+
+    public static void writeInt(ByteBuffer buf, int value) {
+        writeVarInt(buf, (value << 1) ^ (value >> 31));
+    }
+
+    public static int readInt(ByteBuffer buf) {
+        int zigzag = readVarInt(buf);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public static int intSize(int value) {
+        return varIntSize((value << 1) ^ (value >> 31));
+    }
+
+    public static void writeLong(ByteBuffer buf, long value) {
+        writeVarLong(buf, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readLong(ByteBuffer buf) {
+        long zigzag = readVarLong(buf);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public static int longSize(long value) {
+        return varLongSize((value << 1) ^ (value >> 63));
+    }
+
+    public static void writeBoolean(ByteBuffer buf, boolean value) {
+        buf.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    public static boolean readBoolean(ByteBuffer buf) {
+        return buf.get() != 0;
+    }
+
+    // ========== STRINGS E BYTES ==========
+
+    public static void writeString(ByteBuffer buf, String value) {
+        int length = value.length();
+        writeVarInt(buf, utf8Length(value));
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | (c >> 6)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf.put((byte) (0xF0 | (cp >> 18)));
+                buf.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buf.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buf.put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                // Surrogate isolado vira '?', como em String.getBytes(UTF_8)
+                if (Character.isSurrogate(c)) {
+                    c = '?';
+                }
+                if (c < 0x80) {
+                    buf.put((byte) c);
+                } else {
+                    buf.put((byte) (0xE0 | (c >> 12)));
+                    buf.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    buf.put((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+        }
+    }
+
+    public static String readString(ByteBuffer buf) {
+        int length = readVarInt(buf);
+        if (length > buf.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int start = buf.position();
+        if (buf.hasArray()) {
+            String value = new String(buf.array(), buf.arrayOffset() + start, length, StandardCharsets.UTF_8);
+            buf.position(start + length);
+            return value;
+        }
+
+        // Buffer direto: decodifica byte a byte (a entrada foi produzida por writeString)
+        char[] chars = new char[length];
+        int count = 0;
+        int end = start + length;
+        int i = start;
+        while (i < end) {
+            int b = buf.get(i++) & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (buf.get(i++) & 0x3F));
+            } else if (b < 0xF0) {
+                chars[count++] = (char) (((b & 0x0F) << 12)
+                        | ((buf.get(i++) & 0x3F) << 6)
+                        | (buf.get(i++) & 0x3F));
+            } else {
+                int cp = ((b & 0x07) << 18)
+                        | ((buf.get(i++) & 0x3F) << 12)
+                        | ((buf.get(i++) & 0x3F) << 6)
+                        | (buf.get(i++) & 0x3F);
+                chars[count++] = Character.highSurrogate(cp);
+                chars[count++] = Character.lowSurrogate(cp);
+            }
+        }
+        buf.position(end);
+        return new String(chars, 0, count);
+    }
+
+    public static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varIntSize(length) + length;
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // '?': 1 byte, já contado
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    public static void writeBytes(ByteBuffer buf, byte[] value) {
+        writeVarInt(buf, value.length);
+        buf.put(value);
+    }
+
+    public static byte[] readBytes(ByteBuffer buf) {
+        byte[] value = new byte[readVarInt(buf)];
+        buf.get(value);
+        return value;
+    }
+
+    public static int bytesSize(byte[] value) {
+        return varIntSize(value.length) + value.length;
+    }
+
+    // ========== ENUMS ==========
+
+    public static void writeEnum(ByteBuffer buf, Enum<?> value) {
+        writeVarInt(buf, value.ordinal());
+    }
+
+    public static <E extends Enum<E>> E readEnum(ByteBuffer buf, E[] values) {
+        return values[readVarInt(buf)];
+    }
+
+    public static int enumSize(Enum<?> value) {
+        return varIntSize(value.ordinal());
+    }
+
+    // ========== OUTROS TIPOS DE VALOR ==========
+
+    public static void writeBigInteger(ByteBuffer buf, BigInteger value) {
+        writeBytes(buf, value.toByteArray());
+    }
+
+    public static BigInteger readBigInteger(ByteBuffer buf) {
+        return new BigInteger(readBytes(buf));
+    }
+
+    public static int bigIntegerSize(BigInteger value) {
+        int length = value.bitLength() / 8 + 1;
+        return varIntSize(length) + length;
+    }
+
+    public static void writeBigDecimal(ByteBuffer buf, BigDecimal value) {
+        writeInt(buf, value.scale());
+        writeBigInteger(buf, value.unscaledValue());
+    }
+
+    public static BigDecimal readBigDecimal(ByteBuffer buf) {
+        int scale = readInt(buf);
+        return new BigDecimal(readBigInteger(buf), scale);
+    }
+
+    public static int bigDecimalSize(BigDecimal value) {
+        return intSize(value.scale()) + bigIntegerSize(value.unscaledValue());
+    }
+
+    public static void writeUUID(ByteBuffer buf, UUID value) {
+        buf.putLong(value.getMostSignificantBits());
+        buf.putLong(value.getLeastSignificantBits());
+    }
+
+    public static UUID readUUID(ByteBuffer buf) {
+        return new UUID(buf.getLong(), buf.getLong());
+    }
+
+    public static int uuidSize(UUID value) {
+        return 16;
+    }
+
+    public static void writeLocalDate(ByteBuffer buf, LocalDate value) {
+        writeLong(buf, value.toEpochDay());
+    }
+
+    public static LocalDate readLocalDate(ByteBuffer buf) {
+        return LocalDate.ofEpochDay(readLong(buf));
+    }
+
+    public static int localDateSize(LocalDate value) {
+        return longSize(value.toEpochDay());
+    }
+
+    public static void writeLocalDateTime(ByteBuffer buf, LocalDateTime value) {
+        writeLong(buf, value.toLocalDate().toEpochDay());
+        writeVarLong(buf, value.toLocalTime().toNanoOfDay());
+    }
+
+    public static LocalDateTime readLocalDateTime(ByteBuffer buf) {
+        LocalDate date = LocalDate.ofEpochDay(readLong(buf));
+        return date.atTime(LocalTime.ofNanoOfDay(readVarLong(buf)));
+    }
+
+    public static int localDateTimeSize(LocalDateTime value) {
+        return longSize(value.toLocalDate().toEpochDay()) + varLongSize(value.toLocalTime().toNanoOfDay());
+    }
+
+    public static void writeInstant(ByteBuffer buf, Instant value) {
+        writeLong(buf, value.getEpochSecond());
+        writeVarInt(buf, value.getNano());
+    }
+
+    public static Instant readInstant(ByteBuffer buf) {
+        long seconds = readLong(buf);
+        return Instant.ofEpochSecond(seconds, readVarInt(buf));
+    }
+
+    public static int instantSize(Instant value) {
+        return longSize(value.getEpochSecond()) + varIntSize(value.getNano());
+    }
+}
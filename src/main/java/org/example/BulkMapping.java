@@ -0,0 +1,147 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Mapeamento em lote usado pelos {@code fromAll}/{@code toModelAll} gerados.
+ * <p>
+ * Abaixo de {@link #PARALLEL_THRESHOLD} elementos o DTO gerado mapeia em um
+ * laço simples, sem passar por esta classe. Acima dele, os elementos são
+ * divididos em blocos mapeados em paralelo (no {@link ForkJoinPool#commonPool()}
+ * ou no {@link Executor} informado), gravando cada resultado na sua posição:
+ * a ordem da coleção de origem é preservada.
+ * <p>
+ * O limite pode ser ajustado com {@code -Dgenerate.dto.parallelThreshold=N}.
+ */
+public final class BulkMapping {
+
+    public static final int PARALLEL_THRESHOLD =
+            Integer.getInteger("generate.dto.parallelThreshold", 2048);
+
+    private BulkMapping() {
+    }
+
+    /**
+     * Mapeia todos os elementos de {@code source} em paralelo, preservando a ordem.
+     *
+     * @param executor executor dos blocos; {@code null} usa o {@link ForkJoinPool#commonPool()}
+     * @return nova lista mutável ({@link ArrayList}, como a do laço sequencial do
+     *         DTO gerado), ou {@code null} se {@code source} for {@code null}
+     */
+    public static <S, T> List<T> mapAll(Collection<? extends S> source,
+                                        Function<? super S, ? extends T> mapper,
+                                        Executor executor) {
+        if (source == null) {
+            return null;
+        }
+
+        Object[] input = source.toArray();
+        Object[] output = new Object[input.length];
+
+        if (input.length < PARALLEL_THRESHOLD) {
+            mapRange(input, output, mapper, 0, input.length);
+        } else if (executor == null) {
+            ForkJoinPool.commonPool().invoke(new MapTask<>(input, output, mapper, 0, input.length,
+                    leafSize(input.length, ForkJoinPool.getCommonPoolParallelism())));
+        } else {
+            mapWithExecutor(input, output, mapper, executor);
+        }
+
+        @SuppressWarnings("unchecked")
+        // Uma cópia do array (System.arraycopy): mesmo tipo de lista abaixo e acima do limite
+        List<T> result = (List<T>) new ArrayList<>(Arrays.asList(output));
+        return result;
+    }
+
+    private static <S, T> void mapWithExecutor(Object[] input,
+                                               Object[] output,
+                                               Function<? super S, ? extends T> mapper,
+                                               Executor executor) {
+        int chunk = leafSize(input.length, Runtime.getRuntime().availableProcessors());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(input.length / chunk + 1);
+
+        // O último bloco roda na thread chamadora, que de outra forma ficaria só esperando
+        int last = (input.length - 1) / chunk * chunk;
+        for (int lo = 0; lo < last; lo += chunk) {
+            int from = lo;
+            int to = lo + chunk;
+            futures.add(CompletableFuture.runAsync(() -> mapRange(input, output, mapper, from, to), executor));
+        }
+        mapRange(input, output, mapper, last, input.length);
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Blocos de no mínimo metade do limite, ~4 blocos por núcleo para equilibrar a carga
+    private static int leafSize(int size, int parallelism) {
+        int perCore = size / (Math.max(1, parallelism) * 4) + 1;
+        return Math.max(PARALLEL_THRESHOLD / 2, perCore);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S, T> void mapRange(Object[] input,
+                                        Object[] output,
+                                        Function<? super S, ? extends T> mapper,
+                                        int from,
+                                        int to) {
+        for (int i = from; i < to; i++) {
+            output[i] = mapper.apply((S) input[i]);
+        }
+    }
+
+    // Nunca é serializada
+    @SuppressWarnings("serial")
+    private static final class MapTask<S, T> extends RecursiveAction {
+
+        private final Object[] input;
+        private final Object[] output;
+        private final Function<? super S, ? extends T> mapper;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        MapTask(Object[] input,
+                Object[] output,
+                Function<? super S, ? extends T> mapper,
+                int from,
+                int to,
+                int leafSize) {
+            this.input = input;
+            this.output = output;
+            this.mapper = mapper;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                mapRange(input, output, mapper, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MapTask<>(input, output, mapper, from, mid, leafSize),
+                    new MapTask<>(input, output, mapper, mid, to, leafSize));
+        }
+    }
+}
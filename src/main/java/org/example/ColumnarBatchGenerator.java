@@ -0,0 +1,345 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Gera a classe {@code XxxDTOBatch} de {@link GenerateDTO#columnarBatch()}.
+ * <p>
+ * Cada campo do DTO vira uma coluna: primitivos em arrays primitivos,
+ * wrappers (e IDs flatten numéricos) em arrays primitivos com um bitmap de
+ * nulos ({@code long[]}, um bit por linha), tipos genéricos em
+ * {@code Object[]} e os demais em arrays do próprio tipo. As colunas crescem
+ * juntas em 1,5x; {@code get(int)} devolve uma visão da linha que lê direto
+ * das colunas.
+ */
+final class ColumnarBatchGenerator {
+
+    void gerarBatch(Writer w, DTOModel model) throws IOException {
+        String batchName = model.dtoName() + "Batch";
+        String className = model.className();
+
+        w.write("public final class " + batchName + " {\n\n");
+        w.write("    private int batchSize;\n");
+        w.write("    private int batchCapacity;\n");
+        for (DTOField field : model.fields()) {
+            w.write("    private " + columnType(field) + " " + field.dtoFieldName() + ";\n");
+            if (nullable(field)) {
+                w.write("    private long[] " + field.dtoFieldName() + "Nulls;\n");
+            }
+        }
+        w.write("\n");
+
+        // ========== CONSTRUTORES ==========
+        w.write("    public " + batchName + "() {\n");
+        w.write("        this(16);\n");
+        w.write("    }\n\n");
+
+        w.write("    public " + batchName + "(int initialCapacity) {\n");
+        w.write("        if (initialCapacity < 0) {\n");
+        w.write("            throw new IllegalArgumentException(\"initialCapacity < 0: \" + initialCapacity);\n");
+        w.write("        }\n");
+        w.write("        batchCapacity = initialCapacity;\n");
+        for (DTOField field : model.fields()) {
+            w.write("        this." + field.dtoFieldName() + " = new " + newArray(field, "batchCapacity") + ";\n");
+            if (nullable(field)) {
+                w.write("        " + nulls(field) + " = new long[(batchCapacity + 63) >>> 6];\n");
+            }
+        }
+        w.write("    }\n\n");
+
+        w.write("    public static " + batchName + " from(java.util.Collection<? extends " + className + "> models) {\n");
+        w.write("        " + batchName + " batch = new " + batchName + "(models.size());\n");
+        w.write("        for (" + className + " model : models) {\n");
+        w.write("            batch.append(model);\n");
+        w.write("        }\n");
+        w.write("        return batch;\n");
+        w.write("    }\n\n");
+
+        gerarAppend(w, model);
+        gerarCrescimento(w, model);
+        gerarLeitura(w, model);
+        gerarLinha(w, model);
+        w.write("}\n");
+    }
+
+    // ========== ESCRITA ==========
+
+    private void gerarAppend(Writer w, DTOModel model) throws IOException {
+        w.write("    public void append(" + model.className() + " model) {\n");
+        w.write("        java.util.Objects.requireNonNull(model, \"model\");\n");
+        w.write("        if (batchSize == batchCapacity) {\n");
+        w.write("            grow();\n");
+        w.write("        }\n");
+        for (DTOField field : model.fields()) {
+            String column = "this." + field.dtoFieldName();
+            String getter = "model." + field.modelGetterName() + "()";
+            switch (field.kind()) {
+                case FLATTEN:
+                    gerarValor(w, field, getter + " != null ? " + getter + "." + field.idAccessor() + "() : null");
+                    break;
+                case NESTED:
+                    w.write("        if (" + GenerateDTOProcessor.relationGuard(model, field) + ") {\n");
+                    w.write("            " + column + "[batchSize] = " + field.nestedDTO() + ".from(" + getter + ");\n");
+                    w.write("        }\n");
+                    break;
+                case COLLECTION:
+                    String impl = field.collectionType().equals("Set") ? "java.util.LinkedHashSet" : "java.util.ArrayList";
+                    w.write("        if (" + GenerateDTOProcessor.relationGuard(model, field) + ") {\n");
+                    w.write("            " + field.typeName() + " source = " + getter + ";\n");
+                    w.write("            " + field.dtoFieldType() + " value = new " + impl + "<>(source.size());\n");
+                    w.write("            for (" + field.elementType() + " e : source) {\n");
+                    w.write("                value.add(" + field.nestedDTO() + ".from(e));\n");
+                    w.write("            }\n");
+                    w.write("            " + column + "[batchSize] = value;\n");
+                    w.write("        }\n");
+                    break;
+                case MAP:
+                    w.write("        if (" + GenerateDTOProcessor.relationGuard(model, field) + ") {\n");
+                    w.write("            " + field.typeName() + " source = " + getter + ";\n");
+                    w.write("            " + field.dtoFieldType() + " value = new java.util.HashMap<>("
+                            + "(int) (source.size() / 0.75f) + 1);\n");
+                    w.write("            for (java.util.Map.Entry<" + field.mapKeyType() + ", " + field.elementType()
+                            + "> e : source.entrySet()) {\n");
+                    w.write("                value.put(e.getKey(), " + field.nestedDTO() + ".from(e.getValue()));\n");
+                    w.write("            }\n");
+                    w.write("            " + column + "[batchSize] = value;\n");
+                    w.write("        }\n");
+                    break;
+                default:
+                    gerarValor(w, field, getter);
+            }
+        }
+        w.write("        batchSize++;\n");
+        w.write("    }\n\n");
+    }
+
+    // Grava value na linha size; wrappers nulos só marcam o bit
+    private void gerarValor(Writer w, DTOField field, String value) throws IOException {
+        String column = "this." + field.dtoFieldName();
+        if (!nullable(field)) {
+            w.write("        " + column + "[batchSize] = " + value + ";\n");
+            return;
+        }
+        String local = field.dtoFieldName() + "Value";
+        w.write("        " + boxed(field) + " " + local + " = " + value + ";\n");
+        w.write("        if (" + local + " == null) {\n");
+        w.write("            " + nulls(field) + "[batchSize >>> 6] |= 1L << batchSize;\n");
+        w.write("        } else {\n");
+        w.write("            " + column + "[batchSize] = " + local + ";\n");
+        w.write("        }\n");
+    }
+
+    private void gerarCrescimento(Writer w, DTOModel model) throws IOException {
+        w.write("    private void grow() {\n");
+        w.write("        batchCapacity = Math.max(16, batchCapacity + (batchCapacity >> 1));\n");
+        for (DTOField field : model.fields()) {
+            String column = "this." + field.dtoFieldName();
+            w.write("        " + column + " = java.util.Arrays.copyOf(" + column + ", batchCapacity);\n");
+            if (nullable(field)) {
+                w.write("        " + nulls(field) + " = java.util.Arrays.copyOf(" + nulls(field)
+                        + ", (batchCapacity + 63) >>> 6);\n");
+            }
+        }
+        w.write("    }\n\n");
+
+        // Mantém a capacidade; solta as referências para o GC
+        w.write("    public void clear() {\n");
+        for (DTOField field : model.fields()) {
+            if (primitive(field) == null) {
+                w.write("        java.util.Arrays.fill(this." + field.dtoFieldName() + ", 0, batchSize, null);\n");
+            }
+            if (nullable(field)) {
+                w.write("        java.util.Arrays.fill(" + nulls(field) + ", 0L);\n");
+            }
+        }
+        w.write("        batchSize = 0;\n");
+        w.write("    }\n\n");
+    }
+
+    // ========== LEITURA ==========
+
+    private void gerarLeitura(Writer w, DTOModel model) throws IOException {
+        w.write("    public int size() {\n");
+        w.write("        return batchSize;\n");
+        w.write("    }\n\n");
+
+        for (DTOField field : model.fields()) {
+            String name = field.dtoFieldName();
+            String column = "this." + name;
+            String type = field.dtoFieldType();
+
+            if (generic(field)) {
+                w.write("    @SuppressWarnings(\"unchecked\")\n");
+            }
+            w.write("    public " + (nullable(field) ? boxed(field) : type) + " " + field.getterName() + "(int row) {\n");
+            w.write("        java.util.Objects.checkIndex(row, batchSize);\n");
+            if (nullable(field)) {
+                w.write("        return (" + nulls(field) + "[row >>> 6] & (1L << row)) != 0 ? null : "
+                        + column + "[row];\n");
+            } else if (generic(field)) {
+                w.write("        return (" + type + ") " + column + "[row];\n");
+            } else {
+                w.write("        return " + column + "[row];\n");
+            }
+            w.write("    }\n\n");
+
+            if (nullable(field)) {
+                w.write("    public boolean is" + capitalize(name) + "Null(int row) {\n");
+                w.write("        java.util.Objects.checkIndex(row, batchSize);\n");
+                w.write("        return (" + nulls(field) + "[row >>> 6] & (1L << row)) != 0;\n");
+                w.write("    }\n\n");
+            }
+
+            // Array da coluna, sem cópia: válido nas posições [0, size()) até o próximo append
+            if (primitive(field) != null) {
+                w.write("    public " + columnType(field) + " " + name + "Column() {\n");
+                w.write("        return " + column + ";\n");
+                w.write("    }\n\n");
+            }
+        }
+
+        gerarToDTO(w, model);
+    }
+
+    private void gerarToDTO(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
+        w.write("    public " + dtoName + " toDTO(int row) {\n");
+        if (model.immutable()) {
+            StringBuilder args = new StringBuilder();
+            for (DTOField field : model.fields()) {
+                if (args.length() > 0) {
+                    args.append(",\n                ");
+                }
+                args.append(field.getterName()).append("(row)");
+            }
+            if (model.fields().isEmpty()) {
+                w.write("        java.util.Objects.checkIndex(row, batchSize);\n");
+            }
+            w.write("        return new " + dtoName + "(" + args + ");\n");
+        } else {
+            w.write("        java.util.Objects.checkIndex(row, batchSize);\n");
+            w.write("        " + dtoName + " dto = new " + dtoName + "();\n");
+            for (DTOField field : model.fields()) {
+                w.write("        dto." + field.setterName() + "(" + field.getterName() + "(row));\n");
+            }
+            w.write("        dto.clearDirty();\n");
+            w.write("        return dto;\n");
+        }
+        w.write("    }\n\n");
+    }
+
+    private void gerarLinha(Writer w, DTOModel model) throws IOException {
+        String batchName = model.dtoName() + "Batch";
+
+        w.write("    public Row get(int row) {\n");
+        w.write("        java.util.Objects.checkIndex(row, batchSize);\n");
+        w.write("        return new Row(row);\n");
+        w.write("    }\n\n");
+
+        // Visão de uma linha: cada getter lê a coluna, nada é copiado
+        w.write("    public final class Row {\n\n");
+        w.write("        private final int row;\n\n");
+        w.write("        private Row(int row) {\n");
+        w.write("            this.row = row;\n");
+        w.write("        }\n\n");
+        w.write("        public int index() {\n");
+        w.write("            return row;\n");
+        w.write("        }\n");
+        for (DTOField field : model.fields()) {
+            String type = nullable(field) ? boxed(field) : field.dtoFieldType();
+            w.write("\n        public " + type + " " + field.getterName() + "() {\n");
+            w.write("            return " + batchName + ".this." + field.getterName() + "(row);\n");
+            w.write("        }\n");
+        }
+        w.write("\n        public " + model.dtoName() + " toDTO() {\n");
+        w.write("            return " + batchName + ".this.toDTO(row);\n");
+        w.write("        }\n");
+        w.write("    }\n");
+    }
+
+    // ========== TIPOS DAS COLUNAS ==========
+
+    // Tipo primitivo da coluna (int para int e Integer), ou null se a coluna é de objetos
+    private String primitive(DTOField field) {
+        if (field.kind() != DTOField.Kind.SIMPLE && field.kind() != DTOField.Kind.FLATTEN) {
+            return null;
+        }
+        String type = field.dtoFieldType();
+        switch (type) {
+            case "int":
+            case "long":
+            case "short":
+            case "byte":
+            case "double":
+            case "float":
+            case "boolean":
+            case "char":
+                return type;
+            default:
+                return unbox(type);
+        }
+    }
+
+    private String unbox(String type) {
+        switch (type.startsWith("java.lang.") ? type.substring(10) : type) {
+            case "Integer":
+                return "int";
+            case "Long":
+                return "long";
+            case "Short":
+                return "short";
+            case "Byte":
+                return "byte";
+            case "Double":
+                return "double";
+            case "Float":
+                return "float";
+            case "Boolean":
+                return "boolean";
+            case "Character":
+                return "char";
+            default:
+                return null;
+        }
+    }
+
+    // Wrapper guardado em coluna primitiva: precisa do bitmap de nulos
+    private boolean nullable(DTOField field) {
+        String primitive = primitive(field);
+        return primitive != null && !primitive.equals(field.dtoFieldType());
+    }
+
+    private String boxed(DTOField field) {
+        return field.dtoFieldType();
+    }
+
+    // Arrays de tipos parametrizados não podem ser criados: a coluna é Object[]
+    private boolean generic(DTOField field) {
+        return primitive(field) == null && field.dtoFieldType().contains("<");
+    }
+
+    private String columnType(DTOField field) {
+        String primitive = primitive(field);
+        if (primitive != null) {
+            return primitive + "[]";
+        }
+        return generic(field) ? "Object[]" : field.dtoFieldType() + "[]";
+    }
+
+    // new int[capacity], new String[capacity], new byte[capacity][]...
+    private String newArray(DTOField field, String length) {
+        String type = columnType(field);
+        int bracket = type.indexOf('[');
+        return type.substring(0, bracket) + "[" + length + "]" + type.substring(bracket + 2);
+    }
+
+    // Sempre com this.; o nome do campo é o do DTO
+    private String nulls(DTOField field) {
+        return "this." + field.dtoFieldName() + "Nulls";
+    }
+
+    private String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
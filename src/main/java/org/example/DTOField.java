@@ -0,0 +1,240 @@
+package org.example;
+
+/**
+ * Modelo imutável de um campo selecionado da entidade.
+ * <p>
+ * É construído uma única vez por entidade em {@link GenerateDTOProcessor}
+ * e consumido por todos os geradores (campos, getters/setters, from,
+ * toModel, toString, equals/hashCode e imports).
+ */
+final class DTOField {
+
+    enum Kind {
+        SIMPLE,
+        FLATTEN,
+        NESTED,
+        COLLECTION,
+        MAP
+    }
+
+    private final String name;
+    private final String capitalizedName;
+    private final String typeName;
+    private final Kind kind;
+    private final String nestedDTO;
+    private final String elementType;
+    private final String collectionType;
+    private final String mapKeyType;
+    private final boolean nestedFillable;
+    private final String idAccessor;
+    private final String dtoFieldName;
+    private final String dtoFieldType;
+    private final String getterName;
+    private final String setterName;
+
+    DTOField(String name,
+             String typeName,
+             Kind kind,
+             String nestedDTO,
+             String elementType,
+             String collectionType,
+             String mapKeyType,
+             boolean nestedFillable) {
+        this(name, typeName, kind, nestedDTO, elementType, collectionType, mapKeyType, nestedFillable, null, null);
+    }
+
+    private DTOField(String name,
+                     String typeName,
+                     Kind kind,
+                     String nestedDTO,
+                     String elementType,
+                     String collectionType,
+                     String mapKeyType,
+                     boolean nestedFillable,
+                     String idType,
+                     String idAccessor) {
+        this.name = name;
+        this.capitalizedName = capitalize(name);
+        this.typeName = typeName;
+        this.kind = kind;
+        this.nestedDTO = nestedDTO;
+        this.elementType = elementType;
+        this.collectionType = collectionType;
+        this.mapKeyType = mapKeyType;
+        this.nestedFillable = nestedFillable;
+        this.idAccessor = idAccessor;
+
+        switch (kind) {
+            case FLATTEN:
+                this.dtoFieldName = name + "Id";
+                this.dtoFieldType = idType;
+                break;
+            case NESTED:
+                this.dtoFieldName = name;
+                this.dtoFieldType = nestedDTO;
+                break;
+            case COLLECTION:
+                this.dtoFieldName = name;
+                this.dtoFieldType = collectionType + "<" + nestedDTO + ">";
+                break;
+            case MAP:
+                this.dtoFieldName = name;
+                this.dtoFieldType = "java.util.Map<" + mapKeyType + ", " + nestedDTO + ">";
+                break;
+            default:
+                this.dtoFieldName = name;
+                this.dtoFieldType = typeName;
+        }
+
+        this.getterName = "get" + capitalize(dtoFieldName);
+        this.setterName = "set" + capitalize(dtoFieldName);
+    }
+
+    // Relacionamento flatten: o DTO guarda só o ID (idType, sempre um tipo objeto), lido por idAccessor
+    static DTOField flatten(String name, String typeName, String entityType, String idType, String idAccessor) {
+        return new DTOField(name, typeName, Kind.FLATTEN, null, entityType, null, null, false, idType, idAccessor);
+    }
+
+    // Nome do campo na entidade
+    String name() {
+        return name;
+    }
+
+    String capitalizedName() {
+        return capitalizedName;
+    }
+
+    // Tipo original do campo na entidade (ex: java.util.List<org.example.Endereco>)
+    String typeName() {
+        return typeName;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    boolean isFlatten() {
+        return kind == Kind.FLATTEN;
+    }
+
+    boolean isNested() {
+        return kind == Kind.NESTED;
+    }
+
+    boolean isCollection() {
+        return kind == Kind.COLLECTION;
+    }
+
+    boolean isMap() {
+        return kind == Kind.MAP;
+    }
+
+    boolean isString() {
+        return kind == Kind.SIMPLE && typeName.equals("java.lang.String");
+    }
+
+    boolean isPrimitive() {
+        return kind == Kind.SIMPLE && primitiveWrapper(typeName) != null;
+    }
+
+    // Classe wrapper do tipo primitivo (int → Integer), ou null
+    String primitiveWrapper() {
+        return isPrimitive() ? primitiveWrapper(typeName) : null;
+    }
+
+    // Campo simples cujo tipo é uma coleção ou map do JDK (ex: List<String>)
+    boolean isSimpleContainer() {
+        return kind == Kind.SIMPLE
+                && (typeName.startsWith("java.util.List<")
+                || typeName.startsWith("java.util.Set<")
+                || typeName.startsWith("java.util.Collection<")
+                || typeName.startsWith("java.util.Map<"));
+    }
+
+    boolean isArray() {
+        return kind == Kind.SIMPLE && typeName.endsWith("[]");
+    }
+
+    // Nome simples do DTO aninhado (ex: EnderecoDTO), ou null
+    String nestedDTO() {
+        return nestedDTO;
+    }
+
+    // DTO aninhado mutável, com fromInto para ser preenchido no lugar
+    boolean nestedFillable() {
+        return nestedFillable;
+    }
+
+    // Tipo da entidade relacionada: o próprio tipo (sem parâmetros genéricos no flatten),
+    // o elemento da coleção ou o valor do map
+    String elementType() {
+        return elementType;
+    }
+
+    // List, Set ou Collection
+    String collectionType() {
+        return collectionType;
+    }
+
+    String mapKeyType() {
+        return mapKeyType;
+    }
+
+    // Método da entidade relacionada que devolve o ID (ex: getId), só em flatten
+    String idAccessor() {
+        return idAccessor;
+    }
+
+    // Nome do campo no DTO (ex: cliente → clienteId para flatten)
+    String dtoFieldName() {
+        return dtoFieldName;
+    }
+
+    // Tipo do campo no DTO
+    String dtoFieldType() {
+        return dtoFieldType;
+    }
+
+    String getterName() {
+        return getterName;
+    }
+
+    String setterName() {
+        return setterName;
+    }
+
+    String modelGetterName() {
+        return "get" + capitalizedName;
+    }
+
+    String modelSetterName() {
+        return "set" + capitalizedName;
+    }
+
+    static String primitiveWrapper(String type) {
+        switch (type) {
+            case "boolean":
+                return "Boolean";
+            case "byte":
+                return "Byte";
+            case "short":
+                return "Short";
+            case "char":
+                return "Character";
+            case "int":
+                return "Integer";
+            case "long":
+                return "Long";
+            case "float":
+                return "Float";
+            case "double":
+                return "Double";
+            default:
+                return null;
+        }
+    }
+
+    static String capitalize(String value) {
+        return value.substring(0, 1).toUpperCase() + value.substring(1);
+    }
+}
@@ -0,0 +1,139 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Modelo imutável de uma entidade anotada com {@link GenerateDTO}:
+ * nomes, campos selecionados já resolvidos e imports do DTO gerado.
+ */
+final class DTOModel {
+
+    private final String packageName;
+    private final String className;
+    private final String dtoName;
+    private final MappingStyle mappingStyle;
+    private final boolean immutable;
+    private final int toStringMaxElements;
+    private final int toStringMaxDepth;
+    private final boolean skipUnloaded;
+    private final boolean binaryCodec;
+    private final boolean columnarBatch;
+    private final boolean mappingMetrics;
+    private final boolean fieldAccessors;
+    private final boolean mappingContext;
+    private final boolean fetchPlan;
+    private final boolean bulkMapping;
+    private final boolean jsonWriter;
+    private final List<DTOField> fields;
+    private final Set<String> imports;
+
+    /**
+     * As opções são copiadas de {@code options} aqui: a renderização, em outras
+     * threads, lê só o modelo.
+     */
+    DTOModel(String packageName,
+             String className,
+             String dtoName,
+             GenerateDTO options,
+             List<DTOField> fields,
+             Set<String> imports) {
+        this.packageName = packageName;
+        this.className = className;
+        this.dtoName = dtoName;
+        this.mappingStyle = options.mappingStyle();
+        this.immutable = options.immutable();
+        this.toStringMaxElements = options.toStringMaxElements();
+        this.toStringMaxDepth = options.toStringMaxDepth();
+        this.skipUnloaded = options.skipUnloaded();
+        this.binaryCodec = options.binaryCodec();
+        this.columnarBatch = options.columnarBatch();
+        this.mappingMetrics = options.mappingMetrics();
+        this.fieldAccessors = options.fieldAccessors();
+        this.mappingContext = options.mappingContext();
+        this.fetchPlan = options.fetchPlan();
+        this.bulkMapping = options.bulkMapping();
+        this.jsonWriter = options.jsonWriter();
+        this.fields = Collections.unmodifiableList(fields);
+        this.imports = Collections.unmodifiableSet(imports);
+    }
+
+    String packageName() {
+        return packageName;
+    }
+
+    String className() {
+        return className;
+    }
+
+    String dtoName() {
+        return dtoName;
+    }
+
+    String qualifiedDtoName() {
+        return packageName.isEmpty() ? dtoName : packageName + "." + dtoName;
+    }
+
+    MappingStyle mappingStyle() {
+        return mappingStyle;
+    }
+
+    boolean immutable() {
+        return immutable;
+    }
+
+    // Negativo = sem limite
+    int toStringMaxElements() {
+        return toStringMaxElements;
+    }
+
+    // Negativo = sem limite
+    int toStringMaxDepth() {
+        return toStringMaxDepth;
+    }
+
+    boolean skipUnloaded() {
+        return skipUnloaded;
+    }
+
+    boolean binaryCodec() {
+        return binaryCodec;
+    }
+
+    boolean columnarBatch() {
+        return columnarBatch;
+    }
+
+    boolean mappingMetrics() {
+        return mappingMetrics;
+    }
+
+    boolean fieldAccessors() {
+        return fieldAccessors;
+    }
+
+    boolean mappingContext() {
+        return mappingContext;
+    }
+
+    boolean fetchPlan() {
+        return fetchPlan;
+    }
+
+    boolean bulkMapping() {
+        return bulkMapping;
+    }
+
+    boolean jsonWriter() {
+        return jsonWriter;
+    }
+
+    List<DTOField> fields() {
+        return fields;
+    }
+
+    Set<String> imports() {
+        return imports;
+    }
+}
@@ -0,0 +1,183 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gera o registro de {@code -Agenerate.dto.registry=pacote.Classe}: uma
+ * classe com, para cada entidade da compilação, as funções
+ * {@code from}/{@code toModel} dos DTOs dela, sem reflection.
+ * <p>
+ * As projeções são acumuladas ao longo dos rounds (na thread do compilador)
+ * e o registro é gerado uma vez, no primeiro round sem entidades novas. A
+ * busca por classe usa um {@link ClassValue}: o {@code switch} pelo nome da
+ * classe roda uma vez por tipo e subclasses sem DTO (como proxies de JPA)
+ * usam o da superclasse.
+ */
+final class DTORegistryGenerator {
+
+    private static final class Entry {
+
+        private final String entity;
+        private final String projection;
+        private final String dto;
+
+        private Entry(String entity, String projection, String dto) {
+            this.entity = entity;
+            this.projection = projection;
+            this.dto = dto;
+        }
+    }
+
+    // Nome binário da entidade (Outer$Inner, como Class.getName()) → projeções
+    private final Map<String, List<Entry>> entities = new TreeMap<>();
+
+    /**
+     * Registra uma projeção; a projeção sem nome fica na frente, as demais na
+     * ordem em que foram geradas.
+     */
+    void add(String binaryName, String entity, String projection, String dto) {
+        List<Entry> projections = entities.computeIfAbsent(binaryName, k -> new ArrayList<>());
+        Entry entry = new Entry(entity, projection, dto);
+        if (projection.isEmpty()) {
+            projections.add(0, entry);
+        } else {
+            projections.add(entry);
+        }
+    }
+
+    void gerarRegistro(Writer w, String registryName) throws IOException {
+        w.write("/**\n");
+        w.write(" * DTOs gerados nesta compilação, por entidade. Gerado pelo GenerateDTOProcessor.\n");
+        w.write(" */\n");
+        w.write("public final class " + registryName + " {\n\n");
+
+        w.write("    private static final class Mapper {\n\n");
+        w.write("        private final String projection;\n");
+        w.write("        private final Class<?> dto;\n");
+        w.write("        private final java.util.function.Function<Object, Object> from;\n");
+        w.write("        private final java.util.function.Function<Object, Object> toModel;\n\n");
+        w.write("        private Mapper(String projection,\n");
+        w.write("                       Class<?> dto,\n");
+        w.write("                       java.util.function.Function<Object, Object> from,\n");
+        w.write("                       java.util.function.Function<Object, Object> toModel) {\n");
+        w.write("            this.projection = projection;\n");
+        w.write("            this.dto = dto;\n");
+        w.write("            this.from = from;\n");
+        w.write("            this.toModel = toModel;\n");
+        w.write("        }\n");
+        w.write("    }\n\n");
+
+        w.write("    private static final Mapper[] NONE = new Mapper[0];\n\n");
+
+        w.write("    private static final ClassValue<Mapper[]> MAPPERS = new ClassValue<Mapper[]>() {\n");
+        w.write("        @Override\n");
+        w.write("        protected Mapper[] computeValue(Class<?> type) {\n");
+        w.write("            switch (type.getName()) {\n");
+        for (Map.Entry<String, List<Entry>> e : entities.entrySet()) {
+            w.write("                case \"" + e.getKey() + "\":\n");
+            w.write("                    return new Mapper[]{\n");
+            List<Entry> projections = e.getValue();
+            for (int i = 0; i < projections.size(); i++) {
+                Entry entry = projections.get(i);
+                w.write("                            new Mapper(\"" + entry.projection + "\", " + entry.dto + ".class,\n");
+                w.write("                                    m -> " + entry.dto + ".from((" + entry.entity + ") m),\n");
+                w.write("                                    d -> ((" + entry.dto + ") d).toModel())"
+                        + (i < projections.size() - 1 ? ",\n" : "\n"));
+            }
+            w.write("                    };\n");
+        }
+        w.write("                default:\n");
+        w.write("                    Class<?> parent = type.getSuperclass();\n");
+        w.write("                    return parent != null ? get(parent) : NONE;\n");
+        w.write("            }\n");
+        w.write("        }\n");
+        w.write("    };\n\n");
+
+        w.write("    private " + registryName + "() {\n");
+        w.write("    }\n\n");
+
+        gerarConsultas(w);
+
+        w.write("}\n");
+    }
+
+    // ========== CONSULTAS ==========
+
+    private void gerarConsultas(Writer w) throws IOException {
+        w.write("    /**\n");
+        w.write("     * {@code XxxDTO::from} da projeção padrão (sem nome, senão a primeira declarada)\n");
+        w.write("     * de {@code entityType}, ou {@code null} se a entidade não tem DTO.\n");
+        w.write("     */\n");
+        w.write("    public static <M, D> java.util.function.Function<M, D> fromFunction(Class<M> entityType) {\n");
+        w.write("        Mapper mapper = mapper(entityType, null);\n");
+        w.write("        return mapper != null ? cast(mapper.from) : null;\n");
+        w.write("    }\n\n");
+
+        w.write("    public static <M, D> java.util.function.Function<M, D> fromFunction(Class<M> entityType,\n");
+        w.write("                                                                     String projection) {\n");
+        w.write("        Mapper mapper = mapper(entityType, projection);\n");
+        w.write("        return mapper != null ? cast(mapper.from) : null;\n");
+        w.write("    }\n\n");
+
+        w.write("    /**\n");
+        w.write("     * {@code XxxDTO::toModel} da projeção padrão de {@code entityType}, ou {@code null}.\n");
+        w.write("     */\n");
+        w.write("    public static <D, M> java.util.function.Function<D, M> toModelFunction(Class<M> entityType) {\n");
+        w.write("        Mapper mapper = mapper(entityType, null);\n");
+        w.write("        return mapper != null ? cast(mapper.toModel) : null;\n");
+        w.write("    }\n\n");
+
+        w.write("    public static <D, M> java.util.function.Function<D, M> toModelFunction(Class<M> entityType,\n");
+        w.write("                                                                        String projection) {\n");
+        w.write("        Mapper mapper = mapper(entityType, projection);\n");
+        w.write("        return mapper != null ? cast(mapper.toModel) : null;\n");
+        w.write("    }\n\n");
+
+        w.write("    /**\n");
+        w.write("     * Classe do DTO da projeção padrão de {@code entityType}, ou {@code null}.\n");
+        w.write("     */\n");
+        w.write("    public static Class<?> dtoType(Class<?> entityType) {\n");
+        w.write("        Mapper mapper = mapper(entityType, null);\n");
+        w.write("        return mapper != null ? mapper.dto : null;\n");
+        w.write("    }\n\n");
+
+        w.write("    /**\n");
+        w.write("     * DTO da projeção padrão de {@code entity}; {@code null} se ela é nula.\n");
+        w.write("     *\n");
+        w.write("     * @throws IllegalArgumentException se a classe da entidade não tem DTO\n");
+        w.write("     */\n");
+        w.write("    public static Object toDTO(Object entity) {\n");
+        w.write("        if (entity == null) {\n");
+        w.write("            return null;\n");
+        w.write("        }\n");
+        w.write("        Mapper mapper = mapper(entity.getClass(), null);\n");
+        w.write("        if (mapper == null) {\n");
+        w.write("            throw new IllegalArgumentException(\"sem DTO gerado para \" + entity.getClass().getName());\n");
+        w.write("        }\n");
+        w.write("        return mapper.from.apply(entity);\n");
+        w.write("    }\n\n");
+
+        w.write("    private static Mapper mapper(Class<?> entityType, String projection) {\n");
+        w.write("        Mapper[] mappers = MAPPERS.get(entityType);\n");
+        w.write("        if (projection == null) {\n");
+        w.write("            return mappers.length > 0 ? mappers[0] : null;\n");
+        w.write("        }\n");
+        w.write("        for (Mapper mapper : mappers) {\n");
+        w.write("            if (mapper.projection.equals(projection)) {\n");
+        w.write("                return mapper;\n");
+        w.write("            }\n");
+        w.write("        }\n");
+        w.write("        return null;\n");
+        w.write("    }\n\n");
+
+        w.write("    @SuppressWarnings(\"unchecked\")\n");
+        w.write("    private static <A, B> java.util.function.Function<A, B> cast(java.util.function.Function<Object, Object> function) {\n");
+        w.write("        return (java.util.function.Function<A, B>) (java.util.function.Function<?, ?>) function;\n");
+        w.write("    }\n");
+    }
+}
@@ -0,0 +1,118 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plano de carga para o {@code from(model, plan)} gerado: quais
+ * relacionamentos (DTOs aninhados, coleções e maps) são mapeados.
+ * <p>
+ * Um plano limita a profundidade, os caminhos ou os dois:
+ * <pre>{@code
+ * PedidoDTO.from(pedido, FetchPlan.maxDepth(0));                  // só campos simples e flatten
+ * PedidoDTO.from(pedido, FetchPlan.paths("cliente", "itens.produto"));
+ * PedidoDTO.from(pedido, FetchPlan.of(2, "itens.*"));             // itens e tudo abaixo, até 2 níveis
+ * }</pre>
+ * Caminhos usam os nomes dos campos da entidade, separados por ponto; um
+ * segmento {@code *} libera qualquer relacionamento daquele nível para baixo.
+ * Relacionamentos fora do plano ficam nulos no DTO e o getter deles não é
+ * chamado, então nada é carregado. Planos são imutáveis e podem ser
+ * guardados em constantes e compartilhados entre threads.
+ */
+public final class FetchPlan {
+
+    /** Todos os relacionamentos, como o {@code from(model)}. */
+    public static final FetchPlan ALL = new FetchPlan(null, null);
+
+    /** Nenhum relacionamento. */
+    public static final FetchPlan NONE = new FetchPlan(Collections.emptyMap(), null);
+
+    // null = qualquer relacionamento, com o plano de any abaixo dele
+    private final Map<String, FetchPlan> relations;
+    private final FetchPlan any;
+
+    private FetchPlan(Map<String, FetchPlan> relations, FetchPlan any) {
+        this.relations = relations;
+        this.any = any != null ? any : this;
+    }
+
+    /**
+     * Relacionamentos até {@code depth} níveis abaixo do DTO raiz; 0 não
+     * mapeia nenhum, negativo não limita.
+     */
+    public static FetchPlan maxDepth(int depth) {
+        return build(depth, null);
+    }
+
+    /**
+     * Só os relacionamentos nos caminhos (e os prefixos deles).
+     */
+    public static FetchPlan paths(String... paths) {
+        return of(-1, paths);
+    }
+
+    /**
+     * Os caminhos, limitados a {@code depth} níveis (negativo não limita).
+     */
+    public static FetchPlan of(int depth, String... paths) {
+        Map<String, Object> tree = new HashMap<>();
+        for (String path : paths) {
+            Map<String, Object> node = tree;
+            for (String segment : path.trim().split("\\s*\\.\\s*")) {
+                if (node == null) {
+                    break;
+                }
+                if (segment.equals("*")) {
+                    node.put("*", null);
+                    break;
+                }
+                node = child(node, segment);
+            }
+        }
+        return build(depth, tree);
+    }
+
+    /**
+     * Se o relacionamento {@code relation} deste nível é mapeado.
+     */
+    public boolean includes(String relation) {
+        return relations == null || relations.containsKey(relation);
+    }
+
+    /**
+     * Plano para os relacionamentos abaixo de {@code relation}; {@link #NONE}
+     * se ele não é mapeado.
+     */
+    public FetchPlan child(String relation) {
+        if (relations == null) {
+            return any;
+        }
+        FetchPlan child = relations.get(relation);
+        return child != null ? child : NONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> node, String segment) {
+        if (node.containsKey("*")) {
+            return null;
+        }
+        return (Map<String, Object>) node.computeIfAbsent(segment, k -> new HashMap<String, Object>());
+    }
+
+    // Monta a árvore de planos uma vez; child() só consulta, sem alocar
+    @SuppressWarnings("unchecked")
+    private static FetchPlan build(int depth, Map<String, Object> tree) {
+        if (depth == 0 || tree != null && tree.isEmpty()) {
+            return NONE;
+        }
+        if (tree == null || tree.containsKey("*")) {
+            return depth < 0 ? ALL : new FetchPlan(null, build(depth - 1, null));
+        }
+        Map<String, FetchPlan> relations = new HashMap<>();
+        for (Map.Entry<String, Object> e : tree.entrySet()) {
+            relations.put(e.getKey(), build(depth < 0 ? -1 : depth - 1, (Map<String, Object>) e.getValue()));
+        }
+        return new FetchPlan(relations, null);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Acesso por índice às propriedades de um DTO, sem reflection, implementado
+ * pela classe {@code XxxDTOFields} de {@link GenerateDTO#fieldAccessors()}.
+ * <p>
+ * Para camadas genéricas (ordenação, filtros, exportação CSV) que hoje usam
+ * introspecção de beans:
+ * <pre>{@code
+ * FieldAccessor<ClienteDTO> fields = ClienteDTOFields.accessor();
+ * int nome = fields.indexOf("nome");
+ * clientes.sort(Comparator.comparing(dto -> (String) fields.get(dto, nome)));
+ * }</pre>
+ * Os índices seguem a ordem dos campos do DTO e valem entre
+ * {@code 0} e {@code fields().size() - 1}; fora disso os métodos lançam
+ * {@link IndexOutOfBoundsException}.
+ */
+public interface FieldAccessor<T> {
+
+    Class<T> dtoType();
+
+    /** Descritores na ordem dos índices; a lista não pode ser alterada. */
+    List<FieldDescriptor> fields();
+
+    /** Índice da propriedade {@code name}, ou -1. */
+    int indexOf(String name);
+
+    /** Valor do campo; primitivos voltam como wrapper. */
+    Object get(T dto, int index);
+
+    /**
+     * Altera o campo pelo setter do DTO (marcando-o como alterado).
+     *
+     * @throws UnsupportedOperationException se o DTO é imutável
+     * @throws ClassCastException            se {@code value} não é do tipo do campo
+     */
+    void set(T dto, int index, Object value);
+
+    /**
+     * Valor de um campo inteiro ({@code long}, {@code int}, {@code short},
+     * {@code byte}, {@code char} ou os wrappers deles), sem boxing para os
+     * primitivos. Wrapper nulo lança {@link NullPointerException}.
+     *
+     * @throws IllegalArgumentException se o campo não é inteiro
+     */
+    long getLong(T dto, int index);
+
+    /**
+     * Como {@link #getLong(Object, int)}, para campos {@code int},
+     * {@code short}, {@code byte}, {@code char} e os wrappers deles.
+     */
+    int getInt(T dto, int index);
+}
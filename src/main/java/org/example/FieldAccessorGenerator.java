@@ -0,0 +1,226 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Gera a classe {@code XxxDTOFields} de {@link GenerateDTO#fieldAccessors()}:
+ * um {@link FieldAccessor} com um descritor e uma constante de índice por
+ * campo ({@code NOME}, {@code EMPRESA_ID}...) e acessores por {@code switch}
+ * que chamam os getters e setters do DTO diretamente.
+ * <p>
+ * Os membros estáticos próprios da classe têm nomes em minúsculas, então não
+ * colidem com as constantes dos campos.
+ */
+final class FieldAccessorGenerator {
+
+    void gerarFields(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
+        String fieldsName = dtoName + "Fields";
+        List<DTOField> fields = model.fields();
+
+        w.write("public final class " + fieldsName + " implements org.example.FieldAccessor<" + dtoName + "> {\n\n");
+
+        // Nomes que colidem (nomeUrl e nome_url) já foram recusados pelo processador
+        for (int i = 0; i < fields.size(); i++) {
+            w.write("    public static final int " + constantName(fields.get(i).dtoFieldName()) + " = " + i + ";\n");
+        }
+        if (!fields.isEmpty()) {
+            w.write("\n");
+        }
+
+        w.write("    private static final java.util.List<org.example.FieldDescriptor> descriptors =\n");
+        w.write("            java.util.Collections.unmodifiableList(java.util.Arrays.asList(\n");
+        for (int i = 0; i < fields.size(); i++) {
+            DTOField field = fields.get(i);
+            w.write("                    new org.example.FieldDescriptor(\"" + field.dtoFieldName() + "\", " + i
+                    + ", " + erasure(field.dtoFieldType()) + ".class, " + nested(field) + ")"
+                    + (i < fields.size() - 1 ? ",\n" : "\n"));
+        }
+        w.write("            ));\n\n");
+
+        w.write("    private static final " + fieldsName + " accessor = new " + fieldsName + "();\n\n");
+
+        w.write("    private " + fieldsName + "() {\n");
+        w.write("    }\n\n");
+
+        w.write("    public static " + fieldsName + " accessor() {\n");
+        w.write("        return accessor;\n");
+        w.write("    }\n\n");
+
+        w.write("    @Override\n");
+        w.write("    public Class<" + dtoName + "> dtoType() {\n");
+        w.write("        return " + dtoName + ".class;\n");
+        w.write("    }\n\n");
+
+        w.write("    @Override\n");
+        w.write("    public java.util.List<org.example.FieldDescriptor> fields() {\n");
+        w.write("        return descriptors;\n");
+        w.write("    }\n\n");
+
+        w.write("    @Override\n");
+        w.write("    public int indexOf(String name) {\n");
+        w.write("        switch (name) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            w.write("            case \"" + fields.get(i).dtoFieldName() + "\":\n");
+            w.write("                return " + i + ";\n");
+        }
+        w.write("            default:\n");
+        w.write("                return -1;\n");
+        w.write("        }\n");
+        w.write("    }\n\n");
+
+        gerarGet(w, model);
+        gerarSet(w, model);
+        gerarGetInteiro(w, model, "long", "getLong");
+        gerarGetInteiro(w, model, "int", "getInt");
+        gerarErros(w);
+
+        w.write("}\n");
+    }
+
+    // ========== ACESSORES ==========
+
+    private void gerarGet(Writer w, DTOModel model) throws IOException {
+        List<DTOField> fields = model.fields();
+        w.write("    @Override\n");
+        w.write("    public Object get(" + model.dtoName() + " dto, int index) {\n");
+        w.write("        switch (index) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            w.write("            case " + i + ":\n");
+            w.write("                return dto." + fields.get(i).getterName() + "();\n");
+        }
+        w.write("            default:\n");
+        w.write("                throw outOfBounds(index);\n");
+        w.write("        }\n");
+        w.write("    }\n\n");
+    }
+
+    private void gerarSet(Writer w, DTOModel model) throws IOException {
+        List<DTOField> fields = model.fields();
+        if (model.immutable()) {
+            w.write("    @Override\n");
+            w.write("    public void set(" + model.dtoName() + " dto, int index, Object value) {\n");
+            w.write("        if (index < 0 || index >= " + fields.size() + ") {\n");
+            w.write("            throw outOfBounds(index);\n");
+            w.write("        }\n");
+            w.write("        throw new UnsupportedOperationException(\"" + model.dtoName() + " é imutável\");\n");
+            w.write("    }\n\n");
+            return;
+        }
+
+        w.write("    @Override\n");
+        w.write("    @SuppressWarnings(\"unchecked\")\n");
+        w.write("    public void set(" + model.dtoName() + " dto, int index, Object value) {\n");
+        w.write("        switch (index) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            DTOField field = fields.get(i);
+            String wrapper = DTOField.primitiveWrapper(field.dtoFieldType());
+            w.write("            case " + i + ":\n");
+            w.write("                dto." + field.setterName() + "((" + (wrapper != null ? wrapper : field.dtoFieldType())
+                    + ") value);\n");
+            w.write("                return;\n");
+        }
+        w.write("            default:\n");
+        w.write("                throw outOfBounds(index);\n");
+        w.write("        }\n");
+        w.write("    }\n\n");
+    }
+
+    // Só os campos cujo tipo cabe em result (primitivo ou wrapper); os demais caem no default
+    private void gerarGetInteiro(Writer w, DTOModel model, String result, String method) throws IOException {
+        List<DTOField> fields = model.fields();
+        w.write("    @Override\n");
+        w.write("    public " + result + " " + method + "(" + model.dtoName() + " dto, int index) {\n");
+        w.write("        switch (index) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            DTOField field = fields.get(i);
+            if (fitsIn(field, result)) {
+                w.write("            case " + i + ":\n");
+                w.write("                return dto." + field.getterName() + "();\n");
+            }
+        }
+        w.write("            default:\n");
+        w.write("                throw notInteger(index, \"" + result + "\");\n");
+        w.write("        }\n");
+        w.write("    }\n\n");
+    }
+
+    private void gerarErros(Writer w) throws IOException {
+        w.write("    private static IndexOutOfBoundsException outOfBounds(int index) {\n");
+        w.write("        return new IndexOutOfBoundsException(\"index \" + index + \", campos: \" + descriptors.size());\n");
+        w.write("    }\n\n");
+
+        w.write("    private static RuntimeException notInteger(int index, String type) {\n");
+        w.write("        if (index < 0 || index >= descriptors.size()) {\n");
+        w.write("            return outOfBounds(index);\n");
+        w.write("        }\n");
+        w.write("        return new IllegalArgumentException(\"campo \" + descriptors.get(index).name()"
+                + " + \" não é lido como \" + type);\n");
+        w.write("    }\n");
+    }
+
+    // ========== TIPOS ==========
+
+    private boolean fitsIn(DTOField field, String result) {
+        if (field.kind() != DTOField.Kind.SIMPLE && field.kind() != DTOField.Kind.FLATTEN) {
+            return false;
+        }
+        String type = field.dtoFieldType();
+        if (type.startsWith("java.lang.")) {
+            type = type.substring("java.lang.".length());
+        }
+        switch (type) {
+            case "long":
+            case "Long":
+                return result.equals("long");
+            case "int":
+            case "Integer":
+            case "short":
+            case "Short":
+            case "byte":
+            case "Byte":
+            case "char":
+            case "Character":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Relacionamento mapeado para DTO (aninhado, coleção ou map); flatten guarda só o ID
+    private boolean nested(DTOField field) {
+        return field.kind() != DTOField.Kind.SIMPLE && field.kind() != DTOField.Kind.FLATTEN;
+    }
+
+    // java.util.Map<String, EnderecoDTO> → java.util.Map (para o literal de classe)
+    private static String erasure(String type) {
+        StringBuilder sb = new StringBuilder(type.length());
+        int depth = 0;
+        for (int i = 0; i < type.length(); i++) {
+            char c = type.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    // empresaId → EMPRESA_ID
+    static String constantName(String fieldName) {
+        StringBuilder sb = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(fieldName.charAt(i - 1))) {
+                sb.append('_');
+            }
+            sb.append(Character.toUpperCase(c));
+        }
+        return sb.toString();
+    }
+}
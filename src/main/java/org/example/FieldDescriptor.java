@@ -0,0 +1,46 @@
+package org.example;
+
+/**
+ * Descrição de um campo de um DTO gerado com
+ * {@code @GenerateDTO(fieldAccessors = true)}, obtida de
+ * {@link FieldAccessor#fields()}.
+ */
+public final class FieldDescriptor {
+
+    private final String name;
+    private final int index;
+    private final Class<?> type;
+    private final boolean nested;
+
+    public FieldDescriptor(String name, int index, Class<?> type, boolean nested) {
+        this.name = name;
+        this.index = index;
+        this.type = type;
+        this.nested = nested;
+    }
+
+    /** Nome da propriedade no DTO (ex: {@code clienteId} para um flatten). */
+    public String name() {
+        return name;
+    }
+
+    /** Posição usada em {@link FieldAccessor#get(Object, int)} e afins. */
+    public int index() {
+        return index;
+    }
+
+    /** Tipo do campo, sem os parâmetros genéricos ({@code List.class}). */
+    public Class<?> type() {
+        return type;
+    }
+
+    /** Se o campo guarda DTOs: aninhado, coleção ou map de DTOs. */
+    public boolean nested() {
+        return nested;
+    }
+
+    @Override
+    public String toString() {
+        return name + "#" + index + ":" + type.getSimpleName() + (nested ? " (nested)" : "");
+    }
+}
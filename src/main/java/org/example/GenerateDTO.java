@@ -1,15 +1,153 @@
 package org.example;
 
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Gera um DTO para a entidade anotada (ou um por projeção, se repetida).
+ * <p>
+ * Sem opções, o DTO gerado só depende do JDK: o processador pode ficar apenas
+ * no processorpath ou em escopo {@code provided}. Os recursos que usam classes
+ * de runtime deste artefato ({@link #mappingContext()}, {@link #fetchPlan()},
+ * {@link #bulkMapping()}, {@link #jsonWriter()}, {@link #skipUnloaded()},
+ * {@link #binaryCodec()}, {@link #mappingMetrics()},
+ * {@link #fieldAccessors()}) são opcionais e, quando ligados, exigem o
+ * artefato também em tempo de execução.
+ */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
+@Repeatable(GenerateDTOs.class)
 public @interface GenerateDTO {
 
+    /**
+     * Nome da projeção, usado como sufixo do DTO: {@code name = "Resumo"} em
+     * {@code Cliente} gera {@code ClienteResumoDTO}; vazio gera {@code ClienteDTO}.
+     * Repita a anotação para gerar várias projeções da mesma entidade, cada uma
+     * com seus {@code fields}, {@code flattenRelations} e {@code nestedDTOs}.
+     * <p>
+     * Relacionamentos detectados automaticamente usam a projeção de mesmo nome
+     * da entidade relacionada, se existir; senão a projeção padrão (sem nome);
+     * senão a primeira declarada. Para outra projeção use
+     * {@link NestedDTO#projection()}.
+     */
+    String name() default "";
+
     String[] fields() default {};
     String[] flattenRelations() default {};
     NestedDTO[] nestedDTOs() default {};
+    MappingStyle mappingStyle() default MappingStyle.STREAM;
+
+    /**
+     * Método sem parâmetros das entidades em {@link #flattenRelations()} que
+     * devolve o ID. O tipo do campo {@code xxxId} do DTO é o tipo de retorno
+     * desse método, em sua forma objeto ({@code long} vira {@code Long}).
+     */
+    String flattenIdAccessor() default "getId";
+
+    /**
+     * Gera um DTO imutável: classe final com campos final, construtor com
+     * todos os campos, sem setters, coleções congeladas com
+     * {@code List.copyOf}/{@code Set.copyOf}/{@code Map.copyOf} (elementos
+     * nulos não são aceitos) e hashCode calculado uma única vez.
+     * Instâncias podem ser compartilhadas entre threads sem sincronização.
+     * <p>
+     * Só DTOs mutáveis ganham {@code fromInto(model, target)}, que preenche
+     * uma instância existente; {@code toModelInto(target)} é gerado nos dois.
+     * O {@code fromInto} só reaproveita as listas, sets e maps que o próprio
+     * target criou num {@code from}/{@code fromInto}: um container passado a
+     * um setter (ou vindo de {@code XxxDTOBatch.toDTO}) é substituído.
+     */
+    boolean immutable() default false;
+
+    /**
+     * Máximo de elementos de cada coleção/map impressos pelo toString;
+     * o restante é resumido como {@code …+N more}. Negativo = sem limite.
+     */
+    int toStringMaxElements() default 20;
+
+    /**
+     * Profundidade máxima de DTOs aninhados impressos pelo toString; abaixo
+     * dela o DTO aparece como {@code NomeDTO{…}}. Negativo = sem limite.
+     */
+    int toStringMaxDepth() default 4;
+
+    /**
+     * O from gerado consulta {@link LoadStates#isLoaded(Object, String)} antes
+     * de acessar relacionamentos aninhados, coleções e maps; os que não estão
+     * carregados ficam nulos no DTO em vez de disparar lazy loading.
+     * Relacionamentos em {@link #flattenRelations()} continuam só com o ID.
+     */
+    boolean skipUnloaded() default false;
+
+    /**
+     * Gera {@code writeTo(ByteBuffer)}, {@code static readFrom(ByteBuffer)} e
+     * {@code serializedSize()} com o formato compacto de {@link BinarySupport}.
+     * Campos precisam ser primitivos, wrappers, String, enums, BigDecimal,
+     * BigInteger, UUID, LocalDate, LocalDateTime, Instant, arrays ou
+     * coleções/maps desses tipos, ou relacionamentos com entidades que também
+     * usam {@code binaryCodec}.
+     */
+    boolean binaryCodec() default false;
+
+    /**
+     * Gera também {@code XxxDTOBatch}: os campos de muitas entidades guardados
+     * em colunas (um array por campo). Primitivos e wrappers numéricos ficam em
+     * arrays primitivos (wrappers com um bitmap de nulos), flatten com ID
+     * numérico vira uma coluna {@code long[]}/{@code int[]} de IDs e os demais
+     * campos ficam em arrays do próprio tipo. Para exportar ou agregar muitas
+     * linhas sem um objeto (e um wrapper por campo) por linha.
+     */
+    boolean columnarBatch() default false;
+
+    /**
+     * O {@code from} e o {@code toModel} gerados informam a um
+     * {@link MappingListener} a quantidade de chamadas, o tempo, a
+     * profundidade no grafo e o tamanho das coleções mapeadas. O desvio é
+     * guardado por um {@code static final} ({@link MappingMetrics#ENABLED}):
+     * sem {@code -Dgenerate.dto.metrics=true} nem listener registrado, o JIT
+     * o elimina.
+     */
+    boolean mappingMetrics() default false;
+
+    /**
+     * Gera também {@code XxxDTOFields}, um {@link FieldAccessor} com os
+     * descritores dos campos (nome, índice, tipo, se é aninhado), uma
+     * constante de índice por campo e {@code get}/{@code set}/{@code getLong}/
+     * {@code getInt} por índice com {@code switch}. Para camadas genéricas
+     * acessarem propriedades sem reflection nem introspecção de beans.
+     */
+    boolean fieldAccessors() default false;
+
+    /**
+     * Gera {@code from(model, MappingContext)}, que mapeia cada entidade uma
+     * única vez por {@link MappingContext}: entidades repetidas no grafo
+     * compartilham o DTO e ciclos terminam. DTOs relacionados precisam da
+     * mesma opção.
+     */
+    boolean mappingContext() default false;
+
+    /**
+     * Gera {@code from(model, FetchPlan)}, que só mapeia os relacionamentos
+     * liberados pelo {@link FetchPlan}. DTOs relacionados precisam da mesma
+     * opção.
+     */
+    boolean fetchPlan() default false;
+
+    /**
+     * Gera {@code fromAll}/{@code toModelAll}, que acima de
+     * {@link BulkMapping#PARALLEL_THRESHOLD} elementos mapeiam em paralelo, e,
+     * com {@link #flattenRelations()}, {@code toModelAllResolving} com um
+     * {@link IdResolver}.
+     */
+    boolean bulkMapping() default false;
+
+    /**
+     * Gera {@code writeJson(Appendable)} e {@code toJson()} com as convenções
+     * de {@link JsonSupport}, sem reflection. DTOs relacionados precisam da
+     * mesma opção.
+     */
+    boolean jsonWriter() default false;
 }
\ No newline at end of file
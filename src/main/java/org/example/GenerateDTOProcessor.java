@@ -1,454 +1,1865 @@
 package org.example;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-
-import static java.lang.Package.getPackage;
-
-@SupportedAnnotationTypes("org.example.GenerateDTO")
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@SupportedAnnotationTypes({"org.example.GenerateDTO", "org.example.GenerateDTOs"})
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedOptions({ProcessorStats.OPTION, GenerateDTOProcessor.THREADS_OPTION, GenerateDTOProcessor.REGISTRY_OPTION})
 public class GenerateDTOProcessor extends AbstractProcessor {
 
+    /**
+     * Threads que renderizam os DTOs ({@code -Agenerate.dto.threads=n});
+     * o padrão é o número de processadores e {@code 1} renderiza tudo na
+     * thread do compilador.
+     */
+    static final String THREADS_OPTION = "generate.dto.threads";
+
+    /**
+     * Nome qualificado do registro de DTOs
+     * ({@code -Agenerate.dto.registry=com.acme.GeneratedDTORegistry}).
+     * Ligado, o processor passa de isolating para aggregating no Gradle.
+     */
+    static final String REGISTRY_OPTION = "generate.dto.registry";
+
+    private static final String FINGERPRINT_PREFIX = "// generate-dto fingerprint: ";
+
+    // Contexto de gerarCamposFrom para o from(model, FetchPlan)
+    private static final String PLAN = "plan";
+
+    // Cache por round: entidade → projeções declaradas (vazio se não tem @GenerateDTO)
+    private final Map<TypeElement, GenerateDTO[]> projectionCache = new HashMap<>();
+
+    private final JsonWriterGenerator jsonWriter = new JsonWriterGenerator();
+
+    private final ColumnarBatchGenerator columnarBatch = new ColumnarBatchGenerator();
+
+    private final FieldAccessorGenerator fieldAccessors = new FieldAccessorGenerator();
+
+    // Grafo dos relacionamentos do round, para detectar ciclos
+    private final RelationGraph relations = new RelationGraph();
+
+    private ProcessorStats stats;
+
+    private int threads;
+
+    // null = sem registro
+    private String registryName;
+    private final DTORegistryGenerator registry = new DTORegistryGenerator();
+    private boolean registryWritten;
+
+    // Criado no primeiro round com DTOs suficientes para renderizar em paralelo
+    private ExecutorService renderPool;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        stats = new ProcessorStats(processingEnv.getOptions().get(ProcessorStats.OPTION));
+        threads = threads(processingEnv.getOptions().get(THREADS_OPTION));
+        String registryOption = processingEnv.getOptions().get(REGISTRY_OPTION);
+        registryName = registryOption == null || registryOption.trim().isEmpty() ? null : registryOption.trim();
+    }
+
+    // Processor "dynamic" no Gradle (META-INF/gradle): o registro depende de todas as entidades
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new HashSet<>(super.getSupportedOptions());
+        options.add(registryName != null
+                ? "org.gradle.annotation.processing.aggregating"
+                : "org.gradle.annotation.processing.isolating");
+        return options;
+    }
+
+    private int threads(String option) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (option == null || option.trim().isEmpty()) {
+            return processors;
+        }
+        try {
+            int value = Integer.parseInt(option.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reportado abaixo
+        }
+        processingEnv.getMessager().printMessage(javax.tools.Diagnostic.Kind.WARNING,
+                "generate-dto: " + THREADS_OPTION + "=" + option
+                        + " inválido; usando " + processors + " threads");
+        return processors;
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations,
                            RoundEnvironment roundEnv) {
-        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateDTO.class)) {
+        projectionCache.clear();
+        relations.clear();
+        stats.beginRound();
+        Set<Class<? extends Annotation>> annotationTypes = new HashSet<>();
+        annotationTypes.add(GenerateDTO.class);
+        annotationTypes.add(GenerateDTOs.class);
+
+        // 1. Analisa todas as projeções do round, montando o grafo de relacionamentos
+        List<Projection> analyzed = new ArrayList<>();
+        for (Element element : roundEnv.getElementsAnnotatedWithAny(annotationTypes)) {
             TypeElement classElement = (TypeElement) element;
-            GenerateDTO annotation = classElement.getAnnotation(GenerateDTO.class);
-            String[] selectedFields = annotation.fields();
-            String[] flattenRelations = annotation.flattenRelations();
-            NestedDTO[] nestedDTOs = annotation.nestedDTOs();
-
-            // Cria um mapa para lookup rápido
-            // Mapa para lookup de DTOs aninhados
-            Map<String, String> nestedDTOMap = new HashMap<>();
-
-            String packageName = processingEnv.getElementUtils()
-                    .getPackageOf(classElement)
-                    .getQualifiedName()
-                    .toString();
-
-            String className = classElement.getSimpleName().toString();
-
-            for (NestedDTO nested : nestedDTOs) {
-                nestedDTOMap.put(nested.field(), nested.dto());
-                String nestedDtoName = nested.dto();
-                String nestedClassName = nestedDtoName.replace("DTO", "");
-
-                // Procura a classe nested no projeto
-                TypeElement nestedElement = processingEnv.getElementUtils()
-                        .getTypeElement(packageName + "." + nestedClassName);
-
-                if (nestedElement != null) {
-                    GenerateDTO nestedAnnotation = nestedElement.getAnnotation(GenerateDTO.class);
-
-                    if (nestedAnnotation != null) {
-                        for (NestedDTO backRef : nestedAnnotation.nestedDTOs()) {
-                            String backDto = backRef.dto();
-
-                            if (backDto.equals(className + "DTO")) {
-                                error(
-                                        "Ciclo direto detectado entre "
-                                                + className + " e " + nestedClassName
-                                                + ". Use flattenRelations em um dos lados.",
-                                        classElement
-                                );
-                                return true;
-                            }
-                        }
-                    }
+
+            // Uma entidade pode declarar várias projeções; cada uma gera o seu DTO
+            Set<String> projectionNames = new HashSet<>();
+            for (GenerateDTO annotation : projections(classElement)) {
+                if (!projectionNames.add(annotation.name())) {
+                    error("Projeção '" + annotation.name() + "' declarada mais de uma vez em "
+                            + classElement.getSimpleName(), classElement);
+                    continue;
                 }
+                analyzed.add(analyzeProjection(classElement, annotation));
             }
+        }
 
-            String dtoName = className + "DTO";
-            try {
-                JavaFileObject file = processingEnv.getFiler()
-                        .createSourceFile(packageName + "." + dtoName);
-                try (Writer w = file.openWriter()) {
-
-                    Set<String> imports = collectImports(
-                            classElement,
-                            selectedFields,
-                            nestedDTOMap,
-                            packageName
-                    );
-
-                    w.write("package " + packageName + ";\n\n");
-
-                    writeImports(w, imports);
-
-                    w.write("\n");
-
-                    w.write("public class " + dtoName + " {\n\n");
-
-                    // Gera os campos
-                    // ========== CAMPOS ==========
-                    for (Element enclosedElement : classElement.getEnclosedElements()) {
-                        if (enclosedElement.getKind() == ElementKind.FIELD) {
-                            VariableElement field = (VariableElement) enclosedElement;
-                            String fieldName = field.getSimpleName().toString();
-
-                            if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                                TypeMirror fieldType = field.asType();
-                                String fieldTypeString = fieldType.toString();
-                                if (contains(flattenRelations, fieldName)) {
-                                    w.write("    private Long " + fieldName + "Id;\n");
-                                } else  {
-                                    String dtoType = resolveNestedDTO(fieldName, fieldType, nestedDTOMap);
-
-                                    if (dtoType != null) {
-                                        if (isMap(fieldType)) {
-                                            gerarCampoMap(w, fieldName, fieldType, dtoType);
-                                        }
-                                        else if (isCollection(fieldType)) {
-                                            String collectionType = getCollectionType(fieldType);
-                                            w.write("    private " + collectionType + "<" + dtoType + "> " + fieldName + ";\n");
-                                        }
-                                        else {
-                                            w.write("    private " + dtoType + " " + fieldName + ";\n");
-                                        }
-                                    } else {
-                                        w.write("    private " + fieldTypeString + " " + fieldName + ";\n");
-                                    }
-                                }
-                            }
-                        }
+        // 2. Ciclos entre os DTOs, de qualquer tamanho
+        reportCycles(analyzed);
+
+        // 3. Renderiza os DTOs em paralelo a partir dos modelos
+        List<FutureTask<Rendered>> rendered = render(analyzed);
+
+        // 4. Grava na thread do compilador, na ordem da análise
+        for (int i = 0; i < analyzed.size(); i++) {
+            generateProjection(analyzed.get(i), rendered.get(i));
+            rendered.set(i, null);
+        }
+
+        writeRegistry(!analyzed.isEmpty(), roundEnv.processingOver());
+
+        stats.endRound();
+        if (roundEnv.processingOver()) {
+            if (renderPool != null) {
+                renderPool.shutdown();
+                renderPool = null;
+            }
+            stats.report(processingEnv.getMessager());
+        }
+        return true;
+    }
+
+    // O registro sai no primeiro round sem entidades novas, para ser compilado junto com o
+    // código que o usa; um arquivo criado no último round não seria visível para ele
+    private void writeRegistry(boolean newEntities, boolean processingOver) {
+        if (registryName == null || registryWritten || newEntities && !processingOver) {
+            return;
+        }
+        registryWritten = true;
+        int lastDot = registryName.lastIndexOf('.');
+        try {
+            StringWriter w = new StringWriter(4096);
+            if (lastDot >= 0) {
+                w.write("package " + registryName.substring(0, lastDot) + ";\n\n");
+            }
+            registry.gerarRegistro(w, registryName.substring(lastDot + 1));
+            String body = w.toString();
+            writeSourceFile(registryName, FINGERPRINT_PREFIX + fingerprint(body) + "\n" + body);
+        } catch (Exception e) {
+            processingEnv.getMessager().printMessage(javax.tools.Diagnostic.Kind.ERROR,
+                    "Falha ao gerar " + registryName + ": " + e);
+        }
+    }
+
+    // De outro pacote, o registro só enxerga entidades públicas (e classes que as contêm)
+    private void register(Projection projection) {
+        if (registryWritten) {
+            error(projection.classElement.getSimpleName() + " apareceu depois de " + registryName
+                    + " ser gerado (no round seguinte às entidades)", projection.classElement);
+            return;
+        }
+        String registryPackage = registryName.substring(0, Math.max(registryName.lastIndexOf('.'), 0));
+        boolean samePackage = projection.model.packageName().equals(registryPackage);
+        for (Element e = projection.classElement; !samePackage && e instanceof TypeElement;
+             e = e.getEnclosingElement()) {
+            if (!e.getModifiers().contains(javax.lang.model.element.Modifier.PUBLIC)) {
+                processingEnv.getMessager().printMessage(javax.tools.Diagnostic.Kind.WARNING,
+                        projection.classElement.getSimpleName() + " não é pública e fica fora de "
+                                + registryName, projection.classElement);
+                return;
+            }
+        }
+        registry.add(processingEnv.getElementUtils().getBinaryName(projection.classElement).toString(),
+                projection.classElement.getQualifiedName().toString(),
+                projection.projectionName,
+                projection.dtoName);
+    }
+
+    /**
+     * Uma tarefa por projeção (null se o DTO não deve ser gerado). Com mais de
+     * uma thread as tarefas vão para o pool; a thread do compilador executa as
+     * que ainda não começaram quando chega a vez de gravá-las.
+     * <p>
+     * A renderização só lê o {@link DTOModel} (strings, já sem {@code TypeMirror})
+     * e não acessa o {@code processingEnv}, o {@code Messager} nem as estatísticas.
+     */
+    private List<FutureTask<Rendered>> render(List<Projection> analyzed) {
+        boolean timed = stats.enabled();
+        List<FutureTask<Rendered>> tasks = new ArrayList<>(analyzed.size());
+        int pending = 0;
+        for (Projection projection : analyzed) {
+            DTOModel model = projection.model;
+            if (model == null) {
+                tasks.add(null);
+            } else {
+                tasks.add(new FutureTask<>(() -> render(model, timed)));
+                pending++;
+            }
+        }
+
+        if (threads > 1 && pending > 1) {
+            if (renderPool == null) {
+                renderPool = Executors.newFixedThreadPool(threads, runnable -> {
+                    Thread thread = new Thread(runnable, "generate-dto-render");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            for (FutureTask<Rendered> task : tasks) {
+                if (task != null) {
+                    renderPool.execute(task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    private Rendered render(DTOModel model, boolean timed) {
+        Rendered result = new Rendered();
+        long start = timed ? System.nanoTime() : 0L;
+        try {
+            result.source = renderDTO(model);
+            if (model.columnarBatch()) {
+                result.batch = renderBatch(model);
+            }
+            if (model.fieldAccessors()) {
+                result.fields = renderFields(model);
+            }
+        } catch (Exception e) {
+            result.failure = e;
+        }
+        if (timed) {
+            result.nanos = System.nanoTime() - start;
+            result.bytes = utf8Length(result.source) + utf8Length(result.batch) + utf8Length(result.fields);
+        }
+        return result;
+    }
+
+    // from(model) não termina se os objetos formarem um ciclo. Ciclos só com relacionamentos
+    // declarados em nestedDTOs são erro; os que passam por relacionamentos automáticos, como
+    // uma entidade que referencia a si mesma, também, a menos que todos os DTOs do ciclo
+    // tenham mappingContext (from(model, context) fecha o ciclo). Os DTOs do ciclo continuam
+    // sendo gerados, para o erro não virar uma cascata de "cannot find symbol" nos que os usam.
+    // Num ciclo aceito, DTOs imutáveis e relacionamentos Set não fecham o ciclo e também são erro.
+    private void reportCycles(List<Projection> analyzed) {
+        Map<String, DTOModel> models = new HashMap<>();
+        for (Projection projection : analyzed) {
+            models.put(projection.dtoName, projection.model);
+        }
+        for (RelationGraph.Cycle cycle : relations.cycles()) {
+            String path = "Ciclo de relacionamentos entre DTOs: " + cycle.path()
+                    + (cycle.truncated() ? " (há mais ciclos entre estes DTOs, não listados)" : "");
+            if (cycle.manual()) {
+                for (String dto : cycle.members()) {
+                    error(path + ". Use flattenRelations em um dos lados.", relations.element(dto));
+                }
+                continue;
+            }
+            List<String> withoutContext = new ArrayList<>();
+            for (String dto : cycle.members()) {
+                DTOModel model = models.get(dto);
+                if (model == null || !model.mappingContext()) {
+                    withoutContext.add(dto);
+                }
+            }
+            if (!withoutContext.isEmpty()) {
+                for (String dto : withoutContext) {
+                    error(path + ". from(model) não termina se os objetos formarem um ciclo;"
+                            + " use mappingContext = true em todos os DTOs do ciclo e from(model, context),"
+                            + " ou flattenRelations em um dos lados.", relations.element(dto));
+                }
+                continue;
+            }
+            if (!reportUnclosableCycle(cycle, path, models)) {
+                processingEnv.getMessager().printMessage(javax.tools.Diagnostic.Kind.NOTE,
+                        path + ". Objetos em ciclo só podem ser mapeados com from(model, context).",
+                        relations.element(cycle.members().get(0)));
+            }
+        }
+    }
+
+    // from(model, context) só fecha o ciclo em DTOs registrados no contexto antes dos
+    // relacionamentos (os mutáveis) e sem Set no caminho: o add no HashSet calcula o
+    // hashCode do DTO ainda em construção, que percorre o ciclo e não termina
+    private boolean reportUnclosableCycle(RelationGraph.Cycle cycle, String path, Map<String, DTOModel> models) {
+        boolean reported = false;
+        for (int i = 0; i < cycle.members().size(); i++) {
+            String dto = cycle.members().get(i);
+            if (models.get(dto).immutable()) {
+                error(path + ". " + getSimpleTypeName(dto) + " é imutável e só entra no MappingContext depois"
+                        + " dos relacionamentos: from(model, context) não fecha o ciclo; use um DTO mutável"
+                        + " ou flattenRelations em um dos lados.", relations.element(dto));
+                reported = true;
+            }
+            if (cycle.hashed(i)) {
+                error(path + ". O relacionamento Set '" + cycle.fields().get(i) + "' de " + getSimpleTypeName(dto)
+                        + " calcula o hashCode dos DTOs do ciclo e não termina; use List ou flattenRelations.",
+                        relations.element(dto));
+                reported = true;
+            }
+        }
+        return reported;
+    }
+
+    // Analisa uma projeção (modelo null se houve erro) e registra seus relacionamentos no grafo
+    private Projection analyzeProjection(TypeElement classElement, GenerateDTO annotation) {
+        // Mapa para lookup dos DTOs aninhados manuais
+        Map<String, NestedDTO> nestedDTOMap = new HashMap<>();
+        for (NestedDTO nested : annotation.nestedDTOs()) {
+            nestedDTOMap.put(nested.field(), nested);
+        }
+
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(classElement)
+                .getQualifiedName()
+                .toString();
+
+        String dtoName = qualify(packageName, dtoName(classElement, annotation));
+        int entity = stats.beginEntity(classElement.getQualifiedName().toString());
+        relations.addNode(dtoName, classElement);
+
+        long analysis = stats.start();
+        DTOModel model = buildModel(classElement, annotation, packageName, nestedDTOMap);
+        stats.stop(ProcessorStats.Phase.ANALYSIS, analysis);
+        stats.suspendEntity();
+        return new Projection(classElement, annotation.name(), dtoName, model, entity);
+    }
+
+    private static int utf8Length(String source) {
+        return source != null ? source.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    private void generateProjection(Projection projection, FutureTask<Rendered> task) {
+        TypeElement classElement = projection.classElement;
+        DTOModel model = projection.model;
+        if (task == null) {
+            stats.resumeEntity(projection.statsEntry);
+            stats.endEntity(projection.dtoName, "ERRO", 0, 0, 0);
+            return;
+        }
+
+        Rendered rendered;
+        try {
+            task.run();
+            rendered = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rendered = new Rendered();
+            rendered.failure = e;
+        } catch (ExecutionException e) {
+            rendered = new Rendered();
+            rendered.failure = e.getCause();
+        }
+
+        // A espera pela renderização não conta; o tempo dela é somado à parte
+        stats.resumeEntity(projection.statsEntry);
+        stats.record(ProcessorStats.Phase.RENDER, rendered.nanos);
+
+        String status = "ERRO";
+        try {
+            if (rendered.failure != null) {
+                throw rendered.failure;
+            }
+            long write = stats.start();
+            boolean written = writeSourceFile(model.qualifiedDtoName(), rendered.source, classElement);
+            if (rendered.batch != null) {
+                written |= writeSourceFile(model.qualifiedDtoName() + "Batch", rendered.batch, classElement);
+            }
+            if (rendered.fields != null) {
+                written |= writeSourceFile(model.qualifiedDtoName() + "Fields", rendered.fields, classElement);
+            }
+            stats.stop(ProcessorStats.Phase.WRITE, write);
+            status = written ? "GERADO" : "INALTERADO";
+            if (registryName != null) {
+                register(projection);
+            }
+        } catch (Throwable e) {
+            error("Falha ao gerar " + model.qualifiedDtoName() + ": " + e, classElement);
+        }
+
+        int relationCount = 0;
+        for (DTOField field : model.fields()) {
+            if (field.kind() != DTOField.Kind.SIMPLE) {
+                relationCount++;
+            }
+        }
+        stats.endEntity(model.qualifiedDtoName(), status, model.fields().size(), relationCount, rendered.bytes);
+    }
+
+    // Gera o código-fonte completo do DTO, precedido pelo fingerprint do conteúdo
+    private String renderDTO(DTOModel model) throws IOException {
+        // Cerca de 2 KB de código por campo; evita as cópias ao crescer o buffer
+        StringWriter w = new StringWriter(4096 + 2048 * model.fields().size());
+
+        w.write("package " + model.packageName() + ";\n\n");
+
+        writeImports(w, model.imports());
+
+        w.write("\n");
+
+        if (model.immutable()) {
+            w.write("public final class " + model.dtoName() + " {\n\n");
+        } else {
+            w.write("public class " + model.dtoName() + " {\n\n");
+        }
+
+        // Gera os campos
+        // ========== CAMPOS ==========
+        String modifiers = model.immutable() ? "private final " : "private ";
+        for (DTOField field : model.fields()) {
+            w.write("    " + modifiers + field.dtoFieldType() + " " + field.dtoFieldName() + ";\n");
+        }
+        if (model.immutable()) {
+            // hashCode em cache (0 = ainda não calculado), como em String;
+            // $ no nome para não colidir com um campo hash da entidade
+            w.write("    private int $hash;\n");
+        } else {
+            // Campos alterados por setters desde o from/clearDirty, um bit por campo
+            for (int i = 0; i < (model.fields().size() + 63) / 64; i++) {
+                w.write("    private long dirty" + i + ";\n");
+            }
+            // Listas, sets e maps criados pelo próprio DTO (from/fromInto), os únicos que
+            // o fromInto pode reaproveitar; um container recebido por setter é do chamador
+            for (int i : ownedWords(model).keySet()) {
+                w.write("    private long $owned" + i + ";\n");
+            }
+        }
+
+        w.write("\n");
+
+        if (model.immutable()) {
+            gerarConstrutorImutavel(w, model);
+            gerarGetters(w, model);
+        } else {
+            gerarGetterESetters(w, model);
+        }
+
+        gerarMetodoFrom(w, model);
+
+        if (!model.immutable()) {
+            gerarMetodoFromInto(w, model);
+        }
+
+        gerarMetodoToModel(w, model);
+
+        gerarMetodoToModelInto(w, model);
+
+        if (model.mappingMetrics()) {
+            gerarMetricas(w, model);
+        }
+
+        if (!model.immutable()) {
+            gerarApplyTo(w, model);
+        }
+
+        if (model.bulkMapping()) {
+            gerarMetodosEmLote(w, model);
+        }
+
+        gerarMetodoToString(w, model);
+
+        gerarEqualsHashCode(w, model);
+
+        if (model.jsonWriter()) {
+            jsonWriter.gerarWriteJson(w, model);
+        }
+
+        if (model.binaryCodec()) {
+            // O gerador do codec guarda estado da geração; um por DTO renderizado
+            new BinaryCodecGenerator().gerarCodecBinario(w, model);
+        }
+
+        w.write("}\n");
+
+        String body = w.toString();
+        return FINGERPRINT_PREFIX + fingerprint(body) + "\n" + body;
+    }
+
+    /**
+     * Grava o DTO pelo Filer, tendo a entidade como único elemento de origem
+     * (requisito do modo isolating do Gradle); o registro não tem um.
+     * <p>
+     * Se o DTO já faz parte da compilação e o arquivo gerado anteriormente tem
+     * o mesmo fingerprint, nada é regravado e o método retorna {@code false}.
+     */
+    private boolean writeSourceFile(String qualifiedName,
+                                    String source,
+                                    Element... originatingElements) throws IOException {
+        long lookup = stats.start();
+        boolean exists = processingEnv.getElementUtils().getTypeElement(qualifiedName) != null;
+        stats.stop(ProcessorStats.Phase.LOOKUP, lookup);
+        if (exists) {
+            String previous = readFingerprint(qualifiedName);
+            if (previous != null && source.startsWith(previous)) {
+                return false;
+            }
+        }
+
+        JavaFileObject file = processingEnv.getFiler()
+                .createSourceFile(qualifiedName, originatingElements);
+        try (Writer w = file.openWriter()) {
+            w.write(source);
+        }
+        return true;
+    }
+
+    // Primeira linha (fingerprint) do arquivo gerado em uma compilação anterior, ou null
+    private String readFingerprint(String qualifiedName) {
+        int lastDot = qualifiedName.lastIndexOf('.');
+        String pkg = lastDot >= 0 ? qualifiedName.substring(0, lastDot) : "";
+        String fileName = qualifiedName.substring(lastDot + 1) + ".java";
+
+        try {
+            FileObject existing = processingEnv.getFiler()
+                    .getResource(StandardLocation.SOURCE_OUTPUT, pkg, fileName);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                String firstLine = reader.readLine();
+                return firstLine != null && firstLine.startsWith(FINGERPRINT_PREFIX)
+                        ? firstLine + "\n"
+                        : null;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String fingerprint(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Classe XxxDTOBatch (colunar), no mesmo pacote e com os mesmos imports do DTO
+    private String renderBatch(DTOModel model) throws IOException {
+        StringWriter w = new StringWriter(2048 + 768 * model.fields().size());
+
+        w.write("package " + model.packageName() + ";\n\n");
+        writeImports(w, model.imports());
+        w.write("\n");
+        columnarBatch.gerarBatch(w, model);
+
+        String body = w.toString();
+        return FINGERPRINT_PREFIX + fingerprint(body) + "\n" + body;
+    }
+
+    // Classe XxxDTOFields (acesso por índice), no mesmo pacote e com os mesmos imports do DTO
+    private String renderFields(DTOModel model) throws IOException {
+        StringWriter w = new StringWriter(2048 + 512 * model.fields().size());
+
+        w.write("package " + model.packageName() + ";\n\n");
+        writeImports(w, model.imports());
+        w.write("\n");
+        fieldAccessors.gerarFields(w, model);
+
+        String body = w.toString();
+        return FINGERPRINT_PREFIX + fingerprint(body) + "\n" + body;
+    }
+
+    // Analisa a entidade uma única vez e monta o modelo consumido por todos os geradores.
+    // Retorna null (com os erros já reportados) se um flatten não tem o accessor do ID
+    // ou se algum campo não é suportado pelo binaryCodec.
+    private DTOModel buildModel(TypeElement classElement,
+                                GenerateDTO annotation,
+                                String packageName,
+                                Map<String, NestedDTO> nestedDTOMap) {
+        Set<String> selectedFields = new HashSet<>(Arrays.asList(annotation.fields()));
+        Set<String> flattenRelations = new HashSet<>(Arrays.asList(annotation.flattenRelations()));
+        // Nome relativo ao pacote: uma entidade aninhada (Catalogo.Secao) é referenciada pela externa
+        String qualifiedName = classElement.getQualifiedName().toString();
+        String className = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+
+        List<DTOField> fields = new ArrayList<>();
+        Set<String> imports = new HashSet<>();
+        boolean valid = true;
+
+        for (Element enclosedElement : classElement.getEnclosedElements()) {
+            if (enclosedElement.getKind() != ElementKind.FIELD) continue;
+
+            VariableElement field = (VariableElement) enclosedElement;
+            String fieldName = field.getSimpleName().toString();
+
+            if (!selectedFields.isEmpty() && !selectedFields.contains(fieldName)) {
+                continue;
+            }
+
+            TypeMirror fieldType = field.asType();
+            String fieldTypeString = fieldType.toString();
+
+            long importsStart = stats.start();
+            collectImportsForType(fieldType, imports);
+            stats.stop(ProcessorStats.Phase.IMPORTS, importsStart);
+
+            if (flattenRelations.contains(fieldName)) {
+                String idAccessor = annotation.flattenIdAccessor();
+                long lookup = stats.start();
+                TypeMirror idType = flattenIdType(field, fieldType, idAccessor);
+                stats.stop(ProcessorStats.Phase.LOOKUP, lookup);
+                if (idType == null) {
+                    valid = false;
+                    continue;
+                }
+                if (annotation.binaryCodec() && !isBinaryValue(idType)) {
+                    error("ID do relacionamento flatten '" + fieldName + "' (" + idType
+                            + ") não é suportado por binaryCodec", field);
+                    valid = false;
+                }
+                String entityType = processingEnv.getTypeUtils().erasure(fieldType).toString();
+                fields.add(DTOField.flatten(fieldName, fieldTypeString, entityType,
+                        simplifyJavaLang(idType.toString()), idAccessor));
+                continue;
+            }
+
+            // Nested DTO manual ou auto
+            long lookup = stats.start();
+            String qualifiedDTO = resolveNestedDTO(field, fieldType, nestedDTOMap, packageName, annotation.name());
+            stats.stop(ProcessorStats.Phase.LOOKUP, lookup);
+
+            String missing = qualifiedDTO != null
+                    ? missingOptions(annotation, targetProjection(fieldType, qualifiedDTO))
+                    : null;
+            if (missing != null) {
+                error("Campo '" + fieldName + "': a entidade relacionada também precisa de " + missing, field);
+                valid = false;
+            }
+
+            if (annotation.binaryCodec() && !supportsBinaryCodec(fieldType, qualifiedDTO)) {
+                error("Campo '" + fieldName + "' do tipo " + fieldTypeString
+                        + " não é suportado por binaryCodec"
+                        + (qualifiedDTO != null ? " (a entidade relacionada também precisa de binaryCodec = true)" : ""),
+                        field);
+                valid = false;
+            }
+
+            if (qualifiedDTO == null) {
+                fields.add(new DTOField(fieldName, fieldTypeString, DTOField.Kind.SIMPLE,
+                        null, null, null, null, false));
+                continue;
+            }
+
+            relations.addEdge(qualify(packageName, dtoName(classElement, annotation)), qualifiedDTO,
+                    fieldName, nestedDTOMap.containsKey(fieldName),
+                    isCollection(fieldType) && !isMap(fieldType) && getCollectionType(fieldType).equals("Set"));
+            addImport(imports, qualifiedDTO);
+            String dtoType = getSimpleTypeName(qualifiedDTO);
+            String elementType = getBaseType(fieldType).toString();
+            GenerateDTO target = targetProjection(fieldType, qualifiedDTO);
+            boolean fillable = target != null && !target.immutable();
+
+            if (isMap(fieldType)) {
+                String[] generics = getMapGenericTypes(fieldType);
+                fields.add(new DTOField(fieldName, fieldTypeString, DTOField.Kind.MAP,
+                        dtoType, elementType, null, simplifyJavaLang(generics[0]), fillable));
+            } else if (isCollection(fieldType)) {
+                fields.add(new DTOField(fieldName, fieldTypeString, DTOField.Kind.COLLECTION,
+                        dtoType, elementType, getCollectionType(fieldType), null, fillable));
+            } else {
+                fields.add(new DTOField(fieldName, fieldTypeString, DTOField.Kind.NESTED,
+                        dtoType, elementType, null, null, fillable));
+            }
+        }
+
+        if (annotation.fieldAccessors() && !checkFieldConstants(classElement, fields)) {
+            valid = false;
+        }
+        if (!checkReservedNames(classElement, annotation, fields)) {
+            valid = false;
+        }
+
+        if (!valid) {
+            return null;
+        }
+
+        imports.add("java.util.Objects");
+
+        return new DTOModel(packageName, className, dtoName(classElement, annotation), annotation, fields, imports);
+    }
+
+    // nomeUrl e nome_url virariam a mesma constante NOME_URL em XxxDTOFields
+    private boolean checkFieldConstants(TypeElement classElement, List<DTOField> fields) {
+        Map<String, String> constants = new HashMap<>();
+        boolean valid = true;
+        for (DTOField field : fields) {
+            String constant = FieldAccessorGenerator.constantName(field.dtoFieldName());
+            String previous = constants.putIfAbsent(constant, field.dtoFieldName());
+            if (previous != null) {
+                error("Campos '" + previous + "' e '" + field.dtoFieldName() + "' geram a mesma constante "
+                        + constant + " em fieldAccessors; renomeie um deles ou remova-o de fields", classElement);
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    // Membros que o DTO gerado declara além dos campos: um campo da entidade com
+    // o mesmo nome não compilaria (dirtyN, METRICS) ou seria sombreado ($hash, $ownedN)
+    private boolean checkReservedNames(TypeElement classElement, GenerateDTO annotation, List<DTOField> fields) {
+        Set<String> reserved = new HashSet<>();
+        if (annotation.immutable()) {
+            reserved.add("$hash");
+        } else {
+            for (int i = 0; i < (fields.size() + 63) / 64; i++) {
+                reserved.add("dirty" + i);
+                reserved.add("$owned" + i);
+            }
+        }
+        if (annotation.mappingMetrics()) {
+            reserved.add("METRICS");
+        }
+        boolean valid = true;
+        for (DTOField field : fields) {
+            if (reserved.contains(field.dtoFieldName())) {
+                error("Campo '" + field.dtoFieldName() + "' tem o nome de um membro gerado no DTO; "
+                        + "renomeie-o ou remova-o de fields", classElement);
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private void gerarGetterESetters(Writer w, DTOModel model) throws IOException {
+        // Gera os getters e setters
+        // ========== GETTERS E SETTERS ==========
+        for (DTOField field : model.fields()) {
+            String actualFieldName = field.dtoFieldName();
+            String actualFieldType = field.dtoFieldType();
+            // Getter
+            w.write("    public " + actualFieldType + " " + field.getterName() + "() {\n");
+            w.write("        return " + actualFieldName + ";\n");
+            w.write("    }\n\n");
+            // Setter
+            w.write("    public void " + field.setterName() + "(" + actualFieldType + " " + actualFieldName + ") {\n");
+            w.write("        this." + actualFieldName + " = " + actualFieldName + ";\n");
+            w.write("        " + dirtyWord(model, field) + " |= " + dirtyBit(model, field) + ";\n");
+            if (field.isCollection() || field.isMap()) {
+                w.write("        " + ownedWord(model, field) + " &= ~" + dirtyBit(model, field) + ";\n");
+            }
+            w.write("    }\n\n");
+        }
+    }
+
+    // ========== DTO IMUTÁVEL ==========
+
+    private void gerarConstrutorImutavel(Writer w, DTOModel model) throws IOException {
+        w.write("    public " + model.dtoName() + "(");
+        boolean first = true;
+        for (DTOField field : model.fields()) {
+            if (!first) {
+                w.write(",\n            ");
+            }
+            w.write(field.dtoFieldType() + " " + field.dtoFieldName());
+            first = false;
+        }
+        w.write(") {\n");
+        for (DTOField field : model.fields()) {
+            String name = field.dtoFieldName();
+            String copy = defensiveCopy(field, name);
+            if (copy == null) {
+                w.write("        this." + name + " = " + name + ";\n");
+            } else {
+                w.write("        this." + name + " = " + name + " == null ? null : " + copy + ";\n");
+            }
+        }
+        w.write("    }\n\n");
+    }
+
+    // Cópia congelada de coleções, maps e arrays; null quando o valor pode ser compartilhado
+    private String defensiveCopy(DTOField field, String value) {
+        if (field.isMap()) {
+            return "java.util.Map.copyOf(" + value + ")";
+        }
+        if (field.isCollection()) {
+            return field.collectionType().equals("Set")
+                    ? "java.util.Set.copyOf(" + value + ")"
+                    : "java.util.List.copyOf(" + value + ")";
+        }
+        if (field.isArray()) {
+            return value + ".clone()";
+        }
+        return null;
+    }
+
+    private void gerarGetters(Writer w, DTOModel model) throws IOException {
+        // ========== GETTERS ==========
+        for (DTOField field : model.fields()) {
+            String name = field.dtoFieldName();
+            w.write("    public " + field.dtoFieldType() + " " + field.getterName() + "() {\n");
+            if (field.isArray()) {
+                w.write("        return " + name + " == null ? null : " + name + ".clone();\n");
+            } else {
+                w.write("        return " + name + ";\n");
+            }
+            w.write("    }\n\n");
+        }
+    }
+
+    // Lista de argumentos do construtor imutável, na ordem dos campos
+    private String constructorArguments(DTOModel model) {
+        StringBuilder args = new StringBuilder();
+        for (DTOField field : model.fields()) {
+            if (args.length() > 0) {
+                args.append(", ");
+            }
+            args.append(localName(field));
+        }
+        return args.toString();
+    }
+
+    // Variável local que guarda o valor do campo no from de DTOs imutáveis
+    private String localName(DTOField field) {
+        return field.dtoFieldName() + "Value";
+    }
+
+    // Atribuição do valor do campo: setter no DTO mutável, variável local no imutável
+    private String assign(DTOModel model, DTOField field, String value) {
+        if (model.immutable()) {
+            return localName(field) + (value.startsWith("\n") ? " =" : " = ") + value;
+        }
+        return "dto." + field.setterName() + "(" + value + ")";
+    }
+
+    private void gerarMetodoFrom(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
+        // Com métricas, o from público (gerarMetricas) mede e delega a fromUnmetered
+        String declaration = model.mappingMetrics() ? "    private static " + dtoName + " fromUnmetered("
+                : "    public static " + dtoName + " from(";
+        // ========== MÉTODO FROM ==========
+        w.write(declaration + model.className() + " model) {\n");
+        gerarCorpoFrom(w, model, null);
+        w.write("    }\n");
+
+        if (model.fetchPlan()) {
+            // ========== MÉTODO FROM COM FETCH PLAN ==========
+            w.write("\n" + declaration + model.className() + " model, org.example.FetchPlan plan) {\n");
+            gerarCorpoFrom(w, model, PLAN);
+            w.write("    }\n");
+        }
+
+        if (model.mappingContext()) {
+            gerarFromComContexto(w, model, declaration);
+        }
+    }
+
+    private void gerarFromComContexto(Writer w, DTOModel model, String declaration) throws IOException {
+        String dtoName = model.dtoName();
+        // ========== MÉTODO FROM COM CONTEXTO ==========
+        // Cada entidade é mapeada uma única vez por contexto; o DTO mutável é registrado
+        // antes dos relacionamentos, então ciclos reaproveitam a instância em construção.
+        // O DTO imutável só existe depois dos relacionamentos: compartilha, mas não fecha ciclos.
+        w.write("\n" + declaration + model.className() + " model, org.example.MappingContext context) {\n");
+        w.write("        if (model == null) {\n");
+        w.write("            return null;\n");
+        w.write("        }\n\n");
+        w.write("        " + dtoName + " dto = context.get(model, " + dtoName + ".class);\n");
+        w.write("        if (dto != null) {\n");
+        w.write("            return dto;\n");
+        w.write("        }\n");
+        if (model.immutable()) {
+            w.write("\n");
+            gerarCamposFrom(w, model, "context");
+            w.write("\n        dto = new " + dtoName + "(" + constructorArguments(model) + ");\n");
+            w.write("        context.put(model, dto);\n");
+        } else {
+            w.write("        dto = new " + dtoName + "();\n");
+            w.write("        context.put(model, dto);\n\n");
+            gerarCamposFrom(w, model, "context");
+            w.write("        dto.clearDirty();\n");
+            gerarMarcarContainers(w, model, "dto");
+        }
+        w.write("\n        return dto;\n");
+        w.write("    }\n");
+    }
+
+    private void gerarCorpoFrom(Writer w, DTOModel model, String context) throws IOException {
+        String dtoName = model.dtoName();
+        w.write("        if (model == null) {\n");
+        w.write("            return null;\n");
+        w.write("        }\n\n");
+        if (model.immutable()) {
+            gerarCamposFrom(w, model, context);
+            w.write("\n        return new " + dtoName + "(" + constructorArguments(model) + ");\n");
+        } else {
+            w.write("        " + dtoName + " dto = new " + dtoName + "();\n\n");
+            gerarCamposFrom(w, model, context);
+            // O DTO recém-mapeado começa sem campos alterados
+            w.write("        dto.clearDirty();\n");
+            gerarMarcarContainers(w, model, "dto");
+            w.write("\n        return dto;\n");
+        }
+    }
+
+    // Copia os campos de model para dto; context é null no from(model) simples,
+    // "context" (MappingContext) ou PLAN (FetchPlan) nas sobrecargas
+    private void gerarCamposFrom(Writer w, DTOModel model, String context) throws IOException {
+        if (model.immutable()) {
+            // Relacionamentos começam nulos; campos simples são declarados no switch abaixo
+            for (DTOField field : model.fields()) {
+                if (field.kind() != DTOField.Kind.SIMPLE) {
+                    w.write("        " + field.dtoFieldType() + " " + localName(field) + " = null;\n");
+                }
+            }
+        }
+        for (DTOField field : model.fields()) {
+            String getter = "model." + field.modelGetterName() + "()";
+            switch (field.kind()) {
+                case FLATTEN:
+                    // Relacionamento flatten → extrai o ID
+                    w.write("        if (" + getter + " != null) {\n");
+                    w.write("            " + assign(model, field, getter + "." + field.idAccessor() + "()") + ";\n");
+                    w.write("        }\n");
+                    break;
+                case MAP:
+                    if (model.mappingStyle() == MappingStyle.LOOP) {
+                        gerarFromMapLoop(w, model, field, context);
+                    } else {
+                        gerarFromMap(w, model, field, context);
+                    }
+                    break;
+                case COLLECTION:
+                    if (model.mappingStyle() == MappingStyle.LOOP) {
+                        gerarFromCollectionLoop(w, model, field, context);
+                        break;
+                    }
+                    // Coleção → converte cada elemento
+                    String mapper = context == null
+                            ? field.nestedDTO() + "::from"
+                            : "e -> " + fromCall(field, "e", context);
+                    w.write("        if (" + fromGuard(model, field, context) + ") {\n");
+                    w.write("            " + assign(model, field, getter + ".stream()\n"
+                            + "                .map(" + mapper + ")\n"
+                            + "                .collect(" + streamCollector(field) + ")") + ";\n");
+                    w.write("        }\n");
+                    break;
+                case NESTED:
+                    w.write("        if (" + fromGuard(model, field, context) + ") {\n");
+                    w.write("            " + assign(model, field, fromCall(field, getter, context)) + ";\n");
+                    w.write("        }\n");
+                    break;
+                default:
+                    // Campo simples → copia direto
+                    if (model.immutable()) {
+                        w.write("        " + field.dtoFieldType() + " " + localName(field) + " = " + getter + ";\n");
+                    } else {
+                        w.write("        dto." + field.setterName() + "(" + getter + ");\n");
+                    }
+            }
+        }
+    }
+
+    // Condição para mapear um relacionamento no from: não nulo e, com skipUnloaded,
+    // já carregado (o getter de um relacionamento lazy não inicializado não é chamado)
+    static String relationGuard(DTOModel model, DTOField field) {
+        String notNull = "model." + field.modelGetterName() + "() != null";
+        if (!model.skipUnloaded()) {
+            return notNull;
+        }
+        return "org.example.LoadStates.isLoaded(model, \"" + field.name() + "\") && " + notNull;
+    }
+
+    // No from com FetchPlan, o getter de um relacionamento fora do plano nem é chamado
+    private String fromGuard(DTOModel model, DTOField field, String context) {
+        String guard = relationGuard(model, field);
+        return PLAN.equals(context) ? "plan.includes(\"" + field.name() + "\") && " + guard : guard;
+    }
+
+    // Chamada ao from do DTO aninhado, repassando o contexto ou o plano do relacionamento
+    private String fromCall(DTOField field, String argument, String context) {
+        if (PLAN.equals(context)) {
+            return field.nestedDTO() + ".from(" + argument + ", plan.child(\"" + field.name() + "\"))";
+        }
+        return field.nestedDTO() + ".from(" + argument + (context == null ? "" : ", " + context) + ")";
+    }
+
+    // Sugestão no comentário do flatten no toModel, quando o DTO tem o método que religa
+    private static String flattenHint(DTOModel model) {
+        return model.bulkMapping() ? ", use toModelAllResolving(dtos, resolver)" : "";
+    }
+
+    private void gerarMetodoToModel(Writer w, DTOModel model) throws IOException {
+        String className = model.className();
+        // ========== MÉTODO TOMODEL ==========
+        w.write(model.mappingMetrics() ? "    private " + className + " toModelUnmetered() {\n"
+                : "    public " + className + " toModel() {\n");
+        w.write("        " + className + " model = new " + className + "();\n\n");
+        for (DTOField field : model.fields()) {
+            gerarCampoToModel(w, model, field, "model", "");
+        }
+        w.write("\n        return model;\n");
+        w.write("    }\n\n");
+    }
+
+    // ========== MÉTRICAS ==========
+
+    // from/toModel públicos que informam o MappingListener; com METRICS desligado
+    // (static final) o JIT reduz cada um a uma chamada ao método sem métricas
+    private void gerarMetricas(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
+        String className = model.className();
+
+        w.write("\n    private static final boolean METRICS = org.example.MappingMetrics.ENABLED;\n\n");
+
+        w.write("    public static " + dtoName + " from(" + className + " model) {\n");
+        gerarChamadaMedida(w, model, "FROM", "fromUnmetered(model)", "model == null");
+        w.write("    }\n\n");
+
+        if (model.mappingContext()) {
+            w.write("    public static " + dtoName + " from(" + className
+                    + " model, org.example.MappingContext context) {\n");
+            gerarChamadaMedida(w, model, "FROM", "fromUnmetered(model, context)", "model == null");
+            w.write("    }\n\n");
+        }
+
+        if (model.fetchPlan()) {
+            w.write("    public static " + dtoName + " from(" + className + " model, org.example.FetchPlan plan) {\n");
+            gerarChamadaMedida(w, model, "FROM", "fromUnmetered(model, plan)", "model == null");
+            w.write("    }\n\n");
+        }
+
+        w.write("    public " + className + " toModel() {\n");
+        gerarChamadaMedida(w, model, "TO_MODEL", "toModelUnmetered()", null);
+        w.write("    }\n\n");
+
+        // Tamanho das coleções, maps e arrays do DTO, antes do evento da chamada
+        w.write("    private static void metricsCollections(" + dtoName + " dto, "
+                + "org.example.MappingListener.Operation operation) {\n");
+        for (DTOField field : model.fields()) {
+            String size;
+            if (field.isCollection() || field.isMap() || field.isSimpleContainer()) {
+                size = ".size()";
+            } else if (field.isArray()) {
+                size = ".length";
+            } else {
+                continue;
+            }
+            String value = "dto." + field.dtoFieldName();
+            w.write("        if (" + value + " != null) {\n");
+            w.write("            org.example.MappingMetrics.collection(" + dtoName + ".class, operation, \""
+                    + field.dtoFieldName() + "\", " + value + size + ");\n");
+            w.write("        }\n");
+        }
+        w.write("    }\n");
+    }
+
+    private void gerarChamadaMedida(Writer w,
+                                    DTOModel model,
+                                    String operation,
+                                    String call,
+                                    String skip) throws IOException {
+        String type = operation.equals("FROM") ? model.dtoName() : model.className();
+        w.write("        if (!METRICS" + (skip != null ? " || " + skip : "") + ") {\n");
+        w.write("            return " + call + ";\n");
+        w.write("        }\n");
+        w.write("        int depth = org.example.MappingMetrics.enter();\n");
+        w.write("        long start = System.nanoTime();\n");
+        w.write("        try {\n");
+        w.write("            " + type + " result = " + call + ";\n");
+        w.write("            metricsCollections(" + (operation.equals("FROM") ? "result" : "this")
+                + ", org.example.MappingListener.Operation." + operation + ");\n");
+        w.write("            return result;\n");
+        w.write("        } finally {\n");
+        w.write("            org.example.MappingMetrics.exit(" + model.dtoName()
+                + ".class, org.example.MappingListener.Operation." + operation + ", start, depth);\n");
+        w.write("        }\n");
+    }
+
+    // ========== PREENCHIMENTO NO LUGAR ==========
+
+    private void gerarMetodoFromInto(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
+        // Sobrescreve todos os campos de target (ou de um DTO novo, se target é null),
+        // reaproveitando os DTOs aninhados e as listas, sets e maps que o próprio target
+        // criou em um from/fromInto anterior. Containers passados a um setter (ou
+        // compartilhados com um XxxDTOBatch) são substituídos, nunca alterados; já os
+        // obtidos por um getter de target são os do DTO e mudam junto com ele
+        w.write("\n    public static " + dtoName + " fromInto(" + model.className() + " model, "
+                + dtoName + " target) {\n");
+        w.write("        if (model == null) {\n");
+        w.write("            return null;\n");
+        w.write("        }\n");
+        w.write("        if (target == null) {\n");
+        w.write("            target = new " + dtoName + "();\n");
+        w.write("        }\n\n");
+        for (DTOField field : model.fields()) {
+            String getter = "model." + field.modelGetterName() + "()";
+            String setter = "target." + field.setterName();
+            switch (field.kind()) {
+                case SIMPLE:
+                    w.write("        " + setter + "(" + getter + ");\n");
+                    break;
+                case FLATTEN:
+                    w.write("        " + setter + "(" + getter + " != null ? " + getter + "."
+                            + field.idAccessor() + "() : null);\n");
+                    break;
+                default:
+                    // DTO aninhado imutável não pode ser preenchido: é criado com from
+                    String nested = field.nestedDTO();
+                    Function<String, String> fresh = e -> nested + ".from(" + e + ")";
+                    BiFunction<String, String, String> into = field.nestedFillable()
+                            ? (e, existing) -> nested + ".fromInto(" + e + ", " + existing + ")"
+                            : (e, existing) -> fresh.apply(e);
+                    w.write("        if (" + relationGuard(model, field) + ") {\n");
+                    if (field.isNested()) {
+                        w.write("            " + setter + "(" + into.apply(getter, "target." + field.dtoFieldName()) + ");\n");
+                    } else {
+                        w.write("            " + field.typeName() + " source = " + getter + ";\n");
+                        w.write("            " + field.dtoFieldType() + " current = (target." + ownedWord(model, field)
+                                + " & " + dirtyBit(model, field) + ") != 0 ? target." + field.dtoFieldName() + " : null;\n");
+                        gerarPreencherContainer(w, field, field.elementType(), nested, setter, fresh, into, false);
                     }
+                    w.write("        } else {\n");
+                    w.write("            " + setter + "(null);\n");
+                    w.write("        }\n");
+            }
+        }
+        w.write("        target.clearDirty();\n");
+        gerarMarcarContainers(w, model, "target");
+        w.write("\n        return target;\n");
+        w.write("    }\n");
+    }
 
-                    w.write("\n");
+    private void gerarMetodoToModelInto(Writer w, DTOModel model) throws IOException {
+        String className = model.className();
+        // Mesmo contrato do fromInto, no sentido contrário: sobrescreve target em vez de
+        // criar a entidade (relacionamentos flatten de target ficam como estão)
+        w.write("    public " + className + " toModelInto(" + className + " target) {\n");
+        w.write("        if (target == null) {\n");
+        w.write("            return toModel();\n");
+        w.write("        }\n\n");
+        Function<String, String> fresh = e -> e + " != null ? " + e + ".toModel() : null";
+        BiFunction<String, String, String> into = (e, existing) -> e + " != null ? " + e + ".toModelInto(" + existing + ") : null";
+        for (DTOField field : model.fields()) {
+            String fieldName = field.name();
+            String setter = "target." + field.modelSetterName();
+            switch (field.kind()) {
+                case SIMPLE:
+                    w.write("        " + setter + "(this." + fieldName + ");\n");
+                    break;
+                case FLATTEN:
+                    w.write("        // " + fieldName + " (flatten): só o ID é conhecido" + flattenHint(model) + "\n");
+                    break;
+                case NESTED:
+                    w.write("        " + setter + "(" + into.apply("this." + fieldName,
+                            "target." + field.modelGetterName() + "()") + ");\n");
+                    break;
+                default:
+                    w.write("        if (this." + fieldName + " != null) {\n");
+                    w.write("            " + field.dtoFieldType() + " source = this." + fieldName + ";\n");
+                    w.write("            " + field.typeName() + " current = target." + field.modelGetterName() + "();\n");
+                    gerarPreencherContainer(w, field, field.nestedDTO(), field.elementType(), setter, fresh, into, false);
+                    w.write("        } else {\n");
+                    w.write("            " + setter + "(null);\n");
+                    w.write("        }\n");
+            }
+        }
+        w.write("\n        return target;\n");
+        w.write("    }\n\n");
+    }
+
+    // Preenche o container de destino a partir de source, reaproveitando current quando ele é
+    // da implementação padrão (ArrayList, HashSet, HashMap) ou, com inPlace (applyTo), sempre
+    // que existe: a coleção de uma entidade gerenciada (ex: PersistentBag) é alterada no lugar,
+    // não substituída. Listas reaproveitam os elementos por posição e maps por chave; sets e
+    // Collection só o container, porque o hash de um elemento muda ao ser preenchido.
+    private void gerarPreencherContainer(Writer w,
+                                         DTOField field,
+                                         String sourceElement,
+                                         String targetElement,
+                                         String setter,
+                                         Function<String, String> fresh,
+                                         BiFunction<String, String, String> into,
+                                         boolean inPlace) throws IOException {
+        // Com inPlace, o setter só é chamado quando target não tinha container
+        String store = inPlace ? "            if (%1$s != current) {\n                " + setter + "(%1$s);\n            }\n"
+                : "            " + setter + "(%1$s);\n";
+        if (field.isMap()) {
+            String targetType = "java.util.Map<" + field.mapKeyType() + ", " + targetElement + ">";
+            w.write("            " + targetType + " map = " + (inPlace ? "current != null" : "current instanceof java.util.HashMap") + "\n");
+            w.write("                    ? current\n");
+            w.write("                    : new java.util.HashMap<>(" + initialCapacity(field, "source") + ");\n");
+            w.write("            map.keySet().retainAll(source.keySet());\n");
+            w.write("            for (java.util.Map.Entry<" + field.mapKeyType() + ", " + sourceElement
+                    + "> e : source.entrySet()) {\n");
+            w.write("                map.put(e.getKey(), " + into.apply("e.getValue()", "map.get(e.getKey())") + ");\n");
+            w.write("            }\n");
+            w.write(String.format(store, "map"));
+        } else if (field.collectionType().equals("Set") || inPlace && field.collectionType().equals("Collection")) {
+            String type = "java.util." + field.collectionType() + "<" + targetElement + ">";
+            w.write("            " + type + " set = " + (inPlace ? "current != null" : "current instanceof java.util.HashSet") + "\n");
+            w.write("                    ? current\n");
+            w.write("                    : new java.util.LinkedHashSet<>(" + initialCapacity(field, "source") + ");\n");
+            w.write("            set.clear();\n");
+            w.write("            for (" + sourceElement + " e : source) {\n");
+            w.write("                set.add(" + fresh.apply("e") + ");\n");
+            w.write("            }\n");
+            w.write(String.format(store, "set"));
+        } else if (inPlace) {
+            // ListIterator: a lista da entidade pode ser ligada (LinkedList), sem get(i) barato
+            w.write("            java.util.List<" + targetElement + "> list = current != null\n");
+            w.write("                    ? current\n");
+            w.write("                    : new java.util.ArrayList<>(source.size());\n");
+            w.write("            java.util.ListIterator<" + targetElement + "> it = list.listIterator();\n");
+            w.write("            for (" + sourceElement + " e : source) {\n");
+            w.write("                if (it.hasNext()) {\n");
+            w.write("                    " + targetElement + " old = it.next();\n");
+            w.write("                    it.set(" + into.apply("e", "old") + ");\n");
+            w.write("                } else {\n");
+            w.write("                    it.add(" + fresh.apply("e") + ");\n");
+            w.write("                }\n");
+            w.write("            }\n");
+            w.write("            while (it.hasNext()) {\n");
+            w.write("                it.next();\n");
+            w.write("                it.remove();\n");
+            w.write("            }\n");
+            w.write(String.format(store, "list"));
+        } else {
+            String listType = "java.util.ArrayList<" + targetElement + ">";
+            w.write("            " + listType + " list = current instanceof java.util.ArrayList\n");
+            w.write("                    ? (" + listType + ") current\n");
+            w.write("                    : new java.util.ArrayList<>(source.size());\n");
+            w.write("            int size = list.size();\n");
+            w.write("            int i = 0;\n");
+            w.write("            for (" + sourceElement + " e : source) {\n");
+            w.write("                if (i < size) {\n");
+            w.write("                    list.set(i, " + into.apply("e", "list.get(i)") + ");\n");
+            w.write("                } else {\n");
+            w.write("                    list.add(" + fresh.apply("e") + ");\n");
+            w.write("                }\n");
+            w.write("                i++;\n");
+            w.write("            }\n");
+            w.write("            while (list.size() > i) {\n");
+            w.write("                list.remove(list.size() - 1);\n");
+            w.write("            }\n");
+            w.write(String.format(store, "list"));
+        }
+    }
 
-                    gerarGetterESetters(w, classElement, selectedFields, flattenRelations, nestedDTOMap);
+    // Copia o campo do DTO para target; guard é prefixado à condição dos relacionamentos
+    private void gerarCampoToModel(Writer w,
+                                   DTOModel model,
+                                   DTOField field,
+                                   String target,
+                                   String guard) throws IOException {
+        String fieldName = field.name();
+        String setter = target + "." + field.modelSetterName();
+        switch (field.kind()) {
+            case FLATTEN:
+                // Relacionamento flatten → ignora (só temos o ID)
+                w.write("        // " + fieldName + " (flatten): só o ID é conhecido" + flattenHint(model) + "\n");
+                break;
+            case MAP:
+                if (model.mappingStyle() == MappingStyle.LOOP) {
+                    gerarToModelMapLoop(w, field, target, guard);
+                } else {
+                    gerarToModelMap(w, field, target, guard);
+                }
+                break;
+            case COLLECTION:
+                if (model.mappingStyle() == MappingStyle.LOOP) {
+                    gerarToModelCollectionLoop(w, field, target, guard);
+                    break;
+                }
+                // Coleção → converte cada elemento
+                w.write("        if (" + guard + "this." + fieldName + " != null) {\n");
+                w.write("            " + setter + "(\n");
+                w.write("                this." + fieldName + ".stream()\n");
+                w.write("                    .map(e -> e.toModel())\n");
+                w.write("                    .collect(" + streamCollector(field) + ")\n");
+                w.write("            );\n");
+                w.write("        }\n");
+                break;
+            case NESTED:
+                w.write("        if (" + guard + "this." + fieldName + " != null) {\n");
+                w.write("            " + setter + "(this." + fieldName + ".toModel());\n");
+                w.write("        }\n");
+                break;
+            default:
+                // Campo simples → copia direto
+                w.write("        " + setter + "(this." + fieldName + ");\n");
+        }
+    }
 
-                    gerarMetodoFrom(w, className, classElement, selectedFields, flattenRelations, nestedDTOMap, dtoName);
+    // ========== RASTREAMENTO DE CAMPOS ALTERADOS ==========
 
-                    gerarMetodoToModel(w, className, classElement, selectedFields, flattenRelations, nestedDTOMap);
+    // Bit do campo no bitset de alterados: dirtyN guarda os campos 64*N a 64*N+63
+    private String dirtyWord(DTOModel model, DTOField field) {
+        return "dirty" + model.fields().indexOf(field) / 64;
+    }
 
-                    gerarMetodoToString(w, classElement, selectedFields, flattenRelations, dtoName, nestedDTOMap);
+    private String dirtyBit(DTOModel model, DTOField field) {
+        return "0x" + Long.toHexString(1L << (model.fields().indexOf(field) % 64)) + "L";
+    }
 
-                    gerarEqualsHashCode(w, classElement, selectedFields, flattenRelations, dtoName);
+    // $ownedN usa o mesmo bit do campo que dirtyN
+    private String ownedWord(DTOModel model, DTOField field) {
+        return "$owned" + model.fields().indexOf(field) / 64;
+    }
 
-                    w.write("}\n");
-                }
-                System.out.println("✅ GERADO: " + packageName + "." + dtoName);
-            } catch (Exception e) {
-                e.printStackTrace();
+    // Máscara de $ownedN por palavra: os bits das listas, sets e maps
+    private Map<Integer, Long> ownedWords(DTOModel model) {
+        Map<Integer, Long> words = new TreeMap<>();
+        for (int i = 0; i < model.fields().size(); i++) {
+            DTOField field = model.fields().get(i);
+            if (field.isCollection() || field.isMap()) {
+                words.merge(i / 64, 1L << (i % 64), (a, b) -> a | b);
             }
         }
-        return true;
+        return words;
     }
 
-    private void gerarGetterESetters(Writer w,
-                                     TypeElement classElement,
-                                     String[] selectedFields,
-                                     String[] flattenRelations,
-                                     Map<String, String> nestedDTOMap) throws IOException {
-        // Gera os getters e setters
-        // ========== GETTERS E SETTERS ==========
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() == ElementKind.FIELD) {
-                VariableElement field = (VariableElement) enclosedElement;
-                String fieldName = field.getSimpleName().toString();
-                if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                    TypeMirror fieldType = field.asType();
-                    String fieldTypeString = fieldType.toString();
-                    String actualFieldName = fieldName;
-                    String actualFieldType = fieldTypeString;
-                    if (contains(flattenRelations, fieldName)) {
-                        actualFieldName = fieldName + "Id";
-                        actualFieldType = "Long";
-                    } else {
-                        String dtoType = resolveNestedDTO(fieldName, fieldType, nestedDTOMap);
+    // Depois de um from/fromInto, os containers de target foram criados por ele
+    private void gerarMarcarContainers(Writer w, DTOModel model, String target) throws IOException {
+        for (Map.Entry<Integer, Long> word : ownedWords(model).entrySet()) {
+            w.write("        " + target + ".$owned" + word.getKey() + " = 0x" + Long.toHexString(word.getValue()) + "L;\n");
+        }
+    }
 
-                        if (contains(flattenRelations, fieldName)) {
-                            actualFieldName = fieldName + "Id";
-                            actualFieldType = "Long";
-                        }
-                        else if (dtoType != null) {
-                            if (isMap(fieldType)) {
-                                String[] generics = getMapGenericTypes(fieldType);
-                                String keyType = getSimpleTypeName(generics[0]);
-                                actualFieldType = "java.util.Map<" + keyType + ", " + dtoType + ">";
-                            }
-                            else if (isCollection(fieldType)) {
-                                String collectionType = getCollectionType(fieldType);
-                                actualFieldType = collectionType + "<" + dtoType + ">";
-                            }
-                            else {
-                                actualFieldType = dtoType;
-                            }
-                        }
-                    }
-                    String capitalizedFieldName = actualFieldName.substring(0, 1).toUpperCase()
-                            + actualFieldName.substring(1);
-                    // Getter
-                    w.write("    public " + actualFieldType + " get" + capitalizedFieldName + "() {\n");
-                    w.write("        return " + actualFieldName + ";\n");
-                    w.write("    }\n\n");
-                    // Setter
-                    w.write("    public void set" + capitalizedFieldName + "(" + actualFieldType + " " + actualFieldName + ") {\n");
-                    w.write("        this." + actualFieldName + " = " + actualFieldName + ";\n");
-                    w.write("    }\n\n");
-                }
+    private String isDirty(DTOModel model, DTOField field) {
+        return "(" + dirtyWord(model, field) + " & " + dirtyBit(model, field) + ") != 0";
+    }
+
+    private void gerarApplyTo(Writer w, DTOModel model) throws IOException {
+        int words = (model.fields().size() + 63) / 64;
+        boolean flatten = model.fields().stream().anyMatch(DTOField::isFlatten);
+        String className = model.className();
+
+        // Só os campos alterados desde o from/clearDirty são copiados: um UPDATE de
+        // entidade gerenciada toca apenas essas colunas
+        w.write("    /**\n");
+        w.write("     * Copia para {@code existing} os campos alterados por setters desde o\n");
+        w.write("     * {@code from}/{@code clearDirty}. Relacionamentos alterados atualizam as\n");
+        w.write("     * entidades e coleções que {@code existing} já tem, com {@code toModelInto}:\n");
+        w.write("     * listas por posição, maps por chave e sets recriando os elementos.\n");
+        w.write("     * <p>\n");
+        w.write("     * Alterar um DTO aninhado (ou um elemento de coleção) não marca este DTO:\n");
+        w.write("     * chame {@code applyTo} no DTO aninhado, ou o setter do relacionamento aqui.\n");
+        if (flatten) {
+            w.write("     * Um ID de relacionamento flatten alterado exige\n");
+            w.write("     * {@link #applyTo(" + className + ", org.example.IdResolver)}.\n");
+        }
+        w.write("     */\n");
+        w.write("    public void applyTo(" + className + " existing) {\n");
+        if (flatten) {
+            w.write("        applyTo(existing, null);\n");
+            w.write("    }\n\n");
+            w.write("    /**\n");
+            w.write("     * Como {@link #applyTo(" + className + ")}, carregando com {@code resolver} a\n");
+            w.write("     * entidade de cada relacionamento flatten cujo ID mudou.\n");
+            w.write("     *\n");
+            w.write("     * @throws IllegalStateException se um ID mudou e {@code resolver} é null ou não o encontra\n");
+            w.write("     */\n");
+            w.write("    public void applyTo(" + className + " existing, org.example.IdResolver resolver) {\n");
+        }
+        Function<String, String> fresh = e -> e + " != null ? " + e + ".toModel() : null";
+        BiFunction<String, String, String> into = (e, existing) -> e + " != null ? " + e + ".toModelInto(" + existing + ") : null";
+        for (DTOField field : model.fields()) {
+            String dirty = isDirty(model, field);
+            String fieldName = field.name();
+            String setter = "existing." + field.modelSetterName();
+            String getter = "existing." + field.modelGetterName() + "()";
+            switch (field.kind()) {
+                case SIMPLE:
+                    w.write("        if (" + dirty + ") {\n");
+                    w.write("            " + setter + "(this." + fieldName + ");\n");
+                    w.write("        }\n");
+                    break;
+                case FLATTEN:
+                    gerarApplyToFlatten(w, field, dirty);
+                    break;
+                case NESTED:
+                    w.write("        if (" + dirty + ") {\n");
+                    w.write("            " + setter + "(" + into.apply("this." + fieldName, getter) + ");\n");
+                    w.write("        }\n");
+                    break;
+                default:
+                    w.write("        if (" + dirty + " && this." + fieldName + " != null) {\n");
+                    w.write("            " + field.dtoFieldType() + " source = this." + fieldName + ";\n");
+                    w.write("            " + field.typeName() + " current = " + getter + ";\n");
+                    gerarPreencherContainer(w, field, field.nestedDTO(), field.elementType(), setter, fresh, into, true);
+                    w.write("        } else if (" + dirty + ") {\n");
+                    w.write("            " + setter + "(null);\n");
+                    w.write("        }\n");
             }
         }
+        w.write("    }\n\n");
+
+        w.write("    public java.util.Set<String> dirtyFields() {\n");
+        w.write("        java.util.Set<String> fields = new java.util.LinkedHashSet<>();\n");
+        for (DTOField field : model.fields()) {
+            w.write("        if (" + isDirty(model, field) + ") {\n");
+            w.write("            fields.add(\"" + field.dtoFieldName() + "\");\n");
+            w.write("        }\n");
+        }
+        w.write("        return java.util.Collections.unmodifiableSet(fields);\n");
+        w.write("    }\n\n");
+
+        w.write("    public void clearDirty() {\n");
+        for (int i = 0; i < words; i++) {
+            w.write("        dirty" + i + " = 0L;\n");
+        }
+        w.write("    }\n\n");
     }
 
-    private void gerarMetodoFrom(Writer w,
-                                 String className,
-                                 TypeElement classElement,
-                                 String[] selectedFields,
-                                 String[] flattenRelations,
-                                 Map<String, String> nestedDTOMap,
-                                 String dtoName
-    ) throws IOException {
-        // ========== MÉTODO FROM ==========
-        w.write("    public static " + dtoName + " from(" + className + " model) {\n");
-        w.write("        if (model == null) {\n");
+    // ID flatten alterado: mantém a entidade atual se o ID é o dela, anula com ID null e,
+    // nos demais casos, carrega a nova pelo IdResolver em vez de ignorar a alteração
+    private void gerarApplyToFlatten(Writer w, DTOField field, String dirty) throws IOException {
+        String id = "this." + field.dtoFieldName();
+        String entity = field.elementType();
+        String entityName = entity.substring(entity.lastIndexOf('.') + 1);
+        w.write("        if (" + dirty + ") {\n");
+        w.write("            " + entity + " current = existing." + field.modelGetterName() + "();\n");
+        w.write("            if (" + id + " == null) {\n");
+        w.write("                existing." + field.modelSetterName() + "(null);\n");
+        w.write("            } else if (current == null || !" + id + ".equals(current." + field.idAccessor() + "())) {\n");
+        w.write("                " + entity + " loaded = resolver != null\n");
+        w.write("                        ? resolver.loadAll(" + entity + ".class, java.util.Collections.singleton(" + id + ")).get(" + id + ")\n");
+        w.write("                        : null;\n");
+        w.write("                if (loaded == null) {\n");
+        w.write("                    throw new IllegalStateException(\"" + field.dtoFieldName() + " = \" + " + id + " + (resolver == null\n");
+        w.write("                            ? \": use applyTo(existing, resolver) para carregar " + entityName + "\"\n");
+        w.write("                            : \": " + entityName + " não encontrado\"));\n");
+        w.write("                }\n");
+        w.write("                existing." + field.modelSetterName() + "(loaded);\n");
+        w.write("            }\n");
+        w.write("        }\n");
+    }
+
+    private void gerarMetodosEmLote(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
+        String className = model.className();
+        // ========== MAPEAMENTO EM LOTE ==========
+        // Abaixo do limite: laço local (chamada monomórfica); acima: BulkMapping em paralelo
+        w.write("    public static java.util.List<" + dtoName + "> fromAll(java.util.Collection<? extends "
+                + className + "> models) {\n");
+        w.write("        return fromAll(models, null);\n");
+        w.write("    }\n\n");
+
+        w.write("    public static java.util.List<" + dtoName + "> fromAll(java.util.Collection<? extends "
+                + className + "> models, java.util.concurrent.Executor executor) {\n");
+        w.write("        if (models == null) {\n");
+        w.write("            return null;\n");
+        w.write("        }\n");
+        w.write("        if (models.size() < org.example.BulkMapping.PARALLEL_THRESHOLD) {\n");
+        w.write("            java.util.List<" + dtoName + "> result = new java.util.ArrayList<>(models.size());\n");
+        w.write("            for (" + className + " model : models) {\n");
+        w.write("                result.add(from(model));\n");
+        w.write("            }\n");
+        w.write("            return result;\n");
+        w.write("        }\n");
+        w.write("        return org.example.BulkMapping.mapAll(models, " + dtoName + "::from, executor);\n");
+        w.write("    }\n\n");
+
+        w.write("    public static java.util.List<" + className + "> toModelAll(java.util.Collection<? extends "
+                + dtoName + "> dtos) {\n");
+        w.write("        return toModelAll(dtos, (java.util.concurrent.Executor) null);\n");
+        w.write("    }\n\n");
+
+        w.write("    public static java.util.List<" + className + "> toModelAll(java.util.Collection<? extends "
+                + dtoName + "> dtos, java.util.concurrent.Executor executor) {\n");
+        w.write("        if (dtos == null) {\n");
         w.write("            return null;\n");
+        w.write("        }\n");
+        w.write("        if (dtos.size() < org.example.BulkMapping.PARALLEL_THRESHOLD) {\n");
+        w.write("            java.util.List<" + className + "> result = new java.util.ArrayList<>(dtos.size());\n");
+        w.write("            for (" + dtoName + " dto : dtos) {\n");
+        w.write("                result.add(dto != null ? dto.toModel() : null);\n");
+        w.write("            }\n");
+        w.write("            return result;\n");
+        w.write("        }\n");
+        w.write("        return org.example.BulkMapping.mapAll(dtos, dto -> dto != null ? dto.toModel() : null, executor);\n");
+        w.write("    }\n\n");
+
+        gerarToModelAllComResolver(w, model);
+    }
+
+    // toModelAll que também religa os relacionamentos flatten: os IDs do lote inteiro são
+    // reunidos por tipo de entidade e cada tipo é carregado com um único IdResolver.loadAll.
+    // Nome próprio (e não um overload de toModelAll) porque o Executor também aceita lambdas
+    private void gerarToModelAllComResolver(Writer w, DTOModel model) throws IOException {
+        Map<String, List<DTOField>> byEntity = new LinkedHashMap<>();
+        for (DTOField field : model.fields()) {
+            if (field.isFlatten()) {
+                byEntity.computeIfAbsent(field.elementType(), k -> new ArrayList<>()).add(field);
+            }
+        }
+        if (byEntity.isEmpty()) {
+            return;
+        }
+
+        String dtoName = model.dtoName();
+        String className = model.className();
+        w.write("    public static java.util.List<" + className + "> toModelAllResolving(java.util.Collection<? extends "
+                + dtoName + "> dtos, org.example.IdResolver resolver) {\n");
+        w.write("        java.util.List<" + className + "> models = toModelAll(dtos);\n");
+        w.write("        if (models == null || models.isEmpty()) {\n");
+        w.write("            return models;\n");
         w.write("        }\n\n");
-        w.write("        " + dtoName + " dto = new " + dtoName + "();\n\n");
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() == ElementKind.FIELD) {
-                VariableElement field = (VariableElement) enclosedElement;
-                String fieldName = field.getSimpleName().toString();
-                if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                    TypeMirror fieldType = field.asType();
-                    String capitalizedFieldName = fieldName.substring(0, 1).toUpperCase()
-                            + fieldName.substring(1);
-                    if (contains(flattenRelations, fieldName)) {
-                        // Relacionamento flatten → extrai o ID
-                        w.write("        if (model.get" + capitalizedFieldName + "() != null) {\n");
-                        w.write("            dto.set" + capitalizedFieldName + "Id(model.get" + capitalizedFieldName + "().getId());\n");
-                        w.write("        }\n");
-                    } else {
-                        String nestedDTOType = resolveNestedDTO(fieldName, fieldType, nestedDTOMap);
-
-                        if (nestedDTOType != null) {
-                            if (isMap(fieldType)) {
-                                gerarFromMap(w, fieldName, capitalizedFieldName, nestedDTOType);
-                            }
-                            else if (isCollection(fieldType)) {
-                                // código existente
-                                // Coleção → converte cada elemento
-                                w.write("        if (model.get" + capitalizedFieldName + "() != null) {\n");
-                                w.write("            dto.set" + capitalizedFieldName + "(model.get" + capitalizedFieldName + "().stream()\n");
-                                w.write("                .map(" + nestedDTOType + "::from)\n");
-                                w.write("                .collect(java.util.stream.Collectors.toList()));\n");
-                                w.write("        }\n");
-                            }
-                            else {
-                                w.write("        if (model.get" + capitalizedFieldName + "() != null) {\n");
-                                w.write("            dto.set" + capitalizedFieldName + "(" + nestedDTOType + ".from(model.get" + capitalizedFieldName + "()));\n");
-                                w.write("        }\n");
-                            }
-                        }
-                        else {
-                            // Campo simples → copia direto
-                            w.write("        dto.set" + capitalizedFieldName + "(model.get" + capitalizedFieldName + "());\n");
-                        }
-                    }
-                }
+
+        // Todos os campos de uma entidade usam o mesmo flattenIdAccessor, logo o mesmo tipo de ID
+        int index = 0;
+        for (List<DTOField> fields : byEntity.values()) {
+            w.write("        java.util.Set<" + fields.get(0).dtoFieldType() + "> ids" + index
+                    + " = new java.util.HashSet<>();\n");
+            index++;
+        }
+        w.write("        for (" + dtoName + " dto : dtos) {\n");
+        w.write("            if (dto == null) {\n");
+        w.write("                continue;\n");
+        w.write("            }\n");
+        index = 0;
+        for (List<DTOField> fields : byEntity.values()) {
+            for (DTOField field : fields) {
+                w.write("            if (dto." + field.dtoFieldName() + " != null) {\n");
+                w.write("                ids" + index + ".add(dto." + field.dtoFieldName() + ");\n");
+                w.write("            }\n");
             }
+            index++;
         }
-        w.write("\n        return dto;\n");
-        w.write("    }\n");
-    }
+        w.write("        }\n\n");
 
-    private void gerarMetodoToModel(
-            Writer w,
-            String className,
-            TypeElement classElement,
-            String[] selectedFields,
-            String[] flattenRelations,
-            Map<String, String> nestedDTOMap
-    ) throws IOException {
-        // ========== MÉTODO TOMODEL ==========
-        w.write("    public " + className + " toModel() {\n");
-        w.write("        " + className + " model = new " + className + "();\n\n");
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() == ElementKind.FIELD) {
-                VariableElement field = (VariableElement) enclosedElement;
-                String fieldName = field.getSimpleName().toString();
-                if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                    TypeMirror fieldType = field.asType();
-                    String capitalizedFieldName = fieldName.substring(0, 1).toUpperCase()
-                            + fieldName.substring(1);
-                    if (contains(flattenRelations, fieldName)) {
-                        // Relacionamento flatten → ignora (só temos o ID)
-                        w.write("        // " + fieldName + " (flatten) não pode ser reconstruído apenas com ID\n");
-                    } else {
+        index = 0;
+        for (Map.Entry<String, List<DTOField>> entry : byEntity.entrySet()) {
+            String entity = entry.getKey();
+            w.write("        java.util.Map<" + entry.getValue().get(0).dtoFieldType() + ", " + entity + "> loaded" + index
+                    + " = ids" + index + ".isEmpty()\n");
+            w.write("                ? java.util.Collections.emptyMap()\n");
+            w.write("                : resolver.loadAll(" + entity + ".class, ids" + index + ");\n");
+            index++;
+        }
 
-                        String nestedDTOType = resolveNestedDTO(fieldName, fieldType, nestedDTOMap);
-
-                        if (nestedDTOType != null) {
-                            if (isMap(fieldType)) {
-                                gerarToModelMap(w, fieldName, capitalizedFieldName);
-                            }
-                            else if (isCollection(fieldType)) {
-                                // existente
-                                // Coleção → converte cada elemento
-                                w.write("        if (this." + fieldName + " != null) {\n");
-                                w.write("            model.set" + capitalizedFieldName + "(\n");
-                                w.write("                this." + fieldName + ".stream()\n");
-                                w.write("                    .map(e -> e.toModel())\n");
-                                w.write("                    .collect(java.util.stream.Collectors.toList())\n");
-                                w.write("            );\n");
-                                w.write("        }\n");
-                            }
-                            else {
-                                w.write("        if (this." + fieldName + " != null) {\n");
-                                w.write("            model.set" + capitalizedFieldName + "(this." + fieldName + ".toModel());\n");
-                                w.write("        }\n");
-                            }
-                        } else {
-                            // Campo simples → copia direto
-                            w.write("        model.set" + capitalizedFieldName + "(this." + fieldName + ");\n");
-                        }
-                    }
-                }
+        w.write("\n        java.util.Iterator<" + className + "> target = models.iterator();\n");
+        w.write("        for (" + dtoName + " dto : dtos) {\n");
+        w.write("            " + className + " model = target.next();\n");
+        w.write("            if (dto == null) {\n");
+        w.write("                continue;\n");
+        w.write("            }\n");
+        index = 0;
+        for (Map.Entry<String, List<DTOField>> entry : byEntity.entrySet()) {
+            for (DTOField field : entry.getValue()) {
+                w.write("            if (dto." + field.dtoFieldName() + " != null) {\n");
+                w.write("                model." + field.modelSetterName() + "(loaded" + index
+                        + ".get(dto." + field.dtoFieldName() + "));\n");
+                w.write("            }\n");
             }
+            index++;
         }
-        w.write("\n        return model;\n");
+        w.write("        }\n");
+        w.write("        return models;\n");
         w.write("    }\n\n");
     }
 
-    private void gerarMetodoToString(Writer w,
-                                     TypeElement classElement,
-                                     String[] selectedFields,
-                                     String[] flattenRelations,
-                                     String dtoName,
-                                     Map<String, String> nestedDTOMap
-    ) throws IOException {
+    private void gerarMetodoToString(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
         // ========== MÉTODO TOSTRING ==========
+        // Um único StringBuilder, dimensionado pela estimativa, compartilhado com os DTOs aninhados
         w.write("    @Override\n");
         w.write("    public String toString() {\n");
-        w.write("        return \"" + dtoName + "{\" +\n");
+        w.write("        return appendTo(new StringBuilder(" + estimateToStringCapacity(model) + "), 0).toString();\n");
+        w.write("    }\n\n");
+
+        w.write("    public StringBuilder appendTo(StringBuilder sb) {\n");
+        w.write("        return appendTo(sb, 0);\n");
+        w.write("    }\n\n");
+
+        w.write("    public StringBuilder appendTo(StringBuilder sb, int depth) {\n");
+        if (model.toStringMaxDepth() >= 0) {
+            w.write("        if (depth > " + model.toStringMaxDepth() + ") {\n");
+            w.write("            return sb.append(\"" + dtoName + "{\\u2026}\");\n");
+            w.write("        }\n");
+        }
+        w.write("        sb.append(\"" + dtoName + "{\");\n");
 
+        // Campos sempre lidos com this.: um campo chamado sb, depth, i ou e não é
+        // confundido com o parâmetro ou as variáveis dos laços
         boolean first = true;
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() == ElementKind.FIELD) {
-                VariableElement field = (VariableElement) enclosedElement;
-                String fieldName = field.getSimpleName().toString();
-                if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                    String actualFieldName = fieldName;
-
-                    // Ajusta nome para flatten
-                    if (contains(flattenRelations, fieldName)) {
-                        actualFieldName = fieldName + "Id";
-                    }
-                    if (!first) {
-                        w.write("               \", ");
-                    } else {
-                        w.write("               \"");
-                        first = false;
-                    }
-                    String fieldType = field.asType().toString();
-                    boolean isString = field.asType().toString().equals("java.lang.String");
-                    boolean isFlatten = contains(flattenRelations, fieldName);
-                    boolean isNested = nestedDTOMap.containsKey(fieldName);
-                    boolean isCollection = isCollection(field.asType());
-
-                    // String precisa de aspas simples
-                    if (isString) {
-                        w.write(actualFieldName + "='\" + " + actualFieldName + " + '\\'' +\n");
+        for (DTOField field : model.fields()) {
+            String name = "this." + field.dtoFieldName();
+            String label = (first ? "" : ", ") + field.dtoFieldName() + "=";
+            first = false;
+
+            switch (field.kind()) {
+                case NESTED:
+                    w.write("        sb.append(\"" + label + "\");\n");
+                    gerarAppendValor(w, "        ", name, name + ".appendTo(sb, depth + 1)");
+                    break;
+                case COLLECTION:
+                    w.write("        sb.append(\"" + label + "\");\n");
+                    gerarAppendColecao(w, model, name, field.nestedDTO() + " e",
+                            "e", "e.appendTo(sb, depth + 1)");
+                    break;
+                case MAP:
+                    w.write("        sb.append(\"" + label + "\");\n");
+                    gerarAppendMap(w, model, name, field.mapKeyType(), field.nestedDTO(),
+                            "e.getValue().appendTo(sb, depth + 1)");
+                    break;
+                default:
+                    if (field.isString()) {
+                        // String precisa de aspas simples
+                        w.write("        sb.append(\"" + label + "'\").append(" + name + ").append('\\'');\n");
+                    } else if (field.isSimpleContainer()) {
+                        w.write("        sb.append(\"" + label + "\");\n");
+                        if (field.typeName().startsWith("java.util.Map<")) {
+                            gerarAppendMap(w, model, name, "?", "?", "sb.append(e.getValue())");
+                        } else {
+                            gerarAppendColecao(w, model, name, "Object e", null, "sb.append(e)");
+                        }
+                    } else if (field.isArray()) {
+                        // (Object) evita o overload append(char[])
+                        w.write("        sb.append(\"" + label + "\").append((Object) " + name + ");\n");
                     } else {
-                        w.write(actualFieldName + "=\" + " + actualFieldName + " +\n");
+                        w.write("        sb.append(\"" + label + "\").append(" + name + ");\n");
                     }
-                }
             }
         }
 
-        w.write("               \"}\";\n");
+        w.write("        return sb.append('}');\n");
         w.write("    }\n");
     }
 
-    private void gerarEqualsHashCode(Writer w,
-                                     TypeElement classElement,
-                                     String[] selectedFields,
-                                     String[] flattenRelations,
-                                     String dtoName) throws IOException {
+    // Anexa "null" ou o valor renderizado por append
+    private void gerarAppendValor(Writer w, String indent, String value, String append) throws IOException {
+        w.write(indent + "if (" + value + " == null) {\n");
+        w.write(indent + "    sb.append(\"null\");\n");
+        w.write(indent + "} else {\n");
+        w.write(indent + "    " + append + ";\n");
+        w.write(indent + "}\n");
+    }
 
-        // equals
-        w.write("    @Override\n");
-        w.write("    public boolean equals(Object o) {\n");
-        w.write("        if (this == o) return true;\n");
-        w.write("        if (o == null || getClass() != o.getClass()) return false;\n");
-        w.write("        " + dtoName + " that = (" + dtoName + ") o;\n");
-        w.write("        return ");
+    // [a, b, …+N more] respeitando toStringMaxElements
+    private void gerarAppendColecao(Writer w,
+                                    DTOModel model,
+                                    String name,
+                                    String elementDeclaration,
+                                    String nullableElement,
+                                    String append) throws IOException {
+        w.write("        if (" + name + " == null) {\n");
+        w.write("            sb.append(\"null\");\n");
+        w.write("        } else {\n");
+        w.write("            sb.append('[');\n");
+        w.write("            int i = 0;\n");
+        w.write("            for (" + elementDeclaration + " : " + name + ") {\n");
+        gerarLimiteElementos(w, model, name);
+        w.write("                if (i++ > 0) sb.append(\", \");\n");
+        if (nullableElement == null) {
+            w.write("                " + append + ";\n");
+        } else {
+            gerarAppendValor(w, "                ", nullableElement, append);
+        }
+        w.write("            }\n");
+        w.write("            sb.append(']');\n");
+        w.write("        }\n");
+    }
 
-        boolean first = true;
+    // {k=v, …+N more} respeitando toStringMaxElements
+    private void gerarAppendMap(Writer w,
+                                DTOModel model,
+                                String name,
+                                String keyType,
+                                String valueType,
+                                String appendValue) throws IOException {
+        w.write("        if (" + name + " == null) {\n");
+        w.write("            sb.append(\"null\");\n");
+        w.write("        } else {\n");
+        w.write("            sb.append('{');\n");
+        w.write("            int i = 0;\n");
+        w.write("            for (java.util.Map.Entry<" + keyType + ", " + valueType + "> e : "
+                + name + ".entrySet()) {\n");
+        gerarLimiteElementos(w, model, name);
+        w.write("                if (i++ > 0) sb.append(\", \");\n");
+        w.write("                sb.append(e.getKey()).append('=');\n");
+        if (valueType.equals("?")) {
+            w.write("                " + appendValue + ";\n");
+        } else {
+            gerarAppendValor(w, "                ", "e.getValue()", appendValue);
+        }
+        w.write("            }\n");
+        w.write("            sb.append('}');\n");
+        w.write("        }\n");
+    }
 
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() == ElementKind.FIELD) {
-                String fieldName = enclosedElement.getSimpleName().toString();
+    private void gerarLimiteElementos(Writer w, DTOModel model, String name) throws IOException {
+        if (model.toStringMaxElements() < 0) {
+            return;
+        }
+        w.write("                if (i == " + model.toStringMaxElements() + ") {\n");
+        w.write("                    sb.append(i > 0 ? \", \\u2026+\" : \"\\u2026+\")"
+                + ".append(" + name + ".size() - i).append(\" more\");\n");
+        w.write("                    break;\n");
+        w.write("                }\n");
+    }
 
-                if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                    String actualField = contains(flattenRelations, fieldName)
-                            ? fieldName + "Id"
-                            : fieldName;
+    // Capacidade inicial do StringBuilder: rótulos + estimativa por tipo de campo
+    private int estimateToStringCapacity(DTOModel model) {
+        int capacity = model.dtoName().length() + 2;
+        for (DTOField field : model.fields()) {
+            capacity += field.dtoFieldName().length() + 3;
+            if (field.isPrimitive()) {
+                capacity += 8;
+            } else if (field.isNested()) {
+                capacity += 64;
+            } else if (field.isCollection() || field.isMap() || field.isSimpleContainer()) {
+                capacity += 128;
+            } else {
+                capacity += 16;
+            }
+        }
+        return capacity;
+    }
 
-                    if (!first) {
-                        w.write(" && ");
-                    }
+    private void gerarEqualsHashCode(Writer w, DTOModel model) throws IOException {
+        String dtoName = model.dtoName();
 
-                    w.write("java.util.Objects.equals(" + actualField + ", that." + actualField + ")");
-                    first = false;
-                }
-            }
+        // equals
+        // Locais com $ e campos com this./$that.: nenhum campo da entidade (o, that, h)
+        // é confundido com o parâmetro ou as variáveis
+        w.write("    @Override\n");
+        w.write("    public boolean equals(Object $o) {\n");
+        w.write("        if (this == $o) return true;\n");
+        w.write("        if ($o == null || getClass() != $o.getClass()) return false;\n");
+        w.write("        " + dtoName + " $that = (" + dtoName + ") $o;\n");
+        if (model.immutable()) {
+            // hashes já calculados e diferentes → objetos diferentes
+            w.write("        if (this.$hash != 0 && $that.$hash != 0 && this.$hash != $that.$hash) return false;\n");
         }
 
-        w.write(";\n");
+        // Campos baratos primeiro: a primeira diferença encerra a comparação
+        List<DTOField> byCost = new ArrayList<>(model.fields());
+        byCost.sort(Comparator.comparingInt(this::equalsCost));
+
+        if (byCost.isEmpty()) {
+            w.write("        return true;\n");
+        }
+        for (int i = 0; i < byCost.size(); i++) {
+            w.write(i == 0 ? "        return " : "                && ");
+            w.write(equalsExpression(byCost.get(i)));
+            w.write(i == byCost.size() - 1 ? ";\n" : "\n");
+        }
         w.write("    }\n\n");
 
         // hashCode
+        // Acumulação 31 * h + x por tipo, sem varargs nem boxing de primitivos
         w.write("    @Override\n");
         w.write("    public int hashCode() {\n");
-        w.write("        return java.util.Objects.hash(");
+        String indent = "        ";
+        if (model.immutable()) {
+            // Calculado na primeira chamada; a corrida entre threads apenas recalcula o mesmo valor
+            w.write("        int $h = this.$hash;\n");
+            w.write("        if ($h == 0) {\n");
+            indent = "            ";
+            w.write(indent + "$h = 1;\n");
+        } else {
+            w.write("        int $h = 1;\n");
+        }
 
-        first = true;
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() == ElementKind.FIELD) {
-                String fieldName = enclosedElement.getSimpleName().toString();
+        for (DTOField field : model.fields()) {
+            w.write(indent + "$h = 31 * $h + " + hashExpression(field) + ";\n");
+        }
 
-                if (selectedFields.length == 0 || contains(selectedFields, fieldName)) {
-                    String actualField = contains(flattenRelations, fieldName)
-                            ? fieldName + "Id"
-                            : fieldName;
+        if (model.immutable()) {
+            w.write("            this.$hash = $h;\n");
+            w.write("        }\n");
+        }
+        w.write("        return $h;\n");
+        w.write("    }\n\n");
+    }
 
-                    if (!first) {
-                        w.write(", ");
-                    }
+    // Ordem de comparação no equals: primitivos, valores simples, arrays, DTOs, coleções
+    private int equalsCost(DTOField field) {
+        if (field.isPrimitive()) return 0;
+        if (field.isArray()) return 2;
+        if (field.isNested()) return 3;
+        if (field.isCollection() || field.isMap() || field.isSimpleContainer()) return 4;
+        return 1;
+    }
 
-                    w.write(actualField);
-                    first = false;
-                }
+    private String equalsExpression(DTOField field) {
+        String name = "this." + field.dtoFieldName();
+        String other = "$that." + field.dtoFieldName();
+        if (field.isPrimitive()) {
+            switch (field.typeName()) {
+                case "float":
+                    return "Float.compare(" + name + ", " + other + ") == 0";
+                case "double":
+                    return "Double.compare(" + name + ", " + other + ") == 0";
+                default:
+                    return name + " == " + other;
             }
         }
-
-        w.write(");\n");
-        w.write("    }\n\n");
+        if (field.isArray()) {
+            String method = isNestedArray(field) ? "deepEquals" : "equals";
+            return "java.util.Arrays." + method + "(" + name + ", " + other + ")";
+        }
+        return "java.util.Objects.equals(" + name + ", " + other + ")";
     }
 
-    private boolean contains(String[] array, String value) {
-        for (String s : array) {
-            if (s.equals(value)) {
-                return true;
-            }
+    private String hashExpression(DTOField field) {
+        String name = "this." + field.dtoFieldName();
+        if (field.isPrimitive()) {
+            return field.primitiveWrapper() + ".hashCode(" + name + ")";
         }
-        return false;
+        if (field.isArray()) {
+            String method = isNestedArray(field) ? "deepHashCode" : "hashCode";
+            return "java.util.Arrays." + method + "(" + name + ")";
+        }
+        return "java.util.Objects.hashCode(" + name + ")";
+    }
+
+    // Arrays de arrays (ex: int[][]) precisam de deepEquals/deepHashCode
+    private boolean isNestedArray(DTOField field) {
+        return field.typeName().endsWith("[][]");
     }
 
     // Verifica se o tipo é uma Collection (List, Set, etc)
@@ -459,19 +1870,6 @@ public class GenerateDTOProcessor extends AbstractProcessor {
                 typeName.startsWith("java.util.Collection<");
     }
 
-    // Extrai o tipo genérico (ex: List<Endereco> → Endereco)
-    private String getGenericType(TypeMirror type) {
-        if (type instanceof DeclaredType) {
-            DeclaredType declaredType = (DeclaredType) type;
-            List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
-
-            if (!typeArguments.isEmpty()) {
-                return typeArguments.get(0).toString();
-            }
-        }
-        return null;
-    }
-
     // Extrai o nome simples do tipo (org.example.Endereco → Endereco)
     private String getSimpleTypeName(String fullTypeName) {
         if (fullTypeName == null) return null;
@@ -500,14 +1898,6 @@ public class GenerateDTOProcessor extends AbstractProcessor {
         return type.toString().startsWith("java.util.Map<");
     }
 
-    private boolean isList(TypeMirror type) {
-        return type.toString().startsWith("java.util.List<");
-    }
-
-    private boolean isSet(TypeMirror type) {
-        return type.toString().startsWith("java.util.Set<");
-    }
-
     private String[] getMapGenericTypes(TypeMirror type) {
         if (type instanceof DeclaredType) {
             DeclaredType declaredType = (DeclaredType) type;
@@ -523,42 +1913,40 @@ public class GenerateDTOProcessor extends AbstractProcessor {
         return null;
     }
 
-    private void gerarCampoMap(Writer w,
-                               String fieldName,
-                               TypeMirror fieldType,
-                               String dtoType) throws IOException {
-
-        String[] generics = getMapGenericTypes(fieldType);
-
-        String keyType = getSimpleTypeName(generics[0]);
+    // Tipos de java.lang usam o nome simples; os demais ficam qualificados
+    private String simplifyJavaLang(String fullTypeName) {
+        if (fullTypeName.startsWith("java.lang.") && fullTypeName.indexOf('.', 10) < 0) {
+            return getSimpleTypeName(fullTypeName);
+        }
+        return fullTypeName;
+    }
 
-        w.write("    private java.util.Map<"
-                + keyType + ", "
-                + dtoType + "> "
-                + fieldName + ";\n");
+    // Set continua Set; List e Collection viram List
+    private String streamCollector(DTOField field) {
+        if (field.collectionType().equals("Set")) {
+            return "java.util.stream.Collectors.toSet()";
+        }
+        return "java.util.stream.Collectors.toList()";
     }
 
-    private void gerarFromMap(Writer w,
-                              String fieldName,
-                              String capitalizedFieldName,
-                              String dtoType) throws IOException {
+    private void gerarFromMap(Writer w, DTOModel model, DTOField field, String context) throws IOException {
+        String getter = "model." + field.modelGetterName() + "()";
 
-        w.write("        if (model.get" + capitalizedFieldName + "() != null) {\n");
-        w.write("            dto.set" + capitalizedFieldName + "(\n");
-        w.write("                model.get" + capitalizedFieldName + "().entrySet().stream()\n");
-        w.write("                    .collect(java.util.stream.Collectors.toMap(\n");
-        w.write("                        e -> e.getKey(),\n");
-        w.write("                        e -> " + dtoType + ".from(e.getValue())\n");
-        w.write("                    )));\n");
+        w.write("        if (" + fromGuard(model, field, context) + ") {\n");
+        w.write("            " + assign(model, field, "\n"
+                + "                " + getter + ".entrySet().stream()\n"
+                + "                    .collect(java.util.stream.Collectors.toMap(\n"
+                + "                        e -> e.getKey(),\n"
+                + "                        e -> " + fromCall(field, "e.getValue()", context) + "\n"
+                + "                    ))") + ";\n");
         w.write("        }\n");
     }
 
-    private void gerarToModelMap(Writer w,
-                                 String fieldName,
-                                 String capitalizedFieldName) throws IOException {
+    private void gerarToModelMap(Writer w, DTOField field, String target, String guard) throws IOException {
+        String fieldName = field.name();
 
-        w.write("        if (this." + fieldName + " != null) {\n");
-        w.write("            model.set" + capitalizedFieldName + "(\n");
+        w.write("        if (" + guard + "this." + fieldName + " != null) {\n");
+        w.write("            " + target + "." + field.modelSetterName() + "(\n");
         w.write("                this." + fieldName + ".entrySet().stream()\n");
         w.write("                    .collect(java.util.stream.Collectors.toMap(\n");
         w.write("                        e -> e.getKey(),\n");
@@ -567,7 +1955,158 @@ public class GenerateDTOProcessor extends AbstractProcessor {
         w.write("        }\n");
     }
 
-    private String getBaseType(TypeMirror type) {
+    // ========== MAPEAMENTO COM LAÇOS (MappingStyle.LOOP) ==========
+
+    // Implementação que preserva o tipo da coleção de origem
+    private String collectionImpl(DTOField field) {
+        if (field.collectionType().equals("Set")) {
+            return "java.util.LinkedHashSet";
+        }
+        return "java.util.ArrayList";
+    }
+
+    // Capacidade inicial para o tamanho da origem (Set/Map considera o load factor padrão)
+    private String initialCapacity(DTOField field, String source) {
+        if (field.isMap() || field.collectionType().equals("Set")) {
+            return "(int) (" + source + ".size() / 0.75f) + 1";
+        }
+        return source + ".size()";
+    }
+
+    private void gerarFromCollectionLoop(Writer w, DTOModel model, DTOField field, String context) throws IOException {
+        w.write("        if (" + fromGuard(model, field, context) + ") {\n");
+        w.write("            " + field.typeName() + " source = model." + field.modelGetterName() + "();\n");
+        w.write("            " + field.dtoFieldType() + " target = new " + collectionImpl(field)
+                + "<>(" + initialCapacity(field, "source") + ");\n");
+        w.write("            for (" + field.elementType() + " e : source) {\n");
+        w.write("                target.add(" + fromCall(field, "e", context) + ");\n");
+        w.write("            }\n");
+        w.write("            " + assign(model, field, "target") + ";\n");
+        w.write("        }\n");
+    }
+
+    private void gerarToModelCollectionLoop(Writer w, DTOField field, String target, String guard) throws IOException {
+        w.write("        if (" + guard + "this." + field.name() + " != null) {\n");
+        w.write("            " + field.typeName() + " target = new " + collectionImpl(field)
+                + "<>(" + initialCapacity(field, "this." + field.name()) + ");\n");
+        w.write("            for (" + field.nestedDTO() + " e : this." + field.name() + ") {\n");
+        w.write("                target.add(e != null ? e.toModel() : null);\n");
+        w.write("            }\n");
+        w.write("            " + target + "." + field.modelSetterName() + "(target);\n");
+        w.write("        }\n");
+    }
+
+    private void gerarFromMapLoop(Writer w, DTOModel model, DTOField field, String context) throws IOException {
+        w.write("        if (" + fromGuard(model, field, context) + ") {\n");
+        w.write("            " + field.typeName() + " source = model." + field.modelGetterName() + "();\n");
+        w.write("            " + field.dtoFieldType() + " target = new java.util.HashMap<>("
+                + initialCapacity(field, "source") + ");\n");
+        w.write("            for (java.util.Map.Entry<" + field.mapKeyType() + ", " + field.elementType()
+                + "> e : source.entrySet()) {\n");
+        w.write("                target.put(e.getKey(), " + fromCall(field, "e.getValue()", context) + ");\n");
+        w.write("            }\n");
+        w.write("            " + assign(model, field, "target") + ";\n");
+        w.write("        }\n");
+    }
+
+    private void gerarToModelMapLoop(Writer w, DTOField field, String target, String guard) throws IOException {
+        w.write("        if (" + guard + "this." + field.name() + " != null) {\n");
+        w.write("            " + field.typeName() + " target = new java.util.HashMap<>("
+                + initialCapacity(field, "this." + field.name()) + ");\n");
+        w.write("            for (java.util.Map.Entry<" + field.mapKeyType() + ", " + field.nestedDTO()
+                + "> e : this." + field.name() + ".entrySet()) {\n");
+        w.write("                target.put(e.getKey(), e.getValue() != null ? e.getValue().toModel() : null);\n");
+        w.write("            }\n");
+        w.write("            " + target + "." + field.modelSetterName() + "(target);\n");
+        w.write("        }\n");
+    }
+
+    // Tipos gravados pelo codec binário; relacionamentos (qualifiedDTO não nulo)
+    // exigem binaryCodec na projeção relacionada
+    private boolean supportsBinaryCodec(TypeMirror type, String qualifiedDTO) {
+        if (qualifiedDTO != null) {
+            GenerateDTO target = targetProjection(type, qualifiedDTO);
+            if (target == null || !target.binaryCodec()) return false;
+            return !isMap(type) || isBinaryValue(((DeclaredType) type).getTypeArguments().get(0));
+        }
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) type).getComponentType();
+            return isBinaryValue(component) || component.toString().equals("byte[]");
+        }
+
+        if (isCollection(type) || isMap(type)) {
+            for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                if (!isBinaryValue(argument)) return false;
+            }
+            return true;
+        }
+
+        return isBinaryValue(type);
+    }
+
+    // Opções cujo código chama o mesmo método no DTO relacionado e que a projeção dele não
+    // liga, ou null. DTOs escritos à mão (target null) não são verificados.
+    private String missingOptions(GenerateDTO annotation, GenerateDTO target) {
+        if (target == null) return null;
+        List<String> missing = new ArrayList<>();
+        if (annotation.mappingContext() && !target.mappingContext()) missing.add("mappingContext = true");
+        if (annotation.fetchPlan() && !target.fetchPlan()) missing.add("fetchPlan = true");
+        if (annotation.jsonWriter() && !target.jsonWriter()) missing.add("jsonWriter = true");
+        return missing.isEmpty() ? null : String.join(", ", missing);
+    }
+
+    // Projeção da entidade relacionada que gera qualifiedDTO, ou null (ex: DTO manual escrito à mão)
+    private GenerateDTO targetProjection(TypeMirror type, String qualifiedDTO) {
+        TypeMirror baseType = getBaseType(type);
+        if (baseType.getKind() != TypeKind.DECLARED) return null;
+        TypeElement targetElement = (TypeElement) ((DeclaredType) baseType).asElement();
+        for (GenerateDTO target : projections(targetElement)) {
+            if (dtoName(targetElement, target).equals(getSimpleTypeName(qualifiedDTO))) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    // Primitivos, wrappers, enums e os tipos de valor de BinaryCodecGenerator
+    private boolean isBinaryValue(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return true;
+        if (type.getKind() != TypeKind.DECLARED) return false;
+
+        Element element = ((DeclaredType) type).asElement();
+        return element.getKind() == ElementKind.ENUM
+                || BinaryCodecGenerator.isValueType(((TypeElement) element).getQualifiedName().toString());
+    }
+
+    // Tipo do ID de um relacionamento flatten: retorno de idAccessor na entidade relacionada,
+    // já em forma objeto; null (com erro reportado) se o accessor não existe
+    private TypeMirror flattenIdType(VariableElement field, TypeMirror fieldType, String idAccessor) {
+        if (fieldType.getKind() == TypeKind.DECLARED) {
+            DeclaredType entityType = (DeclaredType) fieldType;
+            TypeElement entity = (TypeElement) entityType.asElement();
+            for (ExecutableElement method : ElementFilter.methodsIn(
+                    processingEnv.getElementUtils().getAllMembers(entity))) {
+                if (!method.getSimpleName().contentEquals(idAccessor) || !method.getParameters().isEmpty()) {
+                    continue;
+                }
+                // asMemberOf resolve IDs genéricos (ex: BaseEntity<Long>.getId())
+                TypeMirror idType = ((ExecutableType) processingEnv.getTypeUtils()
+                        .asMemberOf(entityType, method)).getReturnType();
+                if (idType.getKind().isPrimitive()) {
+                    return processingEnv.getTypeUtils().boxedClass((PrimitiveType) idType).asType();
+                }
+                if (idType.getKind() == TypeKind.DECLARED) {
+                    return processingEnv.getTypeUtils().erasure(idType);
+                }
+            }
+        }
+        error("Relacionamento flatten '" + field.getSimpleName() + "' precisa de um método "
+                + idAccessor + "() que devolva o ID (veja flattenIdAccessor)", field);
+        return null;
+    }
+
+    private TypeMirror getBaseType(TypeMirror type) {
         if (type instanceof DeclaredType) {
             DeclaredType declaredType = (DeclaredType) type;
             List<? extends TypeMirror> args = declaredType.getTypeArguments();
@@ -577,48 +2116,91 @@ public class GenerateDTOProcessor extends AbstractProcessor {
                 // Para List/Set → primeiro
                 // Para Map → segundo (valor)
                 if (isMap(type) && args.size() == 2) {
-                    return args.get(1).toString();
+                    return args.get(1);
                 }
-                return args.get(0).toString();
+                return args.get(0);
             }
         }
 
-        return type.toString();
+        return type;
     }
 
-    private boolean hasGenerateDTO(String fullTypeName) {
-        TypeElement element = processingEnv
-                .getElementUtils()
-                .getTypeElement(fullTypeName);
-
-        if (element == null) return false;
+    // Projeções declaradas na entidade, vazio se ela não tem @GenerateDTO.
+    // O resultado fica no cache do round: cada entidade é consultada uma única vez.
+    private GenerateDTO[] projections(TypeElement element) {
+        return projectionCache.computeIfAbsent(element, e -> e.getAnnotationsByType(GenerateDTO.class));
+    }
 
-        return element.getAnnotation(GenerateDTO.class) != null;
+    private String dtoName(TypeElement element, GenerateDTO projection) {
+        return element.getSimpleName() + projection.name() + "DTO";
     }
 
-    private String getAutoDTOName(String fullTypeName) {
-        return getSimpleTypeName(fullTypeName) + "DTO";
+    // Nome qualificado do DTO da projeção de element, ou null se ela não existe.
+    // Sem exact, cai para a projeção padrão (sem nome) e depois para a primeira declarada.
+    private String lookupDTOName(TypeElement element, String projection, boolean exact) {
+        GenerateDTO[] projections = projections(element);
+        GenerateDTO target = null;
+        for (GenerateDTO candidate : projections) {
+            if (candidate.name().equals(projection)) {
+                target = candidate;
+                break;
+            }
+            if (!exact && candidate.name().isEmpty()) {
+                target = candidate;
+            }
+        }
+        if (target == null) {
+            if (exact || projections.length == 0) {
+                return null;
+            }
+            target = projections[0];
+        }
+        String pkg = processingEnv.getElementUtils()
+                .getPackageOf(element)
+                .getQualifiedName()
+                .toString();
+        return qualify(pkg, dtoName(element, target));
     }
 
-    private String resolveNestedDTO(String fieldName,
+    private String resolveNestedDTO(VariableElement field,
                                     TypeMirror fieldType,
-                                    Map<String, String> manualNested) {
-
-        // 1. Prioridade para manual
-        if (manualNested.containsKey(fieldName)) {
-            return manualNested.get(fieldName);
+                                    Map<String, NestedDTO> manualNested,
+                                    String packageName,
+                                    String projection) {
+        NestedDTO manual = manualNested.get(field.getSimpleName().toString());
+
+        TypeMirror baseType = getBaseType(fieldType);
+        TypeElement element = baseType.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) baseType).asElement()
+                : null;
+
+        // 1. Prioridade para manual: nome qualificado, ou simples no pacote da entidade
+        // relacionada, onde o DTO dela é gerado
+        if (manual != null && !manual.dto().isEmpty()) {
+            if (manual.dto().contains(".")) {
+                return manual.dto();
+            }
+            return qualify(element != null
+                    ? processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString()
+                    : packageName, manual.dto());
         }
 
-        // 2. Detectar automaticamente
-        String baseType = getBaseType(fieldType);
+        // 2. Detectar automaticamente (na projeção pedida, ou na de mesmo nome)
+        if (element == null) return null;
 
-        if (baseType.startsWith("java.lang")) return null;
+        if (manual == null || manual.projection().isEmpty()) {
+            return lookupDTOName(element, projection, false);
+        }
 
-        if (hasGenerateDTO(baseType)) {
-            return getAutoDTOName(baseType);
+        String qualifiedDTO = lookupDTOName(element, manual.projection(), true);
+        if (qualifiedDTO == null) {
+            error("Projeção '" + manual.projection() + "' não existe em " + element.getSimpleName(), field);
         }
+        return qualifiedDTO;
+    }
 
-        return null;
+    private String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
     }
 
     private void addImport(Set<String> imports, String importName) {
@@ -650,60 +2232,6 @@ public class GenerateDTOProcessor extends AbstractProcessor {
         }
     }
 
-    private void collectNestedImport(TypeMirror type, Set<String> imports) {
-        if (!isNestedEntity(type)) return;
-
-        String dtoName = getDtoName(type);
-        String pkg = getPackage(type);
-
-        if (pkg != null) {
-            addImport(imports, pkg + "." + dtoName);
-        }
-    }
-
-    private String getPackage(TypeMirror type) {
-        String baseType = getBaseType(type);
-
-        TypeElement element = processingEnv
-                .getElementUtils()
-                .getTypeElement(baseType);
-
-        if (element == null) return null;
-
-        return processingEnv
-                .getElementUtils()
-                .getPackageOf(element)
-                .getQualifiedName()
-                .toString();
-    }
-
-    private boolean isNestedEntity(TypeMirror type) {
-        String baseType = getBaseType(type);
-
-        if (baseType.startsWith("java.lang")) return false;
-        if (baseType.startsWith("java.util")) return false;
-
-        TypeElement element = processingEnv
-                .getElementUtils()
-                .getTypeElement(baseType);
-
-        if (element == null) return false;
-
-        return element.getAnnotation(GenerateDTO.class) != null;
-    }
-
-    private String getDtoName(TypeMirror type) {
-        String baseType = getBaseType(type);
-        return getSimpleTypeName(baseType) + "DTO";
-    }
-
-    private void processField(VariableElement field, Set<String> imports) {
-        TypeMirror type = field.asType();
-
-        collectImportsForType(type, imports);
-        collectNestedImport(type, imports);
-    }
-
     private void writeImports(Writer writer, Set<String> imports) throws IOException {
         if (imports == null || imports.isEmpty()) {
             writer.write("\n");
@@ -720,38 +2248,36 @@ public class GenerateDTOProcessor extends AbstractProcessor {
         writer.write("\n");
     }
 
-    private Set<String> collectImports(TypeElement classElement,
-                                       String[] selectedFields,
-                                       Map<String, String> nestedDTOMap,
-                                       String packageName) {
-
-        Set<String> imports = new HashSet<>();
-
-        for (Element enclosedElement : classElement.getEnclosedElements()) {
-            if (enclosedElement.getKind() != ElementKind.FIELD) continue;
-
-            VariableElement field = (VariableElement) enclosedElement;
-            String fieldName = field.getSimpleName().toString();
-
-            if (selectedFields.length > 0 && !contains(selectedFields, fieldName)) {
-                continue;
-            }
-
-            // Processamento padrão
-            processField(field, imports);
-
-            // Nested DTO manual ou auto
-            TypeMirror fieldType = field.asType();
-            String dtoType = resolveNestedDTO(fieldName, fieldType, nestedDTOMap);
-            if (dtoType != null) {
-                imports.add(packageName + "." + dtoType);
-            }
+    // Projeção analisada na primeira fase do round, aguardando a geração
+    private static final class Projection {
+
+        private final TypeElement classElement;
+        private final String projectionName;
+        private final String dtoName;
+        private final DTOModel model;
+        private final int statsEntry;
+
+        private Projection(TypeElement classElement,
+                           String projectionName,
+                           String dtoName,
+                           DTOModel model,
+                           int statsEntry) {
+            this.classElement = classElement;
+            this.projectionName = projectionName;
+            this.dtoName = dtoName;
+            this.model = model;
+            this.statsEntry = statsEntry;
         }
-
-        imports.add("java.util.Objects");
-
-        return imports;
     }
 
+    // Resultado da renderização de uma projeção, entregue à thread do compilador
+    private static final class Rendered {
 
-}
\ No newline at end of file
+        private String source;
+        private String batch;
+        private String fields;
+        private Throwable failure;
+        private long nanos;
+        private int bytes;
+    }
+}
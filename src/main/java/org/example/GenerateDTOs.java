@@ -0,0 +1,17 @@
+package org.example;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contêiner de {@link GenerateDTO} repetido: o compilador o cria sozinho
+ * quando uma entidade declara mais de uma projeção.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateDTOs {
+
+    GenerateDTO[] value();
+}
@@ -0,0 +1,36 @@
+package org.example;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carrega em lote as entidades de relacionamentos {@code flattenRelations}.
+ * <p>
+ * Usado pelo {@code toModelAllResolving(dtos, resolver)} gerado: os IDs de
+ * todos os DTOs do lote são reunidos por tipo de entidade e cada tipo é
+ * carregado com uma única chamada, em vez de uma consulta por ID. As chaves do
+ * mapa são do mesmo tipo que os IDs do DTO (ex: {@code Long}); IDs sem
+ * entidade podem ficar fora do mapa e o relacionamento fica nulo.
+ * <p>
+ * Como {@link #loadAll} é genérico, a implementação é uma classe (ou
+ * referência a um método genérico), não uma lambda. Com JPA/Hibernate, por
+ * exemplo:
+ * <pre>{@code
+ * IdResolver resolver = new IdResolver() {
+ *     @Override
+ *     public <I, E> Map<I, E> loadAll(Class<E> type, Set<I> ids) {
+ *         Map<I, E> loaded = new HashMap<>();
+ *         for (E entity : session.byMultipleIds(type).multiLoad(new ArrayList<>(ids))) {
+ *             if (entity != null) {
+ *                 loaded.put((I) util.getIdentifier(entity), entity);
+ *             }
+ *         }
+ *         return loaded;
+ *     }
+ * };
+ * }</pre>
+ */
+public interface IdResolver {
+
+    <I, E> Map<I, E> loadAll(Class<E> entityType, Set<I> ids);
+}
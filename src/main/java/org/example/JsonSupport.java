@@ -0,0 +1,247 @@
+package org.example;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Escrita de valores JSON usada pelo {@code writeJson(Appendable)} gerado.
+ * <p>
+ * Sem reflexão nem dependências: os DTOs gerados chamam diretamente o método
+ * do tipo de cada campo; {@link #writeValue(Appendable, Object)} cobre apenas
+ * campos cujo tipo não é conhecido em tempo de compilação (ex: elementos de
+ * {@code List<String>}). Quando o destino é um {@link StringBuilder}, números
+ * são anexados sem criar Strings intermediárias.
+ * <p>
+ * Convenções: {@code double}/{@code float} não finitos viram {@code null},
+ * {@code byte[]} vira Base64, enums usam {@code name()} e demais objetos
+ * usam {@code toString()} como string JSON.
+ */
+public final class JsonSupport {
+
+    private static final String[] CONTROL_ESCAPES = new String[32];
+
+    static {
+        for (int c = 0; c < 32; c++) {
+            CONTROL_ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        CONTROL_ESCAPES['\b'] = "\\b";
+        CONTROL_ESCAPES['\f'] = "\\f";
+        CONTROL_ESCAPES['\n'] = "\\n";
+        CONTROL_ESCAPES['\r'] = "\\r";
+        CONTROL_ESCAPES['\t'] = "\\t";
+    }
+
+    private JsonSupport() {
+    }
+
+    public static void writeString(Appendable out, CharSequence value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escape;
+            if (c < 32) {
+                escape = CONTROL_ESCAPES[c];
+            } else if (c == '"') {
+                escape = "\\\"";
+            } else if (c == '\\') {
+                escape = "\\\\";
+            } else {
+                continue;
+            }
+            out.append(value, start, i).append(escape);
+            start = i + 1;
+        }
+        out.append(value, start, length).append('"');
+    }
+
+    public static void writeChar(Appendable out, char value) throws IOException {
+        writeString(out, String.valueOf(value));
+    }
+
+    public static void writeBoolean(Appendable out, boolean value) throws IOException {
+        out.append(value ? "true" : "false");
+    }
+
+    public static void writeInt(Appendable out, int value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Integer.toString(value));
+        }
+    }
+
+    public static void writeLong(Appendable out, long value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Long.toString(value));
+        }
+    }
+
+    public static void writeDouble(Appendable out, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Double.toString(value));
+        }
+    }
+
+    public static void writeFloat(Appendable out, float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            out.append("null");
+        } else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Float.toString(value));
+        }
+    }
+
+    public static void writeBytes(Appendable out, byte[] value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"').append(Base64.getEncoder().encodeToString(value)).append('"');
+    }
+
+    /**
+     * Escreve um valor cujo tipo só é conhecido em tempo de execução.
+     */
+    public static void writeValue(Appendable out, Object value) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence) {
+            writeString(out, (CharSequence) value);
+        } else if (value instanceof Boolean) {
+            writeBoolean(out, (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeInt(out, ((Number) value).intValue());
+        } else if (value instanceof Long) {
+            writeLong(out, (Long) value);
+        } else if (value instanceof Double) {
+            writeDouble(out, (Double) value);
+        } else if (value instanceof Float) {
+            writeFloat(out, (Float) value);
+        } else if (value instanceof Number) {
+            out.append(value.toString());
+        } else if (value instanceof Character) {
+            writeChar(out, (Character) value);
+        } else if (value instanceof Enum) {
+            writeString(out, ((Enum<?>) value).name());
+        } else if (value instanceof Collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                writeValue(out, element);
+                first = false;
+            }
+            out.append(']');
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                writeString(out, String.valueOf(entry.getKey()));
+                out.append(':');
+                writeValue(out, entry.getValue());
+                first = false;
+            }
+            out.append('}');
+        } else if (value instanceof byte[]) {
+            writeBytes(out, (byte[]) value);
+        } else if (value instanceof Object[]) {
+            out.append('[');
+            Object[] array = (Object[]) value;
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeValue(out, array[i]);
+            }
+            out.append(']');
+        } else if (value instanceof int[]) {
+            out.append('[');
+            int[] array = (int[]) value;
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeInt(out, array[i]);
+            }
+            out.append(']');
+        } else if (value instanceof long[]) {
+            out.append('[');
+            long[] array = (long[]) value;
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeLong(out, array[i]);
+            }
+            out.append(']');
+        } else if (value instanceof double[]) {
+            out.append('[');
+            double[] array = (double[]) value;
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeDouble(out, array[i]);
+            }
+            out.append(']');
+        } else if (value.getClass().isArray()) {
+            // short[], char[], float[], boolean[]: raros em DTOs, convertidos um a um
+            writeValue(out, boxArray(value));
+        } else {
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object[] boxArray(Object array) {
+        if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            Object[] boxed = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                boxed[i] = values[i];
+            }
+            return boxed;
+        }
+        if (array instanceof char[]) {
+            char[] values = (char[]) array;
+            Object[] boxed = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                boxed[i] = values[i];
+            }
+            return boxed;
+        }
+        if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            Object[] boxed = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                boxed[i] = values[i];
+            }
+            return boxed;
+        }
+        boolean[] values = (boolean[]) array;
+        Object[] boxed = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,188 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Gera {@code writeJson(Appendable)} e {@code toJson()} nos DTOs.
+ * <p>
+ * Os nomes dos campos já saem escapados como literais (incluindo aspas,
+ * dois-pontos e vírgula), cada campo chama o escritor do seu tipo em
+ * {@link JsonSupport}, DTOs aninhados escrevem a si mesmos e List/Set/Map
+ * são percorridos diretamente. Nenhuma reflexão em tempo de execução.
+ */
+final class JsonWriterGenerator {
+
+    void gerarWriteJson(Writer w, DTOModel model) throws IOException {
+        // ========== JSON ==========
+        w.write("    public String toJson() {\n");
+        w.write("        StringBuilder sb = new StringBuilder(" + estimateCapacity(model) + ");\n");
+        w.write("        try {\n");
+        w.write("            writeJson(sb);\n");
+        w.write("        } catch (java.io.IOException e) {\n");
+        w.write("            throw new java.io.UncheckedIOException(e);\n");
+        w.write("        }\n");
+        w.write("        return sb.toString();\n");
+        w.write("    }\n\n");
+
+        w.write("    public void writeJson(Appendable out) throws java.io.IOException {\n");
+        boolean first = true;
+        for (DTOField field : model.fields()) {
+            // this. evita que um campo chamado out, first ou i0 seja confundido com as variáveis locais
+            String name = "this." + field.dtoFieldName();
+            // Identificadores Java não contêm caracteres que precisem de escape em JSON
+            String label = (first ? "{" : ",") + "\\\"" + field.dtoFieldName() + "\\\":";
+            w.write("        out.append(\"" + label + "\");\n");
+            first = false;
+
+            switch (field.kind()) {
+                case NESTED:
+                    gerarNulo(w, "        ", name, name + ".writeJson(out);");
+                    break;
+                case COLLECTION:
+                    w.write("        if (" + name + " == null) {\n");
+                    w.write("            out.append(\"null\");\n");
+                    w.write("        } else {\n");
+                    w.write("            out.append('[');\n");
+                    w.write("            boolean first = true;\n");
+                    w.write("            for (" + field.nestedDTO() + " e : " + name + ") {\n");
+                    w.write("                if (!first) out.append(',');\n");
+                    w.write("                first = false;\n");
+                    gerarNulo(w, "                ", "e", "e.writeJson(out);");
+                    w.write("            }\n");
+                    w.write("            out.append(']');\n");
+                    w.write("        }\n");
+                    break;
+                case MAP:
+                    String key = field.mapKeyType().equals("String") ? "e.getKey()" : "String.valueOf(e.getKey())";
+                    w.write("        if (" + name + " == null) {\n");
+                    w.write("            out.append(\"null\");\n");
+                    w.write("        } else {\n");
+                    w.write("            out.append('{');\n");
+                    w.write("            boolean first = true;\n");
+                    w.write("            for (java.util.Map.Entry<" + field.mapKeyType() + ", " + field.nestedDTO()
+                            + "> e : " + name + ".entrySet()) {\n");
+                    w.write("                if (!first) out.append(',');\n");
+                    w.write("                first = false;\n");
+                    w.write("                org.example.JsonSupport.writeString(out, " + key + ");\n");
+                    w.write("                out.append(':');\n");
+                    gerarNulo(w, "                ", "e.getValue()", "e.getValue().writeJson(out);");
+                    w.write("            }\n");
+                    w.write("            out.append('}');\n");
+                    w.write("        }\n");
+                    break;
+                default:
+                    gerarValor(w, "        ", field.dtoFieldType(), name, 0);
+            }
+        }
+        w.write("        out.append(\"" + (first ? "{}" : "}") + "\");\n");
+        w.write("    }\n\n");
+    }
+
+    // Escreve null ou executa write
+    private void gerarNulo(Writer w, String indent, String value, String write) throws IOException {
+        w.write(indent + "if (" + value + " == null) {\n");
+        w.write(indent + "    out.append(\"null\");\n");
+        w.write(indent + "} else {\n");
+        w.write(indent + "    " + write + "\n");
+        w.write(indent + "}\n");
+    }
+
+    // Valor de tipo conhecido em tempo de compilação: chama direto o escritor do tipo
+    private void gerarValor(Writer w, String indent, String type, String value, int depth) throws IOException {
+        String primitive = primitiveWriter(type);
+        if (primitive != null) {
+            w.write(indent + "org.example.JsonSupport." + primitive + "(out, " + value + ");\n");
+            return;
+        }
+
+        String boxed = primitiveWriter(unbox(type));
+        if (boxed != null) {
+            gerarNulo(w, indent, value, "org.example.JsonSupport." + boxed + "(out, " + value + ");");
+            return;
+        }
+
+        if (type.equals("java.lang.String") || type.equals("String")) {
+            w.write(indent + "org.example.JsonSupport.writeString(out, " + value + ");\n");
+        } else if (type.equals("byte[]")) {
+            w.write(indent + "org.example.JsonSupport.writeBytes(out, " + value + ");\n");
+        } else if (type.endsWith("[]")) {
+            String component = type.substring(0, type.length() - 2);
+            String index = "i" + depth;
+            w.write(indent + "if (" + value + " == null) {\n");
+            w.write(indent + "    out.append(\"null\");\n");
+            w.write(indent + "} else {\n");
+            w.write(indent + "    out.append('[');\n");
+            w.write(indent + "    for (int " + index + " = 0; " + index + " < " + value + ".length; " + index + "++) {\n");
+            w.write(indent + "        if (" + index + " > 0) out.append(',');\n");
+            gerarValor(w, indent + "        ", component, value + "[" + index + "]", depth + 1);
+            w.write(indent + "    }\n");
+            w.write(indent + "    out.append(']');\n");
+            w.write(indent + "}\n");
+        } else {
+            // Enums, BigDecimal, datas, List<String>...: despacho por instanceof
+            w.write(indent + "org.example.JsonSupport.writeValue(out, " + value + ");\n");
+        }
+    }
+
+    private String primitiveWriter(String type) {
+        switch (type) {
+            case "int":
+            case "short":
+            case "byte":
+                return "writeInt";
+            case "long":
+                return "writeLong";
+            case "double":
+                return "writeDouble";
+            case "float":
+                return "writeFloat";
+            case "boolean":
+                return "writeBoolean";
+            case "char":
+                return "writeChar";
+            default:
+                return null;
+        }
+    }
+
+    // java.lang.Integer → int (Long sem pacote é o tipo do id de relacionamentos flatten)
+    private String unbox(String type) {
+        switch (type) {
+            case "java.lang.Integer":
+                return "int";
+            case "java.lang.Short":
+                return "short";
+            case "java.lang.Byte":
+                return "byte";
+            case "java.lang.Long":
+            case "Long":
+                return "long";
+            case "java.lang.Double":
+                return "double";
+            case "java.lang.Float":
+                return "float";
+            case "java.lang.Boolean":
+                return "boolean";
+            case "java.lang.Character":
+                return "char";
+            default:
+                return type;
+        }
+    }
+
+    private int estimateCapacity(DTOModel model) {
+        int capacity = 2;
+        for (DTOField field : model.fields()) {
+            capacity += field.dtoFieldName().length() + 4;
+            if (field.isCollection() || field.isMap() || field.isSimpleContainer()) {
+                capacity += 128;
+            } else if (field.isNested()) {
+                capacity += 64;
+            } else {
+                capacity += 12;
+            }
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example;
+
+/**
+ * Informa se um relacionamento de uma entidade já está carregado.
+ * <p>
+ * Consultado pelos DTOs gerados com {@code @GenerateDTO(skipUnloaded = true)}
+ * através de {@link LoadStates}. Pode ser registrado com
+ * {@link LoadStates#setProvider(LoadStateProvider)} ou via {@link java.util.ServiceLoader}
+ * ({@code META-INF/services/org.example.LoadStateProvider}).
+ * <p>
+ * Com JPA, um adaptador é uma linha:
+ * <pre>{@code
+ * PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+ * LoadStates.setProvider(util::isLoaded);
+ * }</pre>
+ * A implementação não pode, ela mesma, disparar o carregamento.
+ */
+@FunctionalInterface
+public interface LoadStateProvider {
+
+    boolean isLoaded(Object entity, String attribute);
+}
@@ -0,0 +1,36 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Ponto de consulta usado pelo from gerado com {@code skipUnloaded = true}.
+ * <p>
+ * O provider inicial é o primeiro {@link LoadStateProvider} encontrado pelo
+ * {@link ServiceLoader}; sem nenhum registrado, tudo é considerado carregado.
+ */
+public final class LoadStates {
+
+    private static final LoadStateProvider ALWAYS_LOADED = (entity, attribute) -> true;
+
+    private static volatile LoadStateProvider provider = loadProvider();
+
+    private LoadStates() {
+    }
+
+    public static boolean isLoaded(Object entity, String attribute) {
+        return provider.isLoaded(entity, attribute);
+    }
+
+    /**
+     * Substitui o provider; {@code null} volta a considerar tudo carregado.
+     */
+    public static void setProvider(LoadStateProvider newProvider) {
+        provider = newProvider != null ? newProvider : ALWAYS_LOADED;
+    }
+
+    private static LoadStateProvider loadProvider() {
+        Iterator<LoadStateProvider> providers = ServiceLoader.load(LoadStateProvider.class).iterator();
+        return providers.hasNext() ? providers.next() : ALWAYS_LOADED;
+    }
+}
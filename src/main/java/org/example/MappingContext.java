@@ -0,0 +1,57 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Contexto de mapeamento de um grafo de entidades, usado pelo
+ * {@code from(model, context)} gerado.
+ * <p>
+ * Guarda, por identidade, o DTO já produzido para cada entidade: uma entidade
+ * referenciada várias vezes no grafo é mapeada uma única vez e o mesmo DTO é
+ * reaproveitado. Como o DTO é registrado antes dos relacionamentos serem
+ * mapeados, ciclos (diretos ou indiretos) terminam na instância já registrada.
+ * Isso vale para DTOs mutáveis ligados por objetos, listas e maps: um DTO
+ * imutável só existe depois dos relacionamentos, e o {@code add} num Set
+ * calcula o hashCode do DTO ainda em construção, então o processador recusa
+ * os dois dentro de um ciclo.
+ * <p>
+ * Em grafos cíclicos o {@code equals}, {@code hashCode} e {@code toString}
+ * gerados também percorrem o ciclo; evite usá-los nesses DTOs.
+ * <p>
+ * Não é thread-safe: use uma instância por operação de mapeamento.
+ */
+public final class MappingContext {
+
+    private final Map<Class<?>, IdentityHashMap<Object, Object>> mapped = new HashMap<>();
+
+    /**
+     * DTO do tipo {@code dtoType} já mapeado para {@code model}, ou {@code null}.
+     */
+    public <T> T get(Object model, Class<T> dtoType) {
+        IdentityHashMap<Object, Object> byModel = mapped.get(dtoType);
+        if (byModel == null) {
+            return null;
+        }
+        return dtoType.cast(byModel.get(model));
+    }
+
+    /**
+     * Registra o DTO produzido para {@code model}.
+     */
+    public void put(Object model, Object dto) {
+        mapped.computeIfAbsent(dto.getClass(), k -> new IdentityHashMap<>()).put(model, dto);
+    }
+
+    /**
+     * Quantidade de DTOs registrados no contexto.
+     */
+    public int size() {
+        int size = 0;
+        for (IdentityHashMap<Object, Object> byModel : mapped.values()) {
+            size += byModel.size();
+        }
+        return size;
+    }
+}
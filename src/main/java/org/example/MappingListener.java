@@ -0,0 +1,48 @@
+package org.example;
+
+/**
+ * Recebe as métricas de mapeamento dos DTOs gerados com
+ * {@code @GenerateDTO(mappingMetrics = true)}.
+ * <p>
+ * Registrado via {@link java.util.ServiceLoader}
+ * ({@code META-INF/services/org.example.MappingListener}), o que já liga as
+ * métricas, ou com {@link MappingMetrics#setListener(MappingListener)}, que
+ * exige a JVM iniciada com {@code -Dgenerate.dto.metrics=true} (sem ela as
+ * métricas ficam desligadas e {@code setListener} lança
+ * {@link IllegalStateException}). Os métodos são chamados na thread que faz o
+ * mapeamento, a cada chamada: a implementação deve ser thread-safe e barata
+ * (contadores, histogramas), como um adaptador para o registry de métricas da
+ * aplicação:
+ * <pre>{@code
+ * // java -Dgenerate.dto.metrics=true ...
+ * MappingMetrics.setListener((dto, operation, nanos, depth) ->
+ *         registry.timer("dto.mapping", "dto", dto.getSimpleName(), "op", operation.name())
+ *                 .record(nanos, TimeUnit.NANOSECONDS));
+ * }</pre>
+ */
+@FunctionalInterface
+public interface MappingListener {
+
+    enum Operation {
+        /** {@code from(model)} e {@code from(model, context)}. */
+        FROM,
+        /** {@code toModel()}. */
+        TO_MODEL
+    }
+
+    /**
+     * Um mapeamento de {@code dto} terminou (também por exceção).
+     *
+     * @param nanos tempo da chamada, incluindo os DTOs aninhados mapeados por ela
+     * @param depth profundidade no grafo: 0 na chamada feita pela aplicação,
+     *              1 nos DTOs aninhados dela, e assim por diante
+     */
+    void mapped(Class<?> dto, Operation operation, long nanos, int depth);
+
+    /**
+     * Tamanho de uma coleção, map ou array do DTO mapeado, informado antes de
+     * {@link #mapped(Class, Operation, long, int)}. Campos nulos não são informados.
+     */
+    default void collectionMapped(Class<?> dto, Operation operation, String field, int size) {
+    }
+}
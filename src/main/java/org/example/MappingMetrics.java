@@ -0,0 +1,71 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Ponto de coleta usado pelos DTOs gerados com {@code mappingMetrics = true}.
+ * <p>
+ * {@link #ENABLED} é decidido uma vez, na inicialização da classe: ligado com
+ * {@code -Dgenerate.dto.metrics=true} ou quando há um {@link MappingListener}
+ * registrado no {@link ServiceLoader}. Os DTOs copiam o valor para um
+ * {@code static final}; desligado, o JIT elimina o desvio e o from/toModel
+ * custam o mesmo que sem métricas.
+ */
+public final class MappingMetrics {
+
+    public static final String PROPERTY = "generate.dto.metrics";
+
+    private static final MappingListener NONE = (dto, operation, nanos, depth) -> {
+    };
+
+    private static volatile MappingListener listener = loadListener();
+
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY) || listener != NONE;
+
+    // Profundidade do mapeamento em andamento na thread
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private MappingMetrics() {
+    }
+
+    /**
+     * Substitui o listener; {@code null} descarta as métricas.
+     *
+     * @throws IllegalStateException se as métricas estão desligadas (sem
+     *         {@code -Dgenerate.dto.metrics=true} nem listener no {@link ServiceLoader}):
+     *         os DTOs nunca chamariam o listener
+     */
+    public static void setListener(MappingListener newListener) {
+        if (!ENABLED && newListener != null) {
+            throw new IllegalStateException("métricas de mapeamento desligadas: inicie a JVM com -D"
+                    + PROPERTY + "=true ou registre o listener em META-INF/services/"
+                    + MappingListener.class.getName());
+        }
+        listener = newListener != null ? newListener : NONE;
+    }
+
+    /**
+     * Início de um mapeamento; devolve a profundidade dele, a ser repassada
+     * a {@link #exit(Class, MappingListener.Operation, long, int)}.
+     */
+    public static int enter() {
+        return DEPTH.get()[0]++;
+    }
+
+    public static void collection(Class<?> dto, MappingListener.Operation operation, String field, int size) {
+        listener.collectionMapped(dto, operation, field, size);
+    }
+
+    // Restaura a profundidade mesmo se um mapeamento aninhado terminou por exceção
+    public static void exit(Class<?> dto, MappingListener.Operation operation, long start, int depth) {
+        long nanos = System.nanoTime() - start;
+        DEPTH.get()[0] = depth;
+        listener.mapped(dto, operation, nanos, depth);
+    }
+
+    private static MappingListener loadListener() {
+        Iterator<MappingListener> listeners = ServiceLoader.load(MappingListener.class).iterator();
+        return listeners.hasNext() ? listeners.next() : NONE;
+    }
+}
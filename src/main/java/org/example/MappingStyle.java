@@ -0,0 +1,21 @@
+package org.example;
+
+/**
+ * Como o DTO gerado converte coleções e maps de entidades aninhadas
+ * em {@code from} e {@code toModel}.
+ */
+public enum MappingStyle {
+
+    /**
+     * {@code stream().map(...).collect(...)}.
+     */
+    STREAM,
+
+    /**
+     * Laços simples preenchendo coleções já dimensionadas pelo {@code size()}
+     * da origem: {@code ArrayList} para List/Collection, {@code LinkedHashSet}
+     * para Set e {@code HashMap} para Map. Evita lambdas, o pipeline do stream
+     * e o redimensionamento das coleções de destino.
+     */
+    LOOP
+}
@@ -2,5 +2,11 @@ package org.example;
 
 public @interface NestedDTO {
     String field();
-    String dto();
-}
\ No newline at end of file
+
+    // Nome do DTO: simples (ex: EnderecoResumoDTO), no pacote da entidade relacionada, ou
+    // qualificado (ex: com.acme.api.EnderecoResumoDTO); vazio = resolvido pela projeção
+    String dto() default "";
+
+    // Projeção da entidade relacionada (GenerateDTO.name); usada quando dto está vazio
+    String projection() default "";
+}
@@ -0,0 +1,254 @@
+package org.example;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Estatísticas de geração do {@link GenerateDTOProcessor}, ligadas com
+ * {@code -Agenerate.dto.stats=caminho}.
+ * <p>
+ * Para cada DTO gerado registra o round, o tempo de cada fase, a quantidade
+ * de campos e relacionamentos e o tamanho do fonte. No último round grava o
+ * relatório em {@code caminho} (CSV se terminar em {@code .csv}, senão JSON)
+ * e emite um resumo como NOTE do {@link Messager}.
+ * <p>
+ * As fases {@link Phase#LOOKUP} e {@link Phase#IMPORTS} acontecem dentro de
+ * {@link Phase#ANALYSIS} e {@link Phase#WRITE}, cujos tempos as incluem.
+ * Desligado, {@link #start()} não consulta o relógio e nada é registrado.
+ * <p>
+ * Não é thread-safe: só a thread do compilador registra; o tempo de
+ * {@link Phase#RENDER}, medido nas threads de renderização, chega por
+ * {@link #record(Phase, long)}.
+ */
+final class ProcessorStats {
+
+    static final String OPTION = "generate.dto.stats";
+
+    enum Phase {
+        ANALYSIS,
+        LOOKUP,
+        IMPORTS,
+        RENDER,
+        WRITE
+    }
+
+    private static final int SLOWEST = 5;
+
+    // null = desligado
+    private final String path;
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<long[]> rounds = new ArrayList<>();
+    private Entry current;
+
+    ProcessorStats(String path) {
+        this.path = path == null || path.trim().isEmpty() ? null : path.trim();
+    }
+
+    boolean enabled() {
+        return path != null;
+    }
+
+    long start() {
+        return path == null ? 0L : System.nanoTime();
+    }
+
+    void stop(Phase phase, long start) {
+        if (path != null && current != null) {
+            current.nanos[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    // Tempo medido fora da entidade corrente (a renderização roda nas threads do pool)
+    void record(Phase phase, long nanos) {
+        if (path != null && current != null) {
+            current.nanos[phase.ordinal()] += nanos;
+            current.totalNanos += nanos;
+        }
+    }
+
+    void beginRound() {
+        if (path != null) {
+            rounds.add(new long[]{System.nanoTime(), 0L});
+        }
+    }
+
+    void endRound() {
+        if (path != null) {
+            long[] round = rounds.get(rounds.size() - 1);
+            round[1] = System.nanoTime() - round[0];
+        }
+    }
+
+    /**
+     * Começa a medir uma entidade; o valor devolvido retoma a medição com
+     * {@link #resumeEntity(int)} depois de {@link #suspendEntity()}.
+     */
+    int beginEntity(String entity) {
+        if (path == null) {
+            return -1;
+        }
+        current = new Entry(rounds.size(), entity);
+        current.resumedAt = System.nanoTime();
+        entries.add(current);
+        return entries.size() - 1;
+    }
+
+    // Entre a análise e a geração outras entidades são processadas; esse tempo não conta
+    void suspendEntity() {
+        if (path != null && current != null) {
+            current.totalNanos += System.nanoTime() - current.resumedAt;
+            current = null;
+        }
+    }
+
+    void resumeEntity(int entity) {
+        if (path != null && entity >= 0) {
+            current = entries.get(entity);
+            current.resumedAt = System.nanoTime();
+        }
+    }
+
+    void endEntity(String dto, String status, int fields, int relations, int bytes) {
+        if (path != null && current != null) {
+            current.dto = dto;
+            current.status = status;
+            current.fields = fields;
+            current.relations = relations;
+            current.bytes = bytes;
+            suspendEntity();
+        }
+    }
+
+    /**
+     * Grava o relatório e emite o resumo; chamado uma vez, no último round.
+     */
+    void report(Messager messager) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Path file = Paths.get(path);
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                if (path.endsWith(".csv")) {
+                    writeCsv(w);
+                } else {
+                    writeJson(w);
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "generate-dto: não foi possível gravar " + path + ": " + e.getMessage());
+        }
+        messager.printMessage(Diagnostic.Kind.NOTE, summary());
+    }
+
+    private String summary() {
+        long total = 0;
+        int generated = 0;
+        int unchanged = 0;
+        for (Entry entry : entries) {
+            total += entry.totalNanos;
+            if ("GERADO".equals(entry.status)) {
+                generated++;
+            } else if ("INALTERADO".equals(entry.status)) {
+                unchanged++;
+            }
+        }
+
+        List<Entry> slowest = new ArrayList<>(entries);
+        slowest.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("generate-dto: ").append(entries.size()).append(" DTOs (")
+                .append(generated).append(" gerados, ").append(unchanged).append(" inalterados) em ")
+                .append(millis(total)).append(" ms, ").append(rounds.size()).append(" rounds");
+        for (int i = 0; i < Math.min(SLOWEST, slowest.size()); i++) {
+            Entry entry = slowest.get(i);
+            sb.append(i == 0 ? "; mais lentos: " : ", ")
+                    .append(entry.dto != null ? entry.dto : entry.entity)
+                    .append(" (").append(millis(entry.totalNanos)).append(" ms)");
+        }
+        sb.append("; relatório em ").append(path);
+        return sb.toString();
+    }
+
+    private void writeJson(Writer w) throws IOException {
+        w.write("{\n  \"rounds\": [");
+        for (int i = 0; i < rounds.size(); i++) {
+            w.write(i == 0 ? "\n" : ",\n");
+            w.write("    {\"round\": " + (i + 1) + ", \"totalNs\": " + rounds.get(i)[1] + "}");
+        }
+        w.write("\n  ],\n  \"entities\": [");
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            w.write(i == 0 ? "\n" : ",\n");
+            w.write("    {\"round\": " + entry.round + ", \"entity\": ");
+            JsonSupport.writeString(w, entry.entity);
+            w.write(", \"dto\": ");
+            JsonSupport.writeString(w, entry.dto);
+            w.write(", \"status\": ");
+            JsonSupport.writeString(w, entry.status);
+            w.write(", \"fields\": " + entry.fields
+                    + ", \"relations\": " + entry.relations
+                    + ", \"bytes\": " + entry.bytes);
+            for (Phase phase : Phase.values()) {
+                w.write(", \"" + phase.name().toLowerCase() + "Ns\": " + entry.nanos[phase.ordinal()]);
+            }
+            w.write(", \"totalNs\": " + entry.totalNanos + "}");
+        }
+        w.write("\n  ]\n}\n");
+    }
+
+    private void writeCsv(Writer w) throws IOException {
+        w.write("round,entity,dto,status,fields,relations,bytes");
+        for (Phase phase : Phase.values()) {
+            w.write("," + phase.name().toLowerCase() + "Ns");
+        }
+        w.write(",totalNs\n");
+        for (Entry entry : entries) {
+            // Nomes qualificados Java não contêm vírgulas nem aspas
+            w.write(entry.round + "," + entry.entity + "," + (entry.dto != null ? entry.dto : "")
+                    + "," + (entry.status != null ? entry.status : "")
+                    + "," + entry.fields + "," + entry.relations + "," + entry.bytes);
+            for (Phase phase : Phase.values()) {
+                w.write("," + entry.nanos[phase.ordinal()]);
+            }
+            w.write("," + entry.totalNanos + "\n");
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Entry {
+
+        private final int round;
+        private final String entity;
+        private final long[] nanos = new long[Phase.values().length];
+        private String dto;
+        private String status;
+        private int fields;
+        private int relations;
+        private int bytes;
+        private long totalNanos;
+        private long resumedAt;
+
+        Entry(int round, String entity) {
+            this.round = round;
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package org.example;
+
+import javax.lang.model.element.Element;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo dos relacionamentos aninhados entre os DTOs de um round.
+ * <p>
+ * Cada DTO é um vértice e cada campo NESTED/COLLECTION/MAP uma aresta até o
+ * DTO do elemento, seja ele declarado em {@link NestedDTO} (manual) ou
+ * detectado automaticamente. As componentes fortemente conexas saem do
+ * algoritmo de Tarjan em O(V + E); dentro de cada uma, os ciclos elementares
+ * são enumerados por busca em profundidade a partir do menor vértice de cada
+ * ciclo. As duas buscas são iterativas para não estourar a pilha em cadeias
+ * longas de entidades.
+ */
+final class RelationGraph {
+
+    /**
+     * Ciclos listados por componente; acima disso o último é marcado
+     * {@link Cycle#truncated()} (componentes densas têm ciclos em número exponencial).
+     */
+    static final int MAX_CYCLES = 100;
+
+    /**
+     * Um ciclo elementar: os DTOs na ordem do caminho que volta ao início, o
+     * campo de cada um que leva ao próximo, e se ele é formado só por
+     * relacionamentos declarados em {@link NestedDTO}.
+     */
+    static final class Cycle {
+
+        private final List<String> members;
+        private final List<String> fields;
+        private final boolean[] hashed;
+        private final String path;
+        private final boolean manual;
+        private boolean truncated;
+
+        private Cycle(List<String> members, List<String> fields, boolean[] hashed, String path, boolean manual) {
+            this.members = members;
+            this.fields = fields;
+            this.hashed = hashed;
+            this.path = path;
+            this.manual = manual;
+        }
+
+        List<String> members() {
+            return members;
+        }
+
+        /**
+         * Campo de {@code members().get(i)} que leva ao DTO seguinte do ciclo.
+         */
+        List<String> fields() {
+            return fields;
+        }
+
+        /**
+         * Se o campo {@code fields().get(i)} é um Set, que calcula o hashCode dos elementos.
+         */
+        boolean hashed(int i) {
+            return hashed[i];
+        }
+
+        String path() {
+            return path;
+        }
+
+        boolean manual() {
+            return manual;
+        }
+
+        /**
+         * Se a componente deste ciclo tem outros além dos {@link #MAX_CYCLES} listados.
+         */
+        boolean truncated() {
+            return truncated;
+        }
+    }
+
+    private static final class Edge {
+
+        private final int target;
+        private final String field;
+        private final boolean manual;
+        private final boolean hashed;
+
+        private Edge(int target, String field, boolean manual, boolean hashed) {
+            this.target = target;
+            this.field = field;
+            this.manual = manual;
+            this.hashed = hashed;
+        }
+    }
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Element> elements = new ArrayList<>();
+    private final List<List<Edge>> edges = new ArrayList<>();
+
+    void clear() {
+        index.clear();
+        names.clear();
+        elements.clear();
+        edges.clear();
+    }
+
+    /**
+     * Registra o DTO gerado a partir de {@code element}.
+     */
+    void addNode(String dto, Element element) {
+        elements.set(node(dto), element);
+    }
+
+    /**
+     * Relacionamento {@code field} de {@code from} para {@code to}; {@code hashed}
+     * quando o container é um Set.
+     */
+    void addEdge(String from, String to, String field, boolean manual, boolean hashed) {
+        int source = node(from);
+        edges.get(source).add(new Edge(node(to), field, manual, hashed));
+    }
+
+    /**
+     * Entidade que gerou o DTO, ou {@code null} se ele não é deste round.
+     */
+    Element element(String dto) {
+        Integer node = index.get(dto);
+        return node == null ? null : elements.get(node);
+    }
+
+    /**
+     * Todos os ciclos elementares do grafo, cada um com o caminho completo e
+     * começando pelo DTO registrado primeiro, na ordem em que esses DTOs foram
+     * registrados. Dois campos para o mesmo DTO formam ciclos distintos.
+     */
+    List<Cycle> cycles() {
+        List<int[]> components = components();
+        for (int[] component : components) {
+            Arrays.sort(component);
+        }
+        components.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        List<Cycle> cycles = new ArrayList<>();
+        for (int[] component : components) {
+            enumerate(component, cycles);
+        }
+        return cycles;
+    }
+
+    private int node(String dto) {
+        Integer node = index.get(dto);
+        if (node == null) {
+            node = names.size();
+            index.put(dto, node);
+            names.add(dto);
+            elements.add(null);
+            edges.add(new ArrayList<>());
+        }
+        return node;
+    }
+
+    // Tarjan iterativo; devolve só as componentes com ciclo (mais de um vértice ou laço)
+    private List<int[]> components() {
+        int size = names.size();
+        int[] order = new int[size];
+        int[] low = new int[size];
+        int[] next = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(order, -1);
+
+        int[] stack = new int[size];
+        int stackSize = 0;
+        int[] callStack = new int[size];
+        int counter = 0;
+        List<int[]> components = new ArrayList<>();
+
+        for (int root = 0; root < size; root++) {
+            if (order[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            order[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                List<Edge> out = edges.get(node);
+                if (next[node] < out.size()) {
+                    int target = out.get(next[node]++).target;
+                    if (order[target] == -1) {
+                        order[target] = low[target] = counter++;
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        callStack[depth++] = target;
+                    } else if (onStack[target]) {
+                        low[node] = Math.min(low[node], order[target]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+                if (low[node] == order[node]) {
+                    int start = stackSize;
+                    do {
+                        onStack[stack[--start]] = false;
+                    } while (stack[start] != node);
+                    int[] component = Arrays.copyOfRange(stack, start, stackSize);
+                    stackSize = start;
+                    if (component.length > 1 || hasSelfLoop(node)) {
+                        components.add(component);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    private boolean hasSelfLoop(int node) {
+        for (Edge edge : edges.get(node)) {
+            if (edge.target == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Cada ciclo elementar começa no seu menor vértice: a partir de start, a busca só passa
+    // por vértices maiores da componente (sorted, em ordem crescente) e fora do caminho
+    // atual, e registra cada aresta que volta a start
+    private void enumerate(int[] sorted, List<Cycle> cycles) {
+        boolean[] onPath = new boolean[names.size()];
+        int[] nodes = new int[sorted.length];
+        Edge[] steps = new Edge[sorted.length];
+        int[] next = new int[sorted.length];
+        int found = 0;
+
+        for (int start : sorted) {
+            int depth = 0;
+            nodes[0] = start;
+            next[0] = 0;
+            onPath[start] = true;
+            while (depth >= 0) {
+                int node = nodes[depth];
+                List<Edge> out = edges.get(node);
+                if (next[depth] == out.size()) {
+                    onPath[node] = false;
+                    depth--;
+                    continue;
+                }
+                Edge edge = out.get(next[depth]++);
+                if (edge.target == start) {
+                    if (found == MAX_CYCLES) {
+                        cycles.get(cycles.size() - 1).truncated = true;
+                        return;
+                    }
+                    steps[depth] = edge;
+                    cycles.add(cycle(nodes, steps, depth + 1));
+                    found++;
+                } else if (edge.target > start && !onPath[edge.target]
+                        && Arrays.binarySearch(sorted, edge.target) >= 0) {
+                    steps[depth] = edge;
+                    depth++;
+                    nodes[depth] = edge.target;
+                    next[depth] = 0;
+                    onPath[edge.target] = true;
+                }
+            }
+        }
+    }
+
+    // nodes[i] -[steps[i]]-> nodes[i + 1], e o último volta a nodes[0]
+    private Cycle cycle(int[] nodes, Edge[] steps, int length) {
+        StringBuilder path = new StringBuilder();
+        List<String> members = new ArrayList<>(length);
+        List<String> fields = new ArrayList<>(length);
+        boolean[] hashed = new boolean[length];
+        boolean manual = true;
+        for (int i = 0; i < length; i++) {
+            members.add(names.get(nodes[i]));
+            fields.add(steps[i].field);
+            hashed[i] = steps[i].hashed;
+            manual &= steps[i].manual;
+            path.append(simpleName(names.get(nodes[i])))
+                    .append(" -[").append(steps[i].field).append("]-> ");
+        }
+        path.append(simpleName(names.get(nodes[0])));
+        return new Cycle(members, fields, hashed, path.toString(), manual);
+    }
+
+    private static String simpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,196 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Campos alterados ({@code dirtyFields}) e {@code applyTo} dos DTOs mutáveis:
+ * só o que mudou chega à entidade, e relacionamentos são atualizados nas
+ * entidades e coleções que ela já tem.
+ */
+class ApplyToTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+    private static Class<?> produtos;
+    private static Class<?> produtoDTO;
+    private static Class<?> itemDTO;
+
+    private Object produto;
+    private Object dto;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "applyto");
+        produtos = compilation.load("applyto.Produtos");
+        produtoDTO = compilation.load("applyto.ProdutoDTO");
+        itemDTO = compilation.load("applyto.ItemDTO");
+    }
+
+    @BeforeEach
+    void mapProduto() throws Exception {
+        produto = Compilation.call(produtos, "produto");
+        dto = Compilation.call(produtoDTO, "from", produto);
+    }
+
+    @Test
+    void copiesOnlyDirtyFields() throws Exception {
+        assertTrue(dirtyFields(dto).isEmpty());
+        Object fornecedor = Compilation.call(produto, "getFornecedor");
+        Object itens = Compilation.call(produto, "getItens");
+
+        Compilation.call(dto, "setEstoque", 3);
+        Compilation.call(produto, "setNome", "alterado na entidade");
+        Compilation.call(dto, "applyTo", produto);
+
+        assertEquals(Set.of("estoque"), dirtyFields(dto));
+        assertEquals(3, Compilation.call(produto, "getEstoque"));
+        assertEquals("alterado na entidade", Compilation.call(produto, "getNome"));
+        assertSame(fornecedor, Compilation.call(produto, "getFornecedor"));
+        assertSame(itens, Compilation.call(produto, "getItens"));
+
+        Compilation.call(dto, "clearDirty");
+        assertTrue(dirtyFields(dto).isEmpty());
+    }
+
+    @Test
+    void updatesNestedEntityInPlace() throws Exception {
+        Object fornecedor = Compilation.call(produto, "getFornecedor");
+        Object nested = Compilation.call(dto, "getFornecedor");
+        Compilation.call(nested, "setNome", "outro");
+
+        // Alterar o DTO aninhado não marca o pai
+        Compilation.call(dto, "applyTo", produto);
+        assertEquals("acme", Compilation.call(fornecedor, "getNome"));
+
+        Compilation.call(dto, "setFornecedor", nested);
+        Compilation.call(dto, "applyTo", produto);
+        assertSame(fornecedor, Compilation.call(produto, "getFornecedor"));
+        assertEquals("outro", Compilation.call(fornecedor, "getNome"));
+
+        Compilation.call(dto, "setFornecedor", (Object) null);
+        Compilation.call(dto, "applyTo", produto);
+        assertNull(Compilation.call(produto, "getFornecedor"));
+    }
+
+    @Test
+    void updatesCollectionsInPlace() throws Exception {
+        List<?> itens = (List<?>) Compilation.call(produto, "getItens");
+        Object primeiro = itens.get(0);
+        Set<?> brindes = (Set<?>) Compilation.call(produto, "getBrindes");
+        Map<?, ?> porCodigo = (Map<?, ?>) Compilation.call(produto, "getPorCodigo");
+        Object x = porCodigo.get("x");
+
+        List<Object> novosItens = new ArrayList<>((List<?>) Compilation.call(dto, "getItens"));
+        Compilation.call(novosItens.get(0), "setNome", "a2");
+        novosItens.subList(1, novosItens.size()).clear();
+        novosItens.add(item("d"));
+        novosItens.add(null);
+        Compilation.call(dto, "setItens", novosItens);
+
+        Compilation.call(dto, "setBrindes", Set.of(item("chaveiro")));
+
+        Map<String, Object> novoPorCodigo = new LinkedHashMap<>((Map<String, ?>) Compilation.call(dto, "getPorCodigo"));
+        Compilation.call(novoPorCodigo.get("x"), "setNome", "x2");
+        novoPorCodigo.remove("y");
+        novoPorCodigo.put("z", item("z"));
+        Compilation.call(dto, "setPorCodigo", novoPorCodigo);
+
+        Compilation.call(dto, "applyTo", produto);
+
+        assertSame(itens, Compilation.call(produto, "getItens"));
+        assertSame(primeiro, itens.get(0));
+        assertEquals(Arrays.asList("a2", "d", null), nomes(itens));
+        assertSame(brindes, Compilation.call(produto, "getBrindes"));
+        assertEquals(Arrays.asList("chaveiro"), nomes(brindes));
+        assertSame(porCodigo, Compilation.call(produto, "getPorCodigo"));
+        assertSame(x, porCodigo.get("x"));
+        assertEquals("x2", Compilation.call(x, "getNome"));
+        assertEquals(Set.of("x", "z"), porCodigo.keySet());
+
+        Compilation.call(dto, "setItens", (Object) null);
+        Compilation.call(dto, "applyTo", produto);
+        assertNull(Compilation.call(produto, "getItens"));
+    }
+
+    @Test
+    void resolvesChangedFlattenIds() throws Exception {
+        Object categoria = Compilation.call(produto, "getCategoria");
+
+        // Mesmo ID: a entidade atual fica, sem precisar de resolver
+        Compilation.call(dto, "setCategoriaId", 1L);
+        Compilation.call(dto, "applyTo", produto);
+        assertSame(categoria, Compilation.call(produto, "getCategoria"));
+
+        Compilation.call(dto, "setCategoriaId", 2L);
+        IllegalStateException semResolver = assertThrows(IllegalStateException.class,
+                () -> Compilation.call(dto, "applyTo", produto));
+        assertTrue(semResolver.getMessage().contains("categoriaId = 2"), semResolver::getMessage);
+        assertSame(categoria, Compilation.call(produto, "getCategoria"));
+
+        Map<Object, Object> banco = new HashMap<>();
+        banco.put(2L, Compilation.call(produtos, "categoria", 2L));
+        Compilation.call(dto, "applyTo", produto, resolver(banco));
+        assertSame(banco.get(2L), Compilation.call(produto, "getCategoria"));
+
+        Compilation.call(dto, "setCategoriaId", 3L);
+        assertThrows(IllegalStateException.class, () -> Compilation.call(dto, "applyTo", produto, resolver(banco)));
+
+        Compilation.call(dto, "setCategoriaId", (Object) null);
+        Compilation.call(dto, "applyTo", produto);
+        assertNull(Compilation.call(produto, "getCategoria"));
+    }
+
+    private static IdResolver resolver(Map<Object, Object> banco) {
+        return new IdResolver() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <I, E> Map<I, E> loadAll(Class<E> entityType, Set<I> ids) {
+                Map<I, E> loaded = new HashMap<>();
+                for (I id : ids) {
+                    if (banco.containsKey(id)) {
+                        loaded.put(id, (E) banco.get(id));
+                    }
+                }
+                return loaded;
+            }
+        };
+    }
+
+    private static Object item(String nome) throws Exception {
+        Object item = itemDTO.getConstructor().newInstance();
+        Compilation.call(item, "setNome", nome);
+        return item;
+    }
+
+    private static Set<?> dirtyFields(Object dto) throws Exception {
+        return (Set<?>) Compilation.call(dto, "dirtyFields");
+    }
+
+    private static List<Object> nomes(Collection<?> itens) throws Exception {
+        List<Object> nomes = new ArrayList<>();
+        for (Object item : itens) {
+            nomes.add(item != null ? Compilation.call(item, "getNome") : null);
+        }
+        return nomes;
+    }
+}
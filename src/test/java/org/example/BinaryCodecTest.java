@@ -0,0 +1,92 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Ida e volta do codec binário ({@code binaryCodec = true}): {@code readFrom}
+ * devolve um DTO igual ao gravado por {@code writeTo}, que ocupa exatamente
+ * {@code serializedSize()} bytes a partir da posição do buffer.
+ */
+class BinaryCodecTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+
+    private static Map<String, Object> samples;
+
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "binary");
+        samples = (Map<String, Object>) Compilation.call(compilation.load("binary.Registros"), "registros");
+    }
+
+    static Stream<Arguments> samples() {
+        return samples.entrySet().stream().map(e -> Arguments.of(e.getKey(), e.getValue()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("samples")
+    void roundTripsThroughTheBuffer(String name, Object entity) throws Exception {
+        Object dto = toDTO(entity);
+        int size = (Integer) Compilation.call(dto, "serializedSize");
+
+        // Começa depois de um prefixo e deixa folga no fim: o codec usa só a posição
+        ByteBuffer buf = ByteBuffer.allocate(size + 16);
+        buf.putLong(0x5EED);
+        Compilation.call(dto, "writeTo", buf);
+        assertEquals(8 + size, buf.position());
+
+        buf.flip();
+        assertEquals(0x5EED, buf.getLong());
+        Object read = Compilation.call(dto.getClass(), "readFrom", buf);
+        assertEquals(8 + size, buf.position());
+        assertNotSame(dto, read);
+        assertEquals(dto, read);
+    }
+
+    @Test
+    void readsConsecutiveDTOs() throws Exception {
+        Object completo = toDTO(samples.get("completo"));
+        Object vazio = toDTO(samples.get("vazio"));
+        ByteBuffer buf = ByteBuffer.allocateDirect((Integer) Compilation.call(completo, "serializedSize")
+                + (Integer) Compilation.call(vazio, "serializedSize"));
+        Compilation.call(completo, "writeTo", buf);
+        Compilation.call(vazio, "writeTo", buf);
+
+        buf.flip();
+        assertEquals(completo, Compilation.call(completo.getClass(), "readFrom", buf));
+        assertEquals(vazio, Compilation.call(vazio.getClass(), "readFrom", buf));
+        assertEquals(0, buf.remaining());
+    }
+
+    @Test
+    void failsOnTruncatedInput() throws Exception {
+        Object dto = toDTO(samples.get("completo"));
+        ByteBuffer buf = ByteBuffer.allocate((Integer) Compilation.call(dto, "serializedSize"));
+        Compilation.call(dto, "writeTo", buf);
+
+        buf.flip().limit(buf.limit() - 1);
+        assertThrows(BufferUnderflowException.class, () -> Compilation.call(dto.getClass(), "readFrom", buf));
+    }
+
+    private static Object toDTO(Object entity) throws Exception {
+        return Compilation.call(compilation.load(entity.getClass().getName() + "DTO"), "from", entity);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * {@code fromAll}/{@code toModelAll} gerados abaixo e acima de
+ * {@link BulkMapping#PARALLEL_THRESHOLD}: mesma ordem e mesmo tipo de lista.
+ */
+class BulkMappingTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "bulk");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, 2049, 5000})
+    void fromAllKeepsOrderAndReturnsGrowableList(int size) throws Exception {
+        List<Object> produtos = produtos(size);
+
+        List<?> dtos = (List<?>) Compilation.call(compilation.load("bulk.ProdutoDTO"), "fromAll", produtos);
+
+        assertEquals(ArrayList.class, dtos.getClass());
+        assertEquals(size, dtos.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals((long) i, Compilation.call(dtos.get(i), "getId"));
+        }
+        addNull(dtos);
+        assertEquals(size + 1, dtos.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 5000})
+    void toModelAllKeepsOrderAndNullsWithExecutor(int size) throws Exception {
+        List<Object> produtos = produtos(size);
+        Class<?> dtoType = compilation.load("bulk.ProdutoDTO");
+        List<Object> dtos = new ArrayList<>((List<?>) Compilation.call(dtoType, "fromAll", produtos));
+        dtos.set(1, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<?> models = (List<?>) Compilation.call(dtoType, "toModelAll", dtos, executor);
+
+            assertEquals(ArrayList.class, models.getClass());
+            assertNull(models.get(1));
+            assertEquals("p" + (size - 1), Compilation.call(models.get(size - 1), "getNome"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void mapAllRethrowsMapperFailure() {
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            source.add(i);
+        }
+        IllegalStateException failure = new IllegalStateException("falhou");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                    () -> BulkMapping.mapAll(source, i -> {
+                        if (i == 4321) {
+                            throw failure;
+                        }
+                        return i;
+                    }, executor));
+            assertSame(failure, thrown);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addNull(List<?> list) {
+        ((List<Object>) list).add(null);
+    }
+
+    private static List<Object> produtos(int size) throws Exception {
+        Class<?> type = compilation.load("bulk.Produto");
+        List<Object> produtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            produtos.add(type.getConstructor(Long.class, String.class).newInstance((long) i, "p" + i));
+        }
+        return produtos;
+    }
+}
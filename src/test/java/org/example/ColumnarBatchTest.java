@@ -0,0 +1,101 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code XxxDTOBatch} de {@code columnarBatch = true}: cada linha lida das
+ * colunas (e dos bitmaps de nulos) é igual ao DTO mapeado da mesma entidade,
+ * inclusive depois de crescer várias vezes e de um {@code clear()}.
+ */
+class ColumnarBatchTest {
+
+    // Colunas anuláveis: o getter da linha e o isXNull têm de concordar
+    private static final String[] NULLABLE = {"Valor", "Media", "Valida", "Unidade", "SensorId"};
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+    private static Class<?> leituras;
+    private static Class<?> leituraDTO;
+    private static Class<?> batchType;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "batch");
+        leituras = compilation.load("batch.Leituras");
+        leituraDTO = compilation.load("batch.LeituraDTO");
+        batchType = compilation.load("batch.LeituraDTOBatch");
+    }
+
+    // Capacidade 0: cresce de 16 em 1,5x e cruza várias palavras dos bitmaps
+    @Test
+    void growsAndKeepsNullBitmapsPerRow() throws Exception {
+        Object batch = batchType.getConstructor(int.class).newInstance(0);
+        List<?> models = leituras(300, 0);
+        for (Object model : models) {
+            Compilation.call(batch, "append", model);
+        }
+
+        assertRows(batch, models);
+        int[] sequencia = (int[]) Compilation.call(batch, "sequenciaColumn");
+        for (int row = 0; row < models.size(); row++) {
+            assertEquals(row, sequencia[row]);
+        }
+    }
+
+    @Test
+    void clearResetsRowsAndNulls() throws Exception {
+        Object batch = Compilation.call(batchType, "from", leituras(130, 0));
+        Compilation.call(batch, "clear");
+        assertEquals(0, Compilation.call(batch, "size"));
+        assertThrows(IndexOutOfBoundsException.class, () -> Compilation.call(batch, "getValor", 0));
+
+        // Outro padrão de nulos nas mesmas posições: nenhum bit antigo pode sobrar
+        List<?> models = leituras(130, 1);
+        for (Object model : models) {
+            Compilation.call(batch, "append", model);
+        }
+        assertRows(batch, models);
+    }
+
+    @Test
+    void rejectsRowsOutsideTheBatch() throws Exception {
+        Object batch = Compilation.call(batchType, "from", leituras(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> Compilation.call(batch, "getSequencia", 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> Compilation.call(batch, "isValorNull", -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Compilation.call(batch, "get", 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> Compilation.call(batch, "toDTO", 3));
+        InvocationTargetException negative = assertThrows(InvocationTargetException.class,
+                () -> batchType.getConstructor(int.class).newInstance(-1));
+        assertInstanceOf(IllegalArgumentException.class, negative.getCause());
+    }
+
+    private static void assertRows(Object batch, List<?> models) throws Exception {
+        assertEquals(models.size(), Compilation.call(batch, "size"));
+        for (int row = 0; row < models.size(); row++) {
+            Object expected = Compilation.call(leituraDTO, "from", models.get(row));
+            assertEquals(expected, Compilation.call(batch, "toDTO", row), "linha " + row);
+            assertEquals(expected, Compilation.call(Compilation.call(batch, "get", row), "toDTO"), "linha " + row);
+            for (String column : NULLABLE) {
+                Object value = Compilation.call(batch, "get" + column, row);
+                assertEquals(Compilation.call(expected, "get" + column), value, column + " na linha " + row);
+                assertEquals(value == null, Compilation.call(batch, "is" + column + "Null", row),
+                        column + " na linha " + row);
+            }
+        }
+    }
+
+    private static List<?> leituras(int count, int seed) throws Exception {
+        return (List<?>) Compilation.call(leituras, "leituras", count, seed);
+    }
+}
@@ -0,0 +1,209 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Entidades de {@code src/test/resources/<fixture>} compiladas em processo
+ * com o {@link GenerateDTOProcessor}, e um class loader com os DTOs gerados.
+ * <p>
+ * {@link #call} chama métodos por nome (estáticos, recebendo a {@link Class},
+ * ou de instância), para os testes não dependerem em tempo de compilação de
+ * classes que só existem depois do processador.
+ */
+final class Compilation {
+
+    private final boolean success;
+    private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    private final Path classes;
+    private final Path generated;
+    private final ClassLoader loader;
+
+    private Compilation(boolean success,
+                        List<Diagnostic<? extends JavaFileObject>> diagnostics,
+                        Path classes,
+                        Path generated,
+                        ClassLoader loader) {
+        this.success = success;
+        this.diagnostics = diagnostics;
+        this.classes = classes;
+        this.generated = generated;
+        this.loader = loader;
+    }
+
+    /**
+     * Compila os {@code .java} de {@code src/test/resources/<fixture>} em
+     * {@code output}, com as opções {@code -A...} de {@code options}.
+     */
+    static Compilation compile(Path output, String fixture, String... options) throws IOException {
+        Path classes = Files.createDirectories(output.resolve("classes"));
+        Path generated = Files.createDirectories(output.resolve("generated"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "-classpath", runtimePath(), "-d", classes.toString(), "-s", generated.toString(),
+                "-encoding", "UTF-8"));
+        arguments.addAll(Arrays.asList(options));
+        boolean success;
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(collector, Locale.ROOT, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, collector, arguments, null,
+                    files.getJavaFileObjectsFromPaths(sources(fixture)));
+            task.setProcessors(List.of(new GenerateDTOProcessor()));
+            success = task.call();
+        }
+
+        ClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                GenerateDTO.class.getClassLoader());
+        return new Compilation(success, collector.getDiagnostics(), classes, generated, loader);
+    }
+
+    /**
+     * Compila e falha com os erros do javac se a compilação não passar.
+     */
+    static Compilation compileOrFail(Path output, String fixture, String... options) throws IOException {
+        Compilation compilation = compile(output, fixture, options);
+        if (!compilation.success) {
+            throw new AssertionError(fixture + " não compilou:\n" + compilation.errors());
+        }
+        return compilation;
+    }
+
+    boolean success() {
+        return success;
+    }
+
+    /**
+     * Mensagens (sem posição) dos diagnósticos do tipo {@code kind}.
+     */
+    List<String> messages(Diagnostic.Kind kind) {
+        return diagnostics.stream()
+                .filter(d -> d.getKind() == kind)
+                .map(d -> d.getMessage(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    String errors() {
+        return diagnostics.stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(Object::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Código gerado para {@code qualifiedName}, ou {@code null} se não foi gerado.
+     */
+    String generatedSource(String qualifiedName) throws IOException {
+        Path source = generated.resolve(qualifiedName.replace('.', '/') + ".java");
+        return Files.exists(source) ? Files.readString(source) : null;
+    }
+
+    Class<?> load(String qualifiedName) throws ClassNotFoundException {
+        return Class.forName(qualifiedName, true, loader);
+    }
+
+    /**
+     * Class loader novo com os DTOs e as classes de runtime, sem passar pelo do
+     * teste: a inicialização estática delas (ex: {@link MappingMetrics#ENABLED})
+     * roda de novo com as propriedades de sistema do momento.
+     */
+    ClassLoader isolatedLoader() throws IOException {
+        URL runtime = Paths.get(runtimePath()).toUri().toURL();
+        return new URLClassLoader(new URL[]{classes.toUri().toURL(), runtime}, ClassLoader.getPlatformClassLoader());
+    }
+
+    Object newInstance(String qualifiedName) throws ReflectiveOperationException {
+        return load(qualifiedName).getConstructor().newInstance();
+    }
+
+    /**
+     * Chama o método público {@code name} compatível com {@code args}: estático
+     * se {@code target} é uma {@link Class}, senão de instância. Exceções do
+     * método são relançadas como estão.
+     */
+    static Object call(Object target, String name, Object... args) throws Exception {
+        boolean isStatic = target instanceof Class;
+        Class<?> type = isStatic ? (Class<?>) target : target.getClass();
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)
+                    && Modifier.isStatic(method.getModifiers()) == isStatic
+                    && accepts(method.getParameterTypes(), args)) {
+                try {
+                    return method.invoke(isStatic ? null : target, args);
+                } catch (InvocationTargetException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw (Error) e.getCause();
+                }
+            }
+        }
+        throw new NoSuchMethodException(type.getName() + "." + name + " com " + args.length + " argumentos");
+    }
+
+    private static boolean accepts(Class<?>[] parameters, Object[] args) {
+        if (parameters.length != args.length) {
+            return false;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> parameter = parameters[i].isPrimitive() ? box(parameters[i]) : parameters[i];
+            if (args[i] != null ? !parameter.isInstance(args[i]) : parameters[i].isPrimitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> box(Class<?> primitive) {
+        if (primitive == int.class) return Integer.class;
+        if (primitive == long.class) return Long.class;
+        if (primitive == boolean.class) return Boolean.class;
+        if (primitive == double.class) return Double.class;
+        if (primitive == float.class) return Float.class;
+        if (primitive == short.class) return Short.class;
+        if (primitive == byte.class) return Byte.class;
+        return Character.class;
+    }
+
+    private static List<Path> sources(String fixture) throws IOException {
+        Path dir;
+        try {
+            dir = Paths.get(Compilation.class.getResource("/" + fixture).toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    // Diretório (ou jar) com GenerateDTO e as classes de runtime usadas pelos DTOs
+    private static String runtimePath() {
+        try {
+            return Paths.get(GenerateDTO.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Registro de {@code -Agenerate.dto.registry}: projeção padrão e por nome,
+ * subclasses sem DTO (proxies) resolvidas pela superclasse, classes aninhadas
+ * pelo nome binário e entidades não públicas deixadas de fora com um aviso.
+ */
+class DTORegistryTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+    private static Class<?> registro;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "registry", "-Agenerate.dto.registry=registro.Registro");
+        registro = compilation.load("registro.Registro");
+    }
+
+    @Test
+    void defaultProjectionIsTheUnnamedOne() throws Exception {
+        Object cliente = cliente("registry.Cliente");
+        Object dto = Compilation.call(registro, "toDTO", cliente);
+        assertSame(compilation.load("registry.ClienteDTO"), dto.getClass());
+        assertEquals("ana@x", Compilation.call(dto, "getEmail"));
+        assertSame(dto.getClass(), Compilation.call(registro, "dtoType", cliente.getClass()));
+
+        Function<Object, Object> toModel = function("toModelFunction", cliente.getClass());
+        Object model = toModel.apply(dto);
+        assertEquals("ana", Compilation.call(model, "getNome"));
+        assertEquals("ana@x", Compilation.call(model, "getEmail"));
+    }
+
+    @Test
+    void namedProjectionsAndFirstDeclaredFallback() throws Exception {
+        Object resumo = Compilation.call(compilation.load("registry.Usos"), "resumo", cliente("registry.Cliente"));
+        assertSame(compilation.load("registry.ClienteResumoDTO"), resumo.getClass());
+        assertSame(resumo.getClass(), function("fromFunction", compilation.load("registry.Cliente"), "Resumo")
+                .apply(cliente("registry.Cliente")).getClass());
+        assertNull(Compilation.call(registro, "fromFunction", compilation.load("registry.Cliente"), "Outro"));
+
+        Class<?> produto = compilation.load("registry.Produto");
+        assertSame(compilation.load("registry.ProdutoListaDTO"), Compilation.call(registro, "dtoType", produto));
+        assertSame(compilation.load("registry.ProdutoDetalheDTO"),
+                function("fromFunction", produto, "Detalhe").apply(produto.getConstructor().newInstance()).getClass());
+    }
+
+    @Test
+    void subclassesWithoutDtoUseTheSuperclass() throws Exception {
+        Object proxy = cliente("registry.ClienteProxy");
+        Object dto = Compilation.call(registro, "toDTO", proxy);
+        assertSame(compilation.load("registry.ClienteDTO"), dto.getClass());
+        assertEquals("ana", Compilation.call(dto, "getNome"));
+        assertSame(dto.getClass(), Compilation.call(registro, "dtoType", proxy.getClass()));
+        assertSame(compilation.load("registry.ClienteResumoDTO"),
+                function("fromFunction", proxy.getClass(), "Resumo").apply(proxy).getClass());
+    }
+
+    @Test
+    void nestedEntitiesUseTheBinaryName() throws Exception {
+        Object secao = compilation.newInstance("registry.Catalogo$Secao");
+        Compilation.call(secao, "setTitulo", "livros");
+        Object dto = Compilation.call(registro, "toDTO", secao);
+        assertEquals("livros", Compilation.call(dto, "getTitulo"));
+    }
+
+    @Test
+    void entitiesWithoutDtoAreRejected() throws Exception {
+        assertNull(Compilation.call(registro, "toDTO", (Object) null));
+        assertNull(Compilation.call(registro, "dtoType", String.class));
+        assertNull(Compilation.call(registro, "fromFunction", compilation.load("registry.Catalogo")));
+        assertNull(Compilation.call(registro, "toModelFunction", Object.class));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Compilation.call(registro, "toDTO", compilation.newInstance("registry.Catalogo")));
+        assertTrue(e.getMessage().endsWith("registry.Catalogo"), e.getMessage());
+    }
+
+    @Test
+    void nonPublicEntitiesStayOutWithAWarning() throws Exception {
+        assertEquals(Collections.singletonList("Rascunho não é pública e fica fora de registro.Registro"),
+                compilation.messages(Diagnostic.Kind.WARNING).stream()
+                        .filter(m -> m.contains("registro.Registro"))
+                        .collect(Collectors.toList()));
+        Class<?> rascunho = compilation.load("registry.Rascunho");
+        assertNull(Compilation.call(registro, "dtoType", rascunho));
+        // O DTO em si é gerado normalmente
+        assertInstanceOf(Class.class, compilation.load("registry.RascunhoDTO"));
+    }
+
+    private static Object cliente(String type) throws Exception {
+        Object cliente = compilation.newInstance(type);
+        Compilation.call(cliente, "setNome", "ana");
+        Compilation.call(cliente, "setEmail", "ana@x");
+        return cliente;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> function(String name, Object... args) throws Exception {
+        return (Function<Object, Object>) Compilation.call(registro, name, args);
+    }
+}
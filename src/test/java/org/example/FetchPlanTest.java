@@ -0,0 +1,147 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code from(model, FetchPlan)} de {@code fetchPlan = true}: só os
+ * relacionamentos do plano são mapeados, os demais ficam nulos sem que o
+ * getter deles seja chamado, e campos simples e flatten saem sempre.
+ */
+class FetchPlanTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+    private static Class<?> pedidos;
+    private static Class<?> pedidoDTO;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "fetchplan");
+        pedidos = compilation.load("fetchplan.Pedidos");
+        pedidoDTO = compilation.load("fetchplan.PedidoDTO");
+    }
+
+    @Test
+    void allMatchesPlainFrom() throws Exception {
+        Object pedido = pedido();
+        Object full = Compilation.call(pedidoDTO, "from", pedido);
+        lidos();
+        assertEquals(full, from(pedido, FetchPlan.ALL));
+        assertEquals(full, from(pedido, FetchPlan.maxDepth(-1)));
+        assertEquals(full, from(pedido, FetchPlan.paths("*")));
+    }
+
+    @Test
+    void noneKeepsSimpleAndFlattenFields() throws Exception {
+        Object dto = from(pedido(), FetchPlan.NONE);
+        assertEquals(Collections.emptyList(), lidos());
+        assertEquals(7, Compilation.call(dto, "getNumero"));
+        assertEquals(2L, Compilation.call(dto, "getDestaqueId"));
+        assertNull(Compilation.call(dto, "getCliente"));
+        assertNull(Compilation.call(dto, "getItens"));
+        assertNull(Compilation.call(dto, "getPorCodigo"));
+
+        assertEquals(Collections.emptyList(), relations(from(pedido(), FetchPlan.maxDepth(0))));
+        assertEquals(Collections.emptyList(), relations(from(pedido(), FetchPlan.paths())));
+    }
+
+    @Test
+    void pathsLoadOnlyTheirPrefixes() throws Exception {
+        Object dto = from(pedido(), FetchPlan.paths("cliente", "itens.produto"));
+        assertEquals(Arrays.asList("cliente", "itens", "produto"), lidos());
+        assertEquals(Arrays.asList("cliente", "itens"), relations(dto));
+
+        List<?> itens = (List<?>) Compilation.call(dto, "getItens");
+        assertEquals(2, itens.size());
+        Object produto = Compilation.call(itens.get(0), "getProduto");
+        assertEquals("caneta", Compilation.call(produto, "getNome"));
+        assertNull(Compilation.call(produto, "getFabricante"));
+
+        // Espaços em volta dos pontos são ignorados; o mesmo caminho duas vezes não muda o plano
+        assertEquals(dto, from(pedido(), FetchPlan.paths(" cliente ", "itens . produto", "itens")));
+        lidos();
+    }
+
+    @Test
+    void wildcardReleasesEverythingBelow() throws Exception {
+        Object dto = from(pedido(), FetchPlan.paths("porCodigo.*"));
+        assertEquals(Arrays.asList("porCodigo", "produto", "fabricante"), lidos());
+        assertEquals(Collections.singletonList("porCodigo"), relations(dto));
+
+        Object item = ((Map<?, ?>) Compilation.call(dto, "getPorCodigo")).get("c");
+        Object fabricante = Compilation.call(Compilation.call(item, "getProduto"), "getFabricante");
+        assertEquals("acme", Compilation.call(fabricante, "getNome"));
+    }
+
+    @Test
+    void depthCutsEveryPath() throws Exception {
+        Object dto = from(pedido(), FetchPlan.maxDepth(2));
+        assertEquals(Arrays.asList("cliente", "itens", "produto", "porCodigo"), lidos());
+        assertEquals(Arrays.asList("cliente", "itens", "porCodigo"), relations(dto));
+        Object item = ((List<?>) Compilation.call(dto, "getItens")).get(1);
+        Object produto = Compilation.call(item, "getProduto");
+        assertEquals("lápis", Compilation.call(produto, "getNome"));
+        assertNull(Compilation.call(produto, "getFabricante"));
+
+        // Caminho mais fundo que o limite: o limite vence
+        Object limited = from(pedido(), FetchPlan.of(1, "itens.produto.fabricante"));
+        assertEquals(Collections.singletonList("itens"), lidos());
+        Object first = ((List<?>) Compilation.call(limited, "getItens")).get(0);
+        assertNull(Compilation.call(first, "getProduto"));
+    }
+
+    @Test
+    void plansAreSharedAndNavigable() {
+        FetchPlan plan = FetchPlan.paths("cliente", "itens.produto");
+        assertTrue(plan.includes("itens"));
+        assertFalse(plan.includes("porCodigo"));
+        assertTrue(plan.child("itens").includes("produto"));
+        assertFalse(plan.child("itens").child("produto").includes("fabricante"));
+        assertSame(FetchPlan.NONE, plan.child("porCodigo"));
+        assertSame(FetchPlan.ALL, FetchPlan.ALL.child("qualquer"));
+        assertSame(FetchPlan.ALL, FetchPlan.paths("*"));
+        assertSame(FetchPlan.NONE, FetchPlan.maxDepth(1).child("x").child("y"));
+        assertNotNull(FetchPlan.maxDepth(3).child("a").child("b"));
+    }
+
+    // Relacionamentos de primeiro nível não nulos no PedidoDTO, na ordem dos campos
+    private static List<String> relations(Object dto) throws Exception {
+        List<String> relations = new ArrayList<>();
+        for (String name : Arrays.asList("Cliente", "Itens", "PorCodigo")) {
+            if (Compilation.call(dto, "get" + name) != null) {
+                relations.add(Character.toLowerCase(name.charAt(0)) + name.substring(1));
+            }
+        }
+        lidos();
+        return relations;
+    }
+
+    private static Object from(Object pedido, FetchPlan plan) throws Exception {
+        return Compilation.call(pedidoDTO, "from", pedido, plan);
+    }
+
+    private static Object pedido() throws Exception {
+        return Compilation.call(pedidos, "pedido");
+    }
+
+    private static List<?> lidos() throws Exception {
+        return (List<?>) Compilation.call(pedidos, "lidos");
+    }
+}
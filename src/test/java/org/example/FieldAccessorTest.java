@@ -0,0 +1,154 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code XxxDTOFields} de {@code fieldAccessors = true}: índices e constantes
+ * na ordem dos campos, get/set pelos getters e setters do DTO, leitura de
+ * inteiros sem boxing e colisão de constantes recusada pelo processador.
+ */
+class FieldAccessorTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+    private static Class<?> clienteFields;
+    private static FieldAccessor<Object> clientes;
+
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output.resolve("fields"), "fields");
+        clienteFields = compilation.load("fields.ClienteDTOFields");
+        clientes = (FieldAccessor<Object>) Compilation.call(clienteFields, "accessor");
+    }
+
+    @Test
+    void describesFieldsInDeclarationOrder() throws Exception {
+        assertSame(clientes, Compilation.call(clienteFields, "accessor"));
+        assertSame(compilation.load("fields.ClienteDTO"), clientes.dtoType());
+        assertEquals(Arrays.asList(
+                "nome#0:String", "idade#1:int", "codigo#2:Long", "inicial#3:char", "nivel#4:Short",
+                "saldo#5:double", "empresaId#6:Long", "principal#7:EnderecoDTO (nested)",
+                "enderecos#8:List (nested)"),
+                clientes.fields().stream().map(Object::toString).collect(Collectors.toList()));
+        assertThrows(UnsupportedOperationException.class, () -> clientes.fields().clear());
+
+        for (FieldDescriptor field : clientes.fields()) {
+            assertEquals(field.index(), clientes.indexOf(field.name()));
+            String constant = FieldAccessorGenerator.constantName(field.name());
+            assertEquals(field.index(), clienteFields.getField(constant).getInt(null), constant);
+        }
+        assertEquals(-1, clientes.indexOf("empresa"));
+        assertEquals(-1, clientes.indexOf("NOME"));
+    }
+
+    @Test
+    void getAndSetGoThroughTheDto() throws Exception {
+        Object dto = compilation.newInstance("fields.ClienteDTO");
+        Object endereco = compilation.newInstance("fields.EnderecoDTO");
+        List<Object> enderecos = Collections.singletonList(endereco);
+
+        clientes.set(dto, clientes.indexOf("nome"), "ana");
+        clientes.set(dto, clientes.indexOf("idade"), 30);
+        clientes.set(dto, clientes.indexOf("inicial"), 'a');
+        clientes.set(dto, clientes.indexOf("empresaId"), 9L);
+        clientes.set(dto, clientes.indexOf("enderecos"), enderecos);
+
+        assertEquals("ana", Compilation.call(dto, "getNome"));
+        assertEquals(30, Compilation.call(dto, "getIdade"));
+        assertEquals(9L, Compilation.call(dto, "getEmpresaId"));
+        assertEquals("ana", clientes.get(dto, 0));
+        assertEquals('a', clientes.get(dto, 3));
+        assertSame(enderecos, clientes.get(dto, 8));
+        assertNull(clientes.get(dto, 7));
+        assertEquals(Set.of("nome", "idade", "inicial", "empresaId", "enderecos"),
+                Compilation.call(dto, "dirtyFields"));
+
+        assertThrows(ClassCastException.class, () -> clientes.set(dto, 0, 1));
+        // Primitivo com null: o unboxing do setter falha
+        assertThrows(NullPointerException.class, () -> clientes.set(dto, 1, null));
+    }
+
+    @Test
+    void readsIntegersWithoutBoxing() throws Exception {
+        Object dto = compilation.newInstance("fields.ClienteDTO");
+        clientes.set(dto, 1, 42);
+        clientes.set(dto, 2, Long.MAX_VALUE);
+        clientes.set(dto, 3, 'z');
+        clientes.set(dto, 4, (short) -3);
+
+        assertEquals(42, clientes.getInt(dto, 1));
+        assertEquals(42L, clientes.getLong(dto, 1));
+        assertEquals(Long.MAX_VALUE, clientes.getLong(dto, 2));
+        assertEquals('z', clientes.getInt(dto, 3));
+        assertEquals(-3, clientes.getInt(dto, 4));
+
+        // long não cabe em int; double e String não são inteiros
+        assertThrows(IllegalArgumentException.class, () -> clientes.getInt(dto, 2));
+        assertThrows(IllegalArgumentException.class, () -> clientes.getLong(dto, 5));
+        assertThrows(IllegalArgumentException.class, () -> clientes.getInt(dto, 0));
+        // Wrapper nulo
+        assertThrows(NullPointerException.class, () -> clientes.getLong(dto, 6));
+    }
+
+    @Test
+    void rejectsIndexesOutOfBounds() throws Exception {
+        Object dto = compilation.newInstance("fields.ClienteDTO");
+        int size = clientes.fields().size();
+        assertThrows(IndexOutOfBoundsException.class, () -> clientes.get(dto, size));
+        assertThrows(IndexOutOfBoundsException.class, () -> clientes.get(dto, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> clientes.set(dto, size, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> clientes.getLong(dto, size));
+        assertThrows(IndexOutOfBoundsException.class, () -> clientes.getInt(dto, -1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void immutableDtoIsReadOnly() throws Exception {
+        Object ponto = compilation.newInstance("fields.Ponto");
+        Compilation.call(ponto, "setX", 3);
+        Compilation.call(ponto, "setY", 4);
+        Object dto = Compilation.call(compilation.load("fields.PontoDTO"), "from", ponto);
+        FieldAccessor<Object> pontos = (FieldAccessor<Object>) Compilation.call(
+                compilation.load("fields.PontoDTOFields"), "accessor");
+
+        assertEquals(3, pontos.getInt(dto, 0));
+        assertEquals(4, pontos.get(dto, pontos.indexOf("y")));
+        assertThrows(UnsupportedOperationException.class, () -> pontos.set(dto, 0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> pontos.set(dto, 2, 1));
+    }
+
+    @Test
+    void rejectsFieldsWithTheSameConstant() throws Exception {
+        Compilation invalid = Compilation.compile(output.resolve("fieldsinvalid"), "fieldsinvalid");
+
+        assertFalse(invalid.success());
+        assertEquals(Collections.singletonList(
+                "Campos 'nomeUrl' e 'nome_url' geram a mesma constante NOME_URL em fieldAccessors;"
+                        + " renomeie um deles ou remova-o de fields"),
+                invalid.messages(Diagnostic.Kind.ERROR));
+        assertNull(invalid.generatedSource("fieldsinvalid.LinkDTO"));
+        assertNull(invalid.generatedSource("fieldsinvalid.LinkDTOFields"));
+        assertNotNull(invalid.generatedSource("fieldsinvalid.RotaDTOFields"));
+        assertTrue(invalid.generatedSource("fieldsinvalid.RotaDTOFields").contains("PESO = 1;"));
+    }
+}
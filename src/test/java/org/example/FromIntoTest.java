@@ -0,0 +1,118 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code fromInto} dos DTOs mutáveis: reaproveita os DTOs aninhados e os
+ * containers que o próprio DTO criou, e nunca altera uma lista ou map recebido
+ * por setter ou compartilhado com o {@code XxxDTOBatch}.
+ */
+class FromIntoTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+    private static Class<?> carrinhos;
+    private static Class<?> carrinhoDTO;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "frominto");
+        carrinhos = compilation.load("frominto.Carrinhos");
+        carrinhoDTO = compilation.load("frominto.CarrinhoDTO");
+    }
+
+    @Test
+    void reusesContainersAndNestedDTOsItCreated() throws Exception {
+        Object dto = Compilation.call(carrinhoDTO, "from", carrinho("ana", "a", "b", "c"));
+        Object destaque = Compilation.call(dto, "getDestaque");
+        List<?> itens = (List<?>) Compilation.call(dto, "getItens");
+        Object primeiro = itens.get(0);
+        Map<?, ?> porCodigo = (Map<?, ?>) Compilation.call(dto, "getPorCodigo");
+        Object porCodigoA = porCodigo.get("a");
+
+        assertSame(dto, fromInto(carrinho("bia", "a", "d"), dto));
+
+        assertEquals("bia", Compilation.call(dto, "getCliente"));
+        assertSame(destaque, Compilation.call(dto, "getDestaque"));
+        assertEquals("bia-destaque", Compilation.call(destaque, "getNome"));
+        assertSame(itens, Compilation.call(dto, "getItens"));
+        assertEquals(Arrays.asList("a", "d"), nomes(itens));
+        assertSame(primeiro, itens.get(0));
+        assertSame(porCodigo, Compilation.call(dto, "getPorCodigo"));
+        assertEquals(Set.of("a", "d"), porCodigo.keySet());
+        assertSame(porCodigoA, porCodigo.get("a"));
+        assertTrue(((Collection<?>) Compilation.call(dto, "dirtyFields")).isEmpty());
+    }
+
+    @Test
+    void replacesContainersPassedToSetters() throws Exception {
+        Object dto = Compilation.call(carrinhoDTO, "from", carrinho("ana", "a", "b"));
+        Object item = Compilation.call(compilation.load("frominto.ItemDTO"), "from",
+                Compilation.call(carrinhos, "item", "x"));
+        List<Object> itens = new ArrayList<>(Arrays.asList(item));
+        Map<String, Object> porCodigo = new HashMap<>();
+        porCodigo.put("x", item);
+        Compilation.call(dto, "setItens", itens);
+        Compilation.call(dto, "setPorCodigo", porCodigo);
+
+        fromInto(carrinho("bia", "c", "d"), dto);
+
+        assertEquals(Arrays.asList(item), itens);
+        assertEquals("x", Compilation.call(item, "getNome"));
+        assertEquals(Map.of("x", item), porCodigo);
+        assertNotSame(itens, Compilation.call(dto, "getItens"));
+        assertEquals(Arrays.asList("c", "d"), nomes((List<?>) Compilation.call(dto, "getItens")));
+        assertEquals(Set.of("c", "d"), ((Map<?, ?>) Compilation.call(dto, "getPorCodigo")).keySet());
+
+        // O container criado pelo fromInto volta a ser reaproveitado
+        Object recriada = Compilation.call(dto, "getItens");
+        fromInto(carrinho("bia", "e"), dto);
+        assertSame(recriada, Compilation.call(dto, "getItens"));
+    }
+
+    @Test
+    void leavesBatchColumnsUntouched() throws Exception {
+        Object batch = Compilation.call(compilation.load("frominto.CarrinhoDTOBatch"), "from",
+                Arrays.asList(carrinho("ana", "a", "b")));
+        Object dto = Compilation.call(batch, "toDTO", 0);
+
+        fromInto(carrinho("bia", "c"), dto);
+
+        assertEquals(Arrays.asList("a", "b"), nomes((List<?>) Compilation.call(batch, "getItens", 0)));
+        assertEquals(Set.of("a", "b"), ((Map<?, ?>) Compilation.call(batch, "getPorCodigo", 0)).keySet());
+        assertEquals(Arrays.asList("c"), nomes((List<?>) Compilation.call(dto, "getItens")));
+    }
+
+    private static Object carrinho(String cliente, String... itens) throws Exception {
+        return Compilation.call(carrinhos, "carrinho", cliente, itens);
+    }
+
+    private static Object fromInto(Object model, Object target) throws Exception {
+        return Compilation.call(carrinhoDTO, "fromInto", model, target);
+    }
+
+    private static List<Object> nomes(List<?> itens) throws Exception {
+        List<Object> nomes = new ArrayList<>();
+        for (Object item : itens) {
+            nomes.add(Compilation.call(item, "getNome"));
+        }
+        return nomes;
+    }
+}
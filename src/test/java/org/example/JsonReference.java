@@ -0,0 +1,142 @@
+package org.example;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Encoder JSON de referência (RFC 8259) do JsonWriterGeneratorTest, escrito
+ * sem usar {@link JsonSupport}: percorre a entidade por reflection e aplica as
+ * convenções documentadas no DTO gerado (não finitos viram {@code null},
+ * {@code byte[]} vira Base64, enums usam {@code name()}, demais objetos
+ * usam {@code toString()} como string).
+ * <p>
+ * Entidades são as classes do pacote {@code entityPackage}; seus campos
+ * saem na ordem de declaração, a mesma do DTO.
+ */
+final class JsonReference {
+
+    private final String entityPackage;
+
+    JsonReference(String entityPackage) {
+        this.entityPackage = entityPackage;
+    }
+
+    String encode(Object value) {
+        StringBuilder sb = new StringBuilder();
+        value(sb, value);
+        return sb.toString();
+    }
+
+    private void value(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            string(sb, value.toString());
+        } else if (value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            sb.append(Double.isFinite(d) ? value.toString() : "null");
+        } else if (value instanceof Number) {
+            sb.append(value);
+        } else if (value instanceof Enum) {
+            string(sb, ((Enum<?>) value).name());
+        } else if (value instanceof byte[]) {
+            sb.append('"').append(Base64.getEncoder().encodeToString((byte[]) value)).append('"');
+        } else if (value.getClass().isArray()) {
+            sb.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (i > 0) sb.append(',');
+                value(sb, Array.get(value, i));
+            }
+            sb.append(']');
+        } else if (value instanceof Collection) {
+            sb.append('[');
+            String separator = "";
+            for (Object element : (Collection<?>) value) {
+                sb.append(separator);
+                value(sb, element);
+                separator = ",";
+            }
+            sb.append(']');
+        } else if (value instanceof Map) {
+            sb.append('{');
+            String separator = "";
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sb.append(separator);
+                string(sb, String.valueOf(entry.getKey()));
+                sb.append(':');
+                value(sb, entry.getValue());
+                separator = ",";
+            }
+            sb.append('}');
+        } else if (value.getClass().getPackageName().equals(entityPackage)) {
+            entity(sb, value);
+        } else {
+            string(sb, value.toString());
+        }
+    }
+
+    private void entity(StringBuilder sb, Object entity) {
+        sb.append('{');
+        String separator = "";
+        for (Field field : entity.getClass().getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            sb.append(separator);
+            string(sb, field.getName());
+            sb.append(':');
+            try {
+                value(sb, field.get(entity));
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+            separator = ",";
+        }
+        sb.append('}');
+    }
+
+    // Escapes obrigatórios da RFC 8259; os demais code points (inclusive pares
+    // de surrogates) saem como estão. Controles sem forma curta usam \\u em hexa minúsculo.
+    private static void string(StringBuilder sb, String s) {
+        sb.append('"');
+        s.codePoints().forEach(cp -> {
+            switch (cp) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (cp < 0x20) {
+                        sb.append("\\u00").append(Character.forDigit(cp >> 4, 16)).append(Character.forDigit(cp & 0xf, 16));
+                    } else {
+                        sb.appendCodePoint(cp);
+                    }
+            }
+        });
+        sb.append('"');
+    }
+}
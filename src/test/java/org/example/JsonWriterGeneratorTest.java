@@ -0,0 +1,91 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Roda o processador sobre as entidades de {@code src/test/resources/json} e
+ * compara, byte a byte, o {@code toJson()} e o {@code writeJson(Appendable)}
+ * dos DTOs gerados com o {@link JsonReference}.
+ */
+class JsonWriterGeneratorTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+
+    private static Map<String, Object> samples;
+
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "json");
+        samples = (Map<String, Object>) Compilation.call(compilation.load("json.Samples"), "pedidos");
+    }
+
+    static Stream<Arguments> samples() {
+        return samples.entrySet().stream().map(e -> Arguments.of(e.getKey(), e.getValue()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("samples")
+    void toJsonMatchesReference(String name, Object entity) throws Exception {
+        assertEquals(new JsonReference("json").encode(entity), toJson(entity));
+    }
+
+    // Um Appendable que não é StringBuilder passa pelos caminhos sem atalho de JsonSupport
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("samples")
+    void writeJsonMatchesReference(String name, Object entity) throws Exception {
+        Object dto = toDTO(entity);
+        StringWriter out = new StringWriter();
+        Compilation.call(dto, "writeJson", out);
+        assertEquals(new JsonReference("json").encode(entity), out.toString());
+    }
+
+    // Alguns valores escritos à mão, para não depender só do encoder de referência
+    @Test
+    void writesKnownValues() throws Exception {
+        assertEquals("{\"nome\":\"caneta \\\"azul\\\"\",\"quantidade\":3}", toJson(samples.get("itemSozinho")));
+
+        String completo = toJson(samples.get("completo"));
+        assertContains(completo, "\"nan\":null,\"infinito\":null,\"negativoInfinito\":null,\"realNulo\":null");
+        assertContains(completo, "\"foto\":\"AAEC+/8=\"");
+        assertContains(completo, "\"valor\":12345678901234567890.50,\"tipo\":\"TROCA\",\"data\":\"2024-02-29\"");
+        assertContains(completo, "\"tags\":[\"x\",null,\"\\t\"],\"codigos\":[3,null,1]");
+        assertContains(completo, "\"totais\":{\"um\":1,\"nulo\":null,\"chave \\\"com\\\" aspas\":3}");
+        assertContains(completo, "\"itens\":[{\"nome\":\"a\",\"quantidade\":1},null,{\"nome\":\"b\",\"quantidade\":2}]");
+        assertContains(completo, "\"porCodigo\":{\"1\":{\"nome\":\"um\",\"quantidade\":1},\"2\":null}");
+        assertContains(completo, "\"out\":\"campo out\",\"first\":7}");
+
+        String textos = toJson(samples.get("textos"));
+        assertContains(textos, "\"texto\":\"aspas \\\" barra \\\\ / controle \\u0000\\u0001\\u000b\\u001f \\b\\f\\n\\r\\t fim\"");
+        assertContains(textos, "\"letra\":\"\\u0007\"");
+        assertContains(textos, "\"out\":\"emoji \uD83D\uDE00, clave \uD834\uDD1E, acentos ação, separador \u2028 e \u007f\"");
+    }
+
+    private static void assertContains(String json, String expected) {
+        assertTrue(json.contains(expected), () -> "esperado " + expected + " em " + json);
+    }
+
+    private static String toJson(Object entity) throws Exception {
+        Object dto = toDTO(entity);
+        return (String) Compilation.call(dto, "toJson");
+    }
+
+    private static Object toDTO(Object entity) throws Exception {
+        return Compilation.call(compilation.load(entity.getClass().getName() + "DTO"), "from", entity);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code from(model, context)} dos DTOs com {@code mappingContext = true}: cada
+ * entidade vira um único DTO por contexto, e ciclos por objetos, listas e maps
+ * fecham na instância já registrada. Sets e DTOs imutáveis em ciclo são
+ * recusados pelo processador.
+ */
+class MappingContextTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void sharesDTOsAndClosesCycles() throws Exception {
+        Compilation compilation = Compilation.compileOrFail(output, "context");
+        Object departamento = Compilation.call(compilation.load("context.Departamentos"), "departamento");
+        Class<?> departamentoDTO = compilation.load("context.DepartamentoDTO");
+
+        Object dto = Compilation.call(departamentoDTO, "from", departamento, new MappingContext());
+
+        List<?> funcionarios = (List<?>) Compilation.call(dto, "getFuncionarios");
+        Map<?, ?> porCargo = (Map<?, ?>) Compilation.call(dto, "getPorCargo");
+        Object ana = funcionarios.get(0);
+        Object bia = funcionarios.get(1);
+        assertEquals("ana", Compilation.call(ana, "getNome"));
+        assertSame(ana, porCargo.get("gerente"));
+        assertSame(bia, porCargo.get("vendedora"));
+        assertSame(dto, Compilation.call(ana, "getDepartamento"));
+        assertSame(dto, Compilation.call(bia, "getDepartamento"));
+        assertSame(ana, Compilation.call(ana, "getChefe"));
+        assertSame(ana, Compilation.call(bia, "getChefe"));
+
+        // Um contexto novo é um grafo novo
+        Object outro = Compilation.call(departamentoDTO, "from", departamento, new MappingContext());
+        assertNotSame(dto, outro);
+    }
+
+    @Test
+    void rejectsSetsAndImmutableDTOsInCycles() throws Exception {
+        Compilation compilation = Compilation.compile(output, "contextinvalid");
+
+        assertFalse(compilation.success());
+        List<String> errors = compilation.messages(Diagnostic.Kind.ERROR);
+        assertEquals(2, errors.size(), compilation::errors);
+        assertTrue(errors.contains("Ciclo de relacionamentos entre DTOs: GrupoDTO -[membros]-> MembroDTO -[grupo]-> GrupoDTO."
+                + " O relacionamento Set 'membros' de GrupoDTO calcula o hashCode dos DTOs do ciclo e não termina;"
+                + " use List ou flattenRelations."), compilation::errors);
+        assertTrue(errors.stream().anyMatch(m -> m.startsWith(
+                "Ciclo de relacionamentos entre DTOs: VersaoDTO -[anterior]-> VersaoDTO. VersaoDTO é imutável")),
+                compilation::errors);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Métricas dos DTOs gerados com {@code mappingMetrics = true}: eventos com
+ * profundidade e tamanho das coleções quando ligadas, e {@code setListener}
+ * recusado quando desligadas.
+ */
+class MappingMetricsTest {
+
+    @TempDir
+    static Path output;
+
+    private static Compilation compilation;
+
+    @BeforeAll
+    static void compileFixtures() throws Exception {
+        compilation = Compilation.compileOrFail(output, "metrics");
+    }
+
+    @Test
+    void setListenerFailsWhenMetricsAreDisabled() {
+        assertFalse(MappingMetrics.ENABLED);
+        assertThrows(IllegalStateException.class,
+                () -> MappingMetrics.setListener((dto, operation, nanos, depth) -> {
+                }));
+        MappingMetrics.setListener(null);
+    }
+
+    @Test
+    void reportsEveryMappingWithDepthAndCollectionSizes() throws Exception {
+        // ENABLED é lido na inicialização: um class loader novo com a propriedade ligada
+        ClassLoader loader;
+        System.setProperty(MappingMetrics.PROPERTY, "true");
+        try {
+            loader = compilation.isolatedLoader();
+            Class.forName(MappingMetrics.class.getName(), true, loader);
+        } finally {
+            System.clearProperty(MappingMetrics.PROPERTY);
+        }
+
+        List<String> events = new ArrayList<>();
+        Class<?> listenerType = loader.loadClass(MappingListener.class.getName());
+        Object listener = Proxy.newProxyInstance(loader, new Class<?>[]{listenerType}, (proxy, method, args) -> {
+            if (method.getName().equals("mapped")) {
+                events.add(((Class<?>) args[0]).getSimpleName() + " " + args[1] + " depth=" + args[3]);
+            } else if (method.getName().equals("collectionMapped")) {
+                events.add(((Class<?>) args[0]).getSimpleName() + " " + args[2] + " size=" + args[3]);
+            }
+            return null;
+        });
+        Compilation.call(loader.loadClass(MappingMetrics.class.getName()), "setListener", listener);
+
+        Object conta = Compilation.call(loader.loadClass("metrics.Contas"), "comLancamentos");
+        Object dto = Compilation.call(loader.loadClass("metrics.ContaDTO"), "from", conta);
+        assertEquals(Arrays.asList(
+                "LancamentoDTO FROM depth=1",
+                "LancamentoDTO FROM depth=1",
+                "ContaDTO lancamentos size=2",
+                "ContaDTO FROM depth=0"), events);
+
+        events.clear();
+        Compilation.call(dto, "toModel");
+        assertEquals(Arrays.asList(
+                "LancamentoDTO TO_MODEL depth=1",
+                "LancamentoDTO TO_MODEL depth=1",
+                "ContaDTO lancamentos size=2",
+                "ContaDTO TO_MODEL depth=0"), events);
+    }
+}
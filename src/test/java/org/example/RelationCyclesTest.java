@@ -0,0 +1,81 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Ciclos entre os DTOs de uma compilação: cada ciclo é reportado com o caminho
+ * completo, é erro a menos que todos os DTOs dele tenham mappingContext, e os
+ * DTOs continuam sendo gerados (sem erros em cascata no código que os usa).
+ */
+class RelationCyclesTest {
+
+    @TempDir
+    Path output;
+
+    private static final String EMPRESA_PESSOA = "EmpresaDTO -[socios]-> PessoaDTO -[empresa]-> EmpresaDTO";
+    private static final String CONTRATO = "ContratoDTO -[empresa]-> EmpresaDTO -[socios]-> PessoaDTO"
+            + " -[contratos]-> ContratoDTO";
+
+    @Test
+    void reportsEveryCycleAsAnErrorWithoutMappingContext() throws Exception {
+        Compilation compilation = Compilation.compile(output, "cycles");
+
+        assertFalse(compilation.success());
+        List<String> errors = compilation.messages(Diagnostic.Kind.ERROR);
+        assertTrue(errors.stream().allMatch(m -> m.startsWith("Ciclo de relacionamentos entre DTOs: ")),
+                compilation::errors);
+        assertEquals(new TreeSet<>(Arrays.asList(EMPRESA_PESSOA, CONTRATO, "PastaDTO -[pai]-> PastaDTO")),
+                paths(errors));
+        // Um erro por DTO de cada ciclo
+        assertEquals(2 + 3 + 1, errors.size());
+        assertTrue(errors.stream().anyMatch(m -> m.contains("PastaDTO -[pai]-> PastaDTO. Use flattenRelations")));
+
+        for (String dto : Arrays.asList("EmpresaDTO", "PessoaDTO", "ContratoDTO", "PastaDTO")) {
+            assertNotNull(compilation.generatedSource("cycles." + dto), dto);
+        }
+    }
+
+    @Test
+    void acceptsAutomaticCyclesWhenEveryMemberHasMappingContext() throws Exception {
+        Compilation compilation = Compilation.compileOrFail(output, "cyclescontext");
+
+        List<String> notes = compilation.messages(Diagnostic.Kind.NOTE).stream()
+                .filter(m -> m.startsWith("Ciclo de relacionamentos"))
+                .collect(Collectors.toList());
+        assertEquals(new TreeSet<>(Arrays.asList(EMPRESA_PESSOA, CONTRATO, "NoDTO -[proximo]-> NoDTO")),
+                paths(notes));
+        assertTrue(compilation.messages(Diagnostic.Kind.WARNING).stream()
+                .noneMatch(m -> m.startsWith("Ciclo de relacionamentos")));
+    }
+
+    // @NestedDTO(dto = "EnderecoDTO") é o DTO do pacote de Endereco, não do de Cliente
+    @Test
+    void resolvesManualNestedDTOsInTheRelatedEntityPackage() throws Exception {
+        Compilation compilation = Compilation.compileOrFail(output, "nestedpackage");
+
+        String cliente = compilation.generatedSource("nestedpackage.loja.ClienteDTO");
+        assertTrue(cliente.contains("import nestedpackage.comum.EnderecoDTO;"), cliente);
+        Object dto = compilation.newInstance("nestedpackage.loja.ClienteDTO");
+        assertEquals("nestedpackage.comum.EnderecoDTO",
+                dto.getClass().getMethod("getEndereco").getReturnType().getName());
+    }
+
+    private static Set<String> paths(List<String> messages) {
+        return messages.stream()
+                .map(m -> m.substring("Ciclo de relacionamentos entre DTOs: ".length(), m.indexOf(". ")))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ciclos elementares do {@link RelationGraph}: todos, com o caminho completo,
+ * e marcados como manuais só quando todas as arestas são de {@link NestedDTO}.
+ */
+class RelationGraphTest {
+
+    @Test
+    void listsEveryElementaryCycle() {
+        RelationGraph graph = new RelationGraph();
+        graph.addEdge("p.ADTO", "p.BDTO", "b", false, false);
+        graph.addEdge("p.BDTO", "p.ADTO", "a", true, false);
+        graph.addEdge("p.BDTO", "p.CDTO", "c", false, false);
+        graph.addEdge("p.CDTO", "p.ADTO", "a", false, false);
+        graph.addEdge("p.CDTO", "p.ADTO", "outroA", false, false);
+        graph.addEdge("p.CDTO", "p.DDTO", "d", false, false);
+        graph.addEdge("p.DDTO", "p.DDTO", "proximo", true, false);
+
+        assertEquals(Arrays.asList(
+                "ADTO -[b]-> BDTO -[a]-> ADTO",
+                "ADTO -[b]-> BDTO -[c]-> CDTO -[a]-> ADTO",
+                "ADTO -[b]-> BDTO -[c]-> CDTO -[outroA]-> ADTO",
+                "DDTO -[proximo]-> DDTO"), paths(graph.cycles()));
+
+        List<RelationGraph.Cycle> cycles = graph.cycles();
+        assertEquals(Arrays.asList("p.ADTO", "p.BDTO", "p.CDTO"), cycles.get(1).members());
+        assertFalse(cycles.get(0).manual());
+        assertTrue(cycles.get(3).manual());
+        assertFalse(cycles.get(3).truncated());
+    }
+
+    @Test
+    void ignoresAcyclicEdges() {
+        RelationGraph graph = new RelationGraph();
+        graph.addEdge("ADTO", "BDTO", "b", false, false);
+        graph.addEdge("BDTO", "CDTO", "c", false, false);
+        graph.addEdge("ADTO", "CDTO", "c", false, false);
+
+        assertTrue(graph.cycles().isEmpty());
+    }
+
+    // Grafo completo de 6 DTOs: 409 ciclos elementares, listados até o limite
+    @Test
+    void truncatesDenseComponents() {
+        RelationGraph graph = new RelationGraph();
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                if (i != j) {
+                    graph.addEdge("DTO" + i, "DTO" + j, "f" + j, false, false);
+                }
+            }
+        }
+
+        List<RelationGraph.Cycle> cycles = graph.cycles();
+        assertEquals(RelationGraph.MAX_CYCLES, cycles.size());
+        assertTrue(cycles.get(cycles.size() - 1).truncated());
+        assertEquals(cycles.size(), paths(cycles).stream().distinct().count());
+    }
+
+    private static List<String> paths(List<RelationGraph.Cycle> cycles) {
+        return cycles.stream().map(RelationGraph.Cycle::path).collect(Collectors.toList());
+    }
+}
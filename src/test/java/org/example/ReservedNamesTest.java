@@ -0,0 +1,45 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Campos da entidade com o nome de um membro do DTO gerado (dirtyN, METRICS,
+ * $hash) são recusados pelo processador, em vez de gerar um DTO que não compila.
+ */
+class ReservedNamesTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void rejectsFieldsNamedAfterGeneratedMembers() throws Exception {
+        Compilation compilation = Compilation.compile(output, "reserved");
+
+        assertFalse(compilation.success());
+        List<String> errors = compilation.messages(Diagnostic.Kind.ERROR).stream()
+                .filter(m -> m.contains("nome de um membro gerado"))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+                "Campo '$hash' tem o nome de um membro gerado no DTO; renomeie-o ou remova-o de fields",
+                "Campo 'METRICS' tem o nome de um membro gerado no DTO; renomeie-o ou remova-o de fields",
+                "Campo 'dirty0' tem o nome de um membro gerado no DTO; renomeie-o ou remova-o de fields"), errors);
+        assertEquals(errors.size(), compilation.messages(Diagnostic.Kind.ERROR).size(), compilation::errors);
+
+        assertNull(compilation.generatedSource("reserved.RascunhoDTO"));
+        assertNull(compilation.generatedSource("reserved.EventoDTO"));
+        assertNull(compilation.generatedSource("reserved.ValorDTO"));
+        assertNotNull(compilation.generatedSource("reserved.LivreDTO"));
+    }
+}
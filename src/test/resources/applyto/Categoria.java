@@ -0,0 +1,16 @@
+package applyto;
+
+public class Categoria {
+
+    private Long id;
+
+    public Categoria() {
+    }
+
+    public Categoria(Long id) {
+        this.id = id;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
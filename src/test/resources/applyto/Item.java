@@ -0,0 +1,19 @@
+package applyto;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class Item {
+
+    private String nome;
+
+    public Item() {
+    }
+
+    public Item(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+}
@@ -0,0 +1,33 @@
+package applyto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.GenerateDTO;
+
+@GenerateDTO(flattenRelations = {"categoria"})
+public class Produto {
+
+    private String nome;
+    private int estoque;
+    private Categoria categoria;
+    private Item fornecedor;
+    private List<Item> itens;
+    private Set<Item> brindes;
+    private Map<String, Item> porCodigo;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public int getEstoque() { return estoque; }
+    public void setEstoque(int estoque) { this.estoque = estoque; }
+    public Categoria getCategoria() { return categoria; }
+    public void setCategoria(Categoria categoria) { this.categoria = categoria; }
+    public Item getFornecedor() { return fornecedor; }
+    public void setFornecedor(Item fornecedor) { this.fornecedor = fornecedor; }
+    public List<Item> getItens() { return itens; }
+    public void setItens(List<Item> itens) { this.itens = itens; }
+    public Set<Item> getBrindes() { return brindes; }
+    public void setBrindes(Set<Item> brindes) { this.brindes = brindes; }
+    public Map<String, Item> getPorCodigo() { return porCodigo; }
+    public void setPorCodigo(Map<String, Item> porCodigo) { this.porCodigo = porCodigo; }
+}
@@ -0,0 +1,36 @@
+package applyto;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Entidades de exemplo do ApplyToTest. As coleções não são ArrayList/HashSet/HashMap,
+ * como as de uma entidade gerenciada (ex: PersistentBag do Hibernate).
+ */
+public final class Produtos {
+
+    private Produtos() {
+    }
+
+    public static Produto produto() {
+        Produto produto = new Produto();
+        produto.setNome("caneta");
+        produto.setEstoque(10);
+        produto.setCategoria(new Categoria(1L));
+        produto.setFornecedor(new Item("acme"));
+        produto.setItens(new LinkedList<>(Arrays.asList(new Item("a"), new Item("b"), new Item("c"))));
+        produto.setBrindes(new LinkedHashSet<>(Arrays.asList(new Item("adesivo"))));
+        Map<String, Item> porCodigo = new LinkedHashMap<>();
+        porCodigo.put("x", new Item("x"));
+        porCodigo.put("y", new Item("y"));
+        produto.setPorCodigo(porCodigo);
+        return produto;
+    }
+
+    public static Categoria categoria(Long id) {
+        return new Categoria(id);
+    }
+}
@@ -0,0 +1,37 @@
+package batch;
+
+import java.util.List;
+import org.example.GenerateDTO;
+
+@GenerateDTO(columnarBatch = true, mappingContext = true, flattenRelations = {"sensor"})
+public class Leitura {
+
+    private int sequencia;
+    private Integer valor;
+    private Double media;
+    private Boolean valida;
+    private Character unidade;
+    private String rotulo;
+    private Sensor sensor;
+    private Leitura anterior;
+    private List<String> tags;
+
+    public int getSequencia() { return sequencia; }
+    public void setSequencia(int sequencia) { this.sequencia = sequencia; }
+    public Integer getValor() { return valor; }
+    public void setValor(Integer valor) { this.valor = valor; }
+    public Double getMedia() { return media; }
+    public void setMedia(Double media) { this.media = media; }
+    public Boolean getValida() { return valida; }
+    public void setValida(Boolean valida) { this.valida = valida; }
+    public Character getUnidade() { return unidade; }
+    public void setUnidade(Character unidade) { this.unidade = unidade; }
+    public String getRotulo() { return rotulo; }
+    public void setRotulo(String rotulo) { this.rotulo = rotulo; }
+    public Sensor getSensor() { return sensor; }
+    public void setSensor(Sensor sensor) { this.sensor = sensor; }
+    public Leitura getAnterior() { return anterior; }
+    public void setAnterior(Leitura anterior) { this.anterior = anterior; }
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+}
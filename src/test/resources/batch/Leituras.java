@@ -0,0 +1,36 @@
+package batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Leituras de exemplo do ColumnarBatchTest: cada coluna anulável é nula num
+ * padrão diferente, dependente de {@code seed}, para os bits não coincidirem.
+ */
+public final class Leituras {
+
+    private Leituras() {
+    }
+
+    public static List<Leitura> leituras(int count, int seed) {
+        List<Leitura> leituras = new ArrayList<>(count);
+        Leitura anterior = null;
+        for (int i = 0; i < count; i++) {
+            int n = i + seed;
+            Leitura leitura = new Leitura();
+            leitura.setSequencia(n);
+            leitura.setValor(n % 2 == 0 ? null : -n);
+            leitura.setMedia(n % 3 == 0 ? null : n / 4.0);
+            leitura.setValida(n % 5 == 0 ? null : n % 2 == 1);
+            leitura.setUnidade(n % 7 == 0 ? null : (char) ('a' + n % 26));
+            leitura.setRotulo(n % 11 == 0 ? null : "r" + n);
+            leitura.setSensor(n % 13 == 0 ? null : new Sensor(n % 17 == 0 ? null : (long) n * 1000));
+            leitura.setAnterior(n % 4 == 0 ? anterior : null);
+            leitura.setTags(n % 6 == 0 ? null : Arrays.asList("t" + n, null));
+            leituras.add(leitura);
+            anterior = leitura;
+        }
+        return leituras;
+    }
+}
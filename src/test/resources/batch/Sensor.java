@@ -0,0 +1,16 @@
+package batch;
+
+public class Sensor {
+
+    private Long id;
+
+    public Sensor() {
+    }
+
+    public Sensor(Long id) {
+        this.id = id;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
@@ -0,0 +1,23 @@
+package binary;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(binaryCodec = true)
+public class Parte {
+
+    private String nome;
+    private Integer peso;
+
+    public Parte() {
+    }
+
+    public Parte(String nome, Integer peso) {
+        this.nome = nome;
+        this.peso = peso;
+    }
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Integer getPeso() { return peso; }
+    public void setPeso(Integer peso) { this.peso = peso; }
+}
@@ -0,0 +1,98 @@
+package binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.example.GenerateDTO;
+import org.example.MappingStyle;
+
+// LOOP: o from por stream não aceita valores nulos em maps
+@GenerateDTO(binaryCodec = true, mappingStyle = MappingStyle.LOOP)
+public class Registro {
+
+    private int inteiro;
+    private long longo;
+    private double real;
+    private float fracao;
+    private boolean ativo;
+    private char letra;
+    private short curto;
+    private byte octeto;
+    private Integer talvez;
+    private String texto;
+    private BigDecimal valor;
+    private BigInteger grande;
+    private UUID chave;
+    private LocalDate data;
+    private LocalDateTime momento;
+    private Instant instante;
+    private Status status;
+    private byte[] foto;
+    private int[] numeros;
+    private String[] nomes;
+    private List<String> tags;
+    private Set<Integer> codigos;
+    private Map<String, Long> totais;
+    private Parte principal;
+    private List<Parte> partes;
+    private Map<String, Parte> porNome;
+
+    public int getInteiro() { return inteiro; }
+    public void setInteiro(int inteiro) { this.inteiro = inteiro; }
+    public long getLongo() { return longo; }
+    public void setLongo(long longo) { this.longo = longo; }
+    public double getReal() { return real; }
+    public void setReal(double real) { this.real = real; }
+    public float getFracao() { return fracao; }
+    public void setFracao(float fracao) { this.fracao = fracao; }
+    public boolean getAtivo() { return ativo; }
+    public void setAtivo(boolean ativo) { this.ativo = ativo; }
+    public char getLetra() { return letra; }
+    public void setLetra(char letra) { this.letra = letra; }
+    public short getCurto() { return curto; }
+    public void setCurto(short curto) { this.curto = curto; }
+    public byte getOcteto() { return octeto; }
+    public void setOcteto(byte octeto) { this.octeto = octeto; }
+    public Integer getTalvez() { return talvez; }
+    public void setTalvez(Integer talvez) { this.talvez = talvez; }
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+    public BigDecimal getValor() { return valor; }
+    public void setValor(BigDecimal valor) { this.valor = valor; }
+    public BigInteger getGrande() { return grande; }
+    public void setGrande(BigInteger grande) { this.grande = grande; }
+    public UUID getChave() { return chave; }
+    public void setChave(UUID chave) { this.chave = chave; }
+    public LocalDate getData() { return data; }
+    public void setData(LocalDate data) { this.data = data; }
+    public LocalDateTime getMomento() { return momento; }
+    public void setMomento(LocalDateTime momento) { this.momento = momento; }
+    public Instant getInstante() { return instante; }
+    public void setInstante(Instant instante) { this.instante = instante; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public byte[] getFoto() { return foto; }
+    public void setFoto(byte[] foto) { this.foto = foto; }
+    public int[] getNumeros() { return numeros; }
+    public void setNumeros(int[] numeros) { this.numeros = numeros; }
+    public String[] getNomes() { return nomes; }
+    public void setNomes(String[] nomes) { this.nomes = nomes; }
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+    public Set<Integer> getCodigos() { return codigos; }
+    public void setCodigos(Set<Integer> codigos) { this.codigos = codigos; }
+    public Map<String, Long> getTotais() { return totais; }
+    public void setTotais(Map<String, Long> totais) { this.totais = totais; }
+    public Parte getPrincipal() { return principal; }
+    public void setPrincipal(Parte principal) { this.principal = principal; }
+    public List<Parte> getPartes() { return partes; }
+    public void setPartes(List<Parte> partes) { this.partes = partes; }
+    public Map<String, Parte> getPorNome() { return porNome; }
+    public void setPorNome(Map<String, Parte> porNome) { this.porNome = porNome; }
+}
@@ -0,0 +1,93 @@
+package binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entidades de exemplo do BinaryCodecTest, por nome do caso.
+ */
+public final class Registros {
+
+    private Registros() {
+    }
+
+    public static Map<String, Object> registros() {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("completo", completo());
+        samples.put("vazio", new Registro());
+        samples.put("extremos", extremos());
+        samples.put("parteSozinha", new Parte("só", null));
+        return samples;
+    }
+
+    private static Registro completo() {
+        Registro registro = new Registro();
+        registro.setInteiro(-42);
+        registro.setLongo(1234567890123L);
+        registro.setReal(Math.PI);
+        registro.setFracao(0.1f);
+        registro.setAtivo(true);
+        registro.setLetra('ç');
+        registro.setCurto((short) -7);
+        registro.setOcteto((byte) 0x80);
+        registro.setTalvez(0);
+        registro.setTexto("ação 😀 \u0000 fim");
+        registro.setValor(new BigDecimal("-12345678901234567890.000123"));
+        registro.setGrande(BigInteger.ONE.shiftLeft(100).negate());
+        registro.setChave(new UUID(0x0123456789abcdefL, 0xfedcba9876543210L));
+        registro.setData(LocalDate.of(2024, 2, 29));
+        registro.setMomento(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999));
+        registro.setInstante(Instant.ofEpochSecond(-1, 5));
+        registro.setStatus(Status.ENCERRADO);
+        registro.setFoto(new byte[]{0, 1, -1, 127});
+        registro.setNumeros(new int[]{1, -2, Integer.MIN_VALUE});
+        registro.setNomes(new String[]{"a", null, ""});
+        registro.setTags(Arrays.asList("x", null, "z"));
+        registro.setCodigos(new LinkedHashSet<>(Arrays.asList(3, null, 1)));
+        Map<String, Long> totais = new LinkedHashMap<>();
+        totais.put("um", 1L);
+        totais.put("nulo", null);
+        registro.setTotais(totais);
+        registro.setPrincipal(new Parte("principal", 10));
+        registro.setPartes(Arrays.asList(new Parte("a", 1), null, new Parte(null, null)));
+        Map<String, Parte> porNome = new LinkedHashMap<>();
+        porNome.put("b", new Parte("b", 2));
+        porNome.put("nula", null);
+        registro.setPorNome(porNome);
+        return registro;
+    }
+
+    private static Registro extremos() {
+        Registro registro = new Registro();
+        registro.setInteiro(Integer.MIN_VALUE);
+        registro.setLongo(Long.MAX_VALUE);
+        registro.setReal(Double.NaN);
+        registro.setFracao(Float.NEGATIVE_INFINITY);
+        registro.setLetra(Character.MAX_VALUE);
+        registro.setCurto(Short.MIN_VALUE);
+        registro.setOcteto(Byte.MAX_VALUE);
+        registro.setTexto("");
+        registro.setValor(BigDecimal.ZERO);
+        registro.setGrande(BigInteger.ZERO);
+        registro.setInstante(Instant.MAX);
+        registro.setMomento(LocalDateTime.MIN);
+        registro.setData(LocalDate.MAX);
+        registro.setFoto(new byte[0]);
+        registro.setNumeros(new int[0]);
+        registro.setNomes(new String[0]);
+        registro.setTags(Arrays.asList());
+        registro.setCodigos(new LinkedHashSet<>());
+        registro.setTotais(new LinkedHashMap<>());
+        registro.setPartes(Arrays.asList());
+        registro.setPorNome(new LinkedHashMap<>());
+        return registro;
+    }
+}
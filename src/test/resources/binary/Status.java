@@ -0,0 +1,5 @@
+package binary;
+
+public enum Status {
+    ATIVO, SUSPENSO, ENCERRADO
+}
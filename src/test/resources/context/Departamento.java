@@ -0,0 +1,20 @@
+package context;
+
+import java.util.List;
+import java.util.Map;
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingContext = true)
+public class Departamento {
+
+    private String nome;
+    private List<Funcionario> funcionarios;
+    private Map<String, Funcionario> porCargo;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public List<Funcionario> getFuncionarios() { return funcionarios; }
+    public void setFuncionarios(List<Funcionario> funcionarios) { this.funcionarios = funcionarios; }
+    public Map<String, Funcionario> getPorCargo() { return porCargo; }
+    public void setPorCargo(Map<String, Funcionario> porCargo) { this.porCargo = porCargo; }
+}
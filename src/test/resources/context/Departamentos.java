@@ -0,0 +1,37 @@
+package context;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grafo de exemplo do MappingContextTest: o departamento lista os funcionários,
+ * que apontam de volta para ele, e a chefe é chefe de si mesma.
+ */
+public final class Departamentos {
+
+    private Departamentos() {
+    }
+
+    public static Departamento departamento() {
+        Departamento departamento = new Departamento();
+        departamento.setNome("vendas");
+        Funcionario ana = funcionario("ana", departamento);
+        Funcionario bia = funcionario("bia", departamento);
+        ana.setChefe(ana);
+        bia.setChefe(ana);
+        departamento.setFuncionarios(Arrays.asList(ana, bia));
+        Map<String, Funcionario> porCargo = new LinkedHashMap<>();
+        porCargo.put("gerente", ana);
+        porCargo.put("vendedora", bia);
+        departamento.setPorCargo(porCargo);
+        return departamento;
+    }
+
+    private static Funcionario funcionario(String nome, Departamento departamento) {
+        Funcionario funcionario = new Funcionario();
+        funcionario.setNome(nome);
+        funcionario.setDepartamento(departamento);
+        return funcionario;
+    }
+}
@@ -0,0 +1,18 @@
+package context;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingContext = true)
+public class Funcionario {
+
+    private String nome;
+    private Departamento departamento;
+    private Funcionario chefe;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Departamento getDepartamento() { return departamento; }
+    public void setDepartamento(Departamento departamento) { this.departamento = departamento; }
+    public Funcionario getChefe() { return chefe; }
+    public void setChefe(Funcionario chefe) { this.chefe = chefe; }
+}
@@ -0,0 +1,16 @@
+package contextinvalid;
+
+import java.util.Set;
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingContext = true)
+public class Grupo {
+
+    private String nome;
+    private Set<Membro> membros;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Set<Membro> getMembros() { return membros; }
+    public void setMembros(Set<Membro> membros) { this.membros = membros; }
+}
@@ -0,0 +1,15 @@
+package contextinvalid;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingContext = true)
+public class Membro {
+
+    private String nome;
+    private Grupo grupo;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Grupo getGrupo() { return grupo; }
+    public void setGrupo(Grupo grupo) { this.grupo = grupo; }
+}
@@ -0,0 +1,15 @@
+package contextinvalid;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(immutable = true, mappingContext = true)
+public class Versao {
+
+    private int numero;
+    private Versao anterior;
+
+    public int getNumero() { return numero; }
+    public void setNumero(int numero) { this.numero = numero; }
+    public Versao getAnterior() { return anterior; }
+    public void setAnterior(Versao anterior) { this.anterior = anterior; }
+}
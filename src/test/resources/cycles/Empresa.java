@@ -0,0 +1,16 @@
+package cycles;
+
+import java.util.List;
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class Empresa {
+
+    private String nome;
+    private List<Pessoa> socios;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public List<Pessoa> getSocios() { return socios; }
+    public void setSocios(List<Pessoa> socios) { this.socios = socios; }
+}
@@ -0,0 +1,16 @@
+package cycles;
+
+import org.example.GenerateDTO;
+import org.example.NestedDTO;
+
+@GenerateDTO(mappingContext = true, nestedDTOs = {@NestedDTO(field = "pai", dto = "PastaDTO")})
+public class Pasta {
+
+    private String nome;
+    private Pasta pai;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Pasta getPai() { return pai; }
+    public void setPai(Pasta pai) { this.pai = pai; }
+}
@@ -0,0 +1,19 @@
+package cycles;
+
+import java.util.List;
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class Pessoa {
+
+    private String nome;
+    private Empresa empresa;
+    private List<Contrato> contratos;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Empresa getEmpresa() { return empresa; }
+    public void setEmpresa(Empresa empresa) { this.empresa = empresa; }
+    public List<Contrato> getContratos() { return contratos; }
+    public void setContratos(List<Contrato> contratos) { this.contratos = contratos; }
+}
@@ -0,0 +1,13 @@
+package cycles;
+
+/**
+ * Código que usa os DTOs do ciclo: eles continuam sendo gerados, então os
+ * únicos erros da compilação são os dos ciclos.
+ */
+public class Uso {
+
+    public static String nome(Empresa empresa, Pasta pasta) {
+        EmpresaDTO dto = EmpresaDTO.from(empresa);
+        return dto.getNome() + PastaDTO.from(pasta).getNome();
+    }
+}
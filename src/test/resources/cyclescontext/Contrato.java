@@ -0,0 +1,15 @@
+package cyclescontext;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingContext = true)
+public class Contrato {
+
+    private String numero;
+    private Empresa empresa;
+
+    public String getNumero() { return numero; }
+    public void setNumero(String numero) { this.numero = numero; }
+    public Empresa getEmpresa() { return empresa; }
+    public void setEmpresa(Empresa empresa) { this.empresa = empresa; }
+}
@@ -0,0 +1,15 @@
+package cyclescontext;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingContext = true)
+public class No {
+
+    private int valor;
+    private No proximo;
+
+    public int getValor() { return valor; }
+    public void setValor(int valor) { this.valor = valor; }
+    public No getProximo() { return proximo; }
+    public void setProximo(No proximo) { this.proximo = proximo; }
+}
@@ -0,0 +1,12 @@
+package fetchplan;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fetchPlan = true)
+public class Fabricante {
+
+    private String nome;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+}
@@ -0,0 +1,15 @@
+package fetchplan;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fetchPlan = true)
+public class Item {
+
+    private int quantidade;
+    private Produto produto;
+
+    public int getQuantidade() { return quantidade; }
+    public void setQuantidade(int quantidade) { this.quantidade = quantidade; }
+    public Produto getProduto() { Pedidos.lido("produto"); return produto; }
+    public void setProduto(Produto produto) { this.produto = produto; }
+}
@@ -0,0 +1,26 @@
+package fetchplan;
+
+import java.util.List;
+import java.util.Map;
+import org.example.GenerateDTO;
+
+@GenerateDTO(fetchPlan = true, flattenRelations = {"destaque"})
+public class Pedido {
+
+    private int numero;
+    private Cliente cliente;
+    private List<Item> itens;
+    private Map<String, Item> porCodigo;
+    private Produto destaque;
+
+    public int getNumero() { return numero; }
+    public void setNumero(int numero) { this.numero = numero; }
+    public Cliente getCliente() { Pedidos.lido("cliente"); return cliente; }
+    public void setCliente(Cliente cliente) { this.cliente = cliente; }
+    public List<Item> getItens() { Pedidos.lido("itens"); return itens; }
+    public void setItens(List<Item> itens) { this.itens = itens; }
+    public Map<String, Item> getPorCodigo() { Pedidos.lido("porCodigo"); return porCodigo; }
+    public void setPorCodigo(Map<String, Item> porCodigo) { this.porCodigo = porCodigo; }
+    public Produto getDestaque() { return destaque; }
+    public void setDestaque(Produto destaque) { this.destaque = destaque; }
+}
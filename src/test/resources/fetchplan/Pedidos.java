@@ -0,0 +1,68 @@
+package fetchplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pedido de exemplo do FetchPlanTest; os getters dos relacionamentos anotam
+ * em {@link #lidos()} quais foram lidos, na ordem da primeira leitura, para o
+ * teste ver o que o plano carregou.
+ */
+public final class Pedidos {
+
+    private static final Set<String> LIDOS = new LinkedHashSet<>();
+
+    private Pedidos() {
+    }
+
+    static void lido(String relacionamento) {
+        LIDOS.add(relacionamento);
+    }
+
+    public static List<String> lidos() {
+        List<String> lidos = new ArrayList<>(LIDOS);
+        LIDOS.clear();
+        return lidos;
+    }
+
+    public static Pedido pedido() {
+        Fabricante fabricante = new Fabricante();
+        fabricante.setNome("acme");
+        Produto caneta = produto(1L, "caneta", fabricante);
+        Produto lapis = produto(2L, "lápis", fabricante);
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("ana");
+
+        Pedido pedido = new Pedido();
+        pedido.setNumero(7);
+        pedido.setCliente(cliente);
+        pedido.setItens(Arrays.asList(item(2, caneta), item(5, lapis)));
+        Map<String, Item> porCodigo = new LinkedHashMap<>();
+        porCodigo.put("c", item(1, caneta));
+        pedido.setPorCodigo(porCodigo);
+        pedido.setDestaque(lapis);
+        LIDOS.clear();
+        return pedido;
+    }
+
+    private static Produto produto(Long id, String nome, Fabricante fabricante) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome(nome);
+        produto.setFabricante(fabricante);
+        return produto;
+    }
+
+    private static Item item(int quantidade, Produto produto) {
+        Item item = new Item();
+        item.setQuantidade(quantidade);
+        item.setProduto(produto);
+        return item;
+    }
+}
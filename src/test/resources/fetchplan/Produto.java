@@ -0,0 +1,18 @@
+package fetchplan;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fetchPlan = true)
+public class Produto {
+
+    private Long id;
+    private String nome;
+    private Fabricante fabricante;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Fabricante getFabricante() { Pedidos.lido("fabricante"); return fabricante; }
+    public void setFabricante(Fabricante fabricante) { this.fabricante = fabricante; }
+}
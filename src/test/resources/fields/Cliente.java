@@ -0,0 +1,37 @@
+package fields;
+
+import java.util.List;
+import org.example.GenerateDTO;
+
+@GenerateDTO(fieldAccessors = true, flattenRelations = {"empresa"})
+public class Cliente {
+
+    private String nome;
+    private int idade;
+    private Long codigo;
+    private char inicial;
+    private Short nivel;
+    private double saldo;
+    private Empresa empresa;
+    private Endereco principal;
+    private List<Endereco> enderecos;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public int getIdade() { return idade; }
+    public void setIdade(int idade) { this.idade = idade; }
+    public Long getCodigo() { return codigo; }
+    public void setCodigo(Long codigo) { this.codigo = codigo; }
+    public char getInicial() { return inicial; }
+    public void setInicial(char inicial) { this.inicial = inicial; }
+    public Short getNivel() { return nivel; }
+    public void setNivel(Short nivel) { this.nivel = nivel; }
+    public double getSaldo() { return saldo; }
+    public void setSaldo(double saldo) { this.saldo = saldo; }
+    public Empresa getEmpresa() { return empresa; }
+    public void setEmpresa(Empresa empresa) { this.empresa = empresa; }
+    public Endereco getPrincipal() { return principal; }
+    public void setPrincipal(Endereco principal) { this.principal = principal; }
+    public List<Endereco> getEnderecos() { return enderecos; }
+    public void setEnderecos(List<Endereco> enderecos) { this.enderecos = enderecos; }
+}
@@ -0,0 +1,9 @@
+package fields;
+
+public class Empresa {
+
+    private Long id;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
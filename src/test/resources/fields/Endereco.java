@@ -0,0 +1,12 @@
+package fields;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class Endereco {
+
+    private String rua;
+
+    public String getRua() { return rua; }
+    public void setRua(String rua) { this.rua = rua; }
+}
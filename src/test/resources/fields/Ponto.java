@@ -0,0 +1,15 @@
+package fields;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fieldAccessors = true, immutable = true)
+public class Ponto {
+
+    private int x;
+    private int y;
+
+    public int getX() { return x; }
+    public void setX(int x) { this.x = x; }
+    public int getY() { return y; }
+    public void setY(int y) { this.y = y; }
+}
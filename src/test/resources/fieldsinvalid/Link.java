@@ -0,0 +1,18 @@
+package fieldsinvalid;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fieldAccessors = true)
+public class Link {
+
+    private String nomeUrl;
+    private String nome_url;
+    private String destino;
+
+    public String getNomeUrl() { return nomeUrl; }
+    public void setNomeUrl(String nomeUrl) { this.nomeUrl = nomeUrl; }
+    public String getNome_url() { return nome_url; }
+    public void setNome_url(String nome_url) { this.nome_url = nome_url; }
+    public String getDestino() { return destino; }
+    public void setDestino(String destino) { this.destino = destino; }
+}
@@ -0,0 +1,15 @@
+package fieldsinvalid;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(fieldAccessors = true)
+public class Rota {
+
+    private String url;
+    private int peso;
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public int getPeso() { return peso; }
+    public void setPeso(int peso) { this.peso = peso; }
+}
@@ -0,0 +1,27 @@
+package frominto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.GenerateDTO;
+
+@GenerateDTO(columnarBatch = true)
+public class Carrinho {
+
+    private String cliente;
+    private Item destaque;
+    private List<Item> itens;
+    private Set<String> cupons;
+    private Map<String, Item> porCodigo;
+
+    public String getCliente() { return cliente; }
+    public void setCliente(String cliente) { this.cliente = cliente; }
+    public Item getDestaque() { return destaque; }
+    public void setDestaque(Item destaque) { this.destaque = destaque; }
+    public List<Item> getItens() { return itens; }
+    public void setItens(List<Item> itens) { this.itens = itens; }
+    public Set<String> getCupons() { return cupons; }
+    public void setCupons(Set<String> cupons) { this.cupons = cupons; }
+    public Map<String, Item> getPorCodigo() { return porCodigo; }
+    public void setPorCodigo(Map<String, Item> porCodigo) { this.porCodigo = porCodigo; }
+}
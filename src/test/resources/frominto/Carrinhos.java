@@ -0,0 +1,33 @@
+package frominto;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Entidades de exemplo do FromIntoTest.
+ */
+public final class Carrinhos {
+
+    private Carrinhos() {
+    }
+
+    public static Carrinho carrinho(String cliente, String... itens) {
+        Carrinho carrinho = new Carrinho();
+        carrinho.setCliente(cliente);
+        carrinho.setDestaque(new Item(cliente + "-destaque"));
+        Map<String, Item> porCodigo = new LinkedHashMap<>();
+        for (String nome : itens) {
+            porCodigo.put(nome, new Item(nome));
+        }
+        carrinho.setItens(Arrays.asList(porCodigo.values().toArray(new Item[0])));
+        carrinho.setCupons(new LinkedHashSet<>(Arrays.asList(itens)));
+        carrinho.setPorCodigo(porCodigo);
+        return carrinho;
+    }
+
+    public static Item item(String nome) {
+        return new Item(nome);
+    }
+}
@@ -0,0 +1,104 @@
+package json;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.GenerateDTO;
+import org.example.MappingStyle;
+
+// LOOP: o from em STREAM (Collectors.toMap) não aceita maps com valores nulos
+@GenerateDTO(jsonWriter = true, mappingStyle = MappingStyle.LOOP)
+public class Pedido {
+
+    private String texto;
+    private char letra;
+    private int inteiro;
+    private long longo;
+    private short curto;
+    private Integer inteiroNulo;
+    private boolean ativo;
+    private double real;
+    private double nan;
+    private float infinito;
+    private Double negativoInfinito;
+    private Double realNulo;
+    private float fracao;
+    private byte[] foto;
+    private int[] numeros;
+    private String[] nomes;
+    private BigDecimal valor;
+    private Tipo tipo;
+    private LocalDate data;
+    private List<String> tags;
+    private Set<Integer> codigos;
+    private Map<String, Integer> totais;
+    private Item item;
+    private List<Item> itens;
+    private Set<Item> itensUnicos;
+    private Map<String, Item> porNome;
+    private Map<Integer, Item> porCodigo;
+    // Mesmos nomes das variáveis locais do writeJson gerado
+    private String out;
+    private int first;
+
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+    public char getLetra() { return letra; }
+    public void setLetra(char letra) { this.letra = letra; }
+    public int getInteiro() { return inteiro; }
+    public void setInteiro(int inteiro) { this.inteiro = inteiro; }
+    public long getLongo() { return longo; }
+    public void setLongo(long longo) { this.longo = longo; }
+    public short getCurto() { return curto; }
+    public void setCurto(short curto) { this.curto = curto; }
+    public Integer getInteiroNulo() { return inteiroNulo; }
+    public void setInteiroNulo(Integer inteiroNulo) { this.inteiroNulo = inteiroNulo; }
+    public boolean getAtivo() { return ativo; }
+    public void setAtivo(boolean ativo) { this.ativo = ativo; }
+    public double getReal() { return real; }
+    public void setReal(double real) { this.real = real; }
+    public double getNan() { return nan; }
+    public void setNan(double nan) { this.nan = nan; }
+    public float getInfinito() { return infinito; }
+    public void setInfinito(float infinito) { this.infinito = infinito; }
+    public Double getNegativoInfinito() { return negativoInfinito; }
+    public void setNegativoInfinito(Double negativoInfinito) { this.negativoInfinito = negativoInfinito; }
+    public Double getRealNulo() { return realNulo; }
+    public void setRealNulo(Double realNulo) { this.realNulo = realNulo; }
+    public float getFracao() { return fracao; }
+    public void setFracao(float fracao) { this.fracao = fracao; }
+    public byte[] getFoto() { return foto; }
+    public void setFoto(byte[] foto) { this.foto = foto; }
+    public int[] getNumeros() { return numeros; }
+    public void setNumeros(int[] numeros) { this.numeros = numeros; }
+    public String[] getNomes() { return nomes; }
+    public void setNomes(String[] nomes) { this.nomes = nomes; }
+    public BigDecimal getValor() { return valor; }
+    public void setValor(BigDecimal valor) { this.valor = valor; }
+    public Tipo getTipo() { return tipo; }
+    public void setTipo(Tipo tipo) { this.tipo = tipo; }
+    public LocalDate getData() { return data; }
+    public void setData(LocalDate data) { this.data = data; }
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+    public Set<Integer> getCodigos() { return codigos; }
+    public void setCodigos(Set<Integer> codigos) { this.codigos = codigos; }
+    public Map<String, Integer> getTotais() { return totais; }
+    public void setTotais(Map<String, Integer> totais) { this.totais = totais; }
+    public Item getItem() { return item; }
+    public void setItem(Item item) { this.item = item; }
+    public List<Item> getItens() { return itens; }
+    public void setItens(List<Item> itens) { this.itens = itens; }
+    public Set<Item> getItensUnicos() { return itensUnicos; }
+    public void setItensUnicos(Set<Item> itensUnicos) { this.itensUnicos = itensUnicos; }
+    public Map<String, Item> getPorNome() { return porNome; }
+    public void setPorNome(Map<String, Item> porNome) { this.porNome = porNome; }
+    public Map<Integer, Item> getPorCodigo() { return porCodigo; }
+    public void setPorCodigo(Map<Integer, Item> porCodigo) { this.porCodigo = porCodigo; }
+    public String getOut() { return out; }
+    public void setOut(String out) { this.out = out; }
+    public int getFirst() { return first; }
+    public void setFirst(int first) { this.first = first; }
+}
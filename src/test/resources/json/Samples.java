@@ -0,0 +1,88 @@
+package json;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Entidades de exemplo do JsonWriterGeneratorTest, por nome do caso.
+ */
+public final class Samples {
+
+    private Samples() {
+    }
+
+    public static Map<String, Object> pedidos() {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("completo", completo());
+        samples.put("vazio", new Pedido());
+        samples.put("textos", textos());
+        samples.put("itemSozinho", new Item("caneta \"azul\"", 3));
+        return samples;
+    }
+
+    private static Pedido completo() {
+        Pedido pedido = new Pedido();
+        pedido.setTexto("linha 1\nlinha 2");
+        pedido.setLetra('"');
+        pedido.setInteiro(-42);
+        pedido.setLongo(Long.MAX_VALUE);
+        pedido.setCurto((short) -7);
+        pedido.setAtivo(true);
+        pedido.setReal(1.0E-7);
+        pedido.setNan(Double.NaN);
+        pedido.setInfinito(Float.POSITIVE_INFINITY);
+        pedido.setNegativoInfinito(Double.NEGATIVE_INFINITY);
+        pedido.setFracao(0.1f);
+        pedido.setFoto(new byte[]{0, 1, 2, (byte) 0xfb, (byte) 0xff});
+        pedido.setNumeros(new int[]{1, -2, Integer.MIN_VALUE});
+        pedido.setNomes(new String[]{"a", null, "\\"});
+        pedido.setValor(new BigDecimal("12345678901234567890.50"));
+        pedido.setTipo(Tipo.TROCA);
+        pedido.setData(LocalDate.of(2024, 2, 29));
+        pedido.setTags(Arrays.asList("x", null, "\t"));
+        pedido.setCodigos(new LinkedHashSet<>(Arrays.asList(3, null, 1)));
+
+        Map<String, Integer> totais = new LinkedHashMap<>();
+        totais.put("um", 1);
+        totais.put("nulo", null);
+        totais.put("chave \"com\" aspas", 3);
+        pedido.setTotais(totais);
+
+        pedido.setItem(new Item("lápis", 2));
+        pedido.setItens(Arrays.asList(new Item("a", 1), null, new Item("b", 2)));
+        pedido.setItensUnicos(new LinkedHashSet<>(Arrays.asList(new Item("u", 1), null)));
+
+        // Chaves de uma letra e inteiros pequenos: o HashMap do DTO percorre na mesma ordem
+        Map<String, Item> porNome = new LinkedHashMap<>();
+        porNome.put("a", new Item("a", 1));
+        porNome.put("b", null);
+        porNome.put("c", new Item("c\u0000", 0));
+        pedido.setPorNome(porNome);
+
+        Map<Integer, Item> porCodigo = new LinkedHashMap<>();
+        porCodigo.put(1, new Item("um", 1));
+        porCodigo.put(2, null);
+        pedido.setPorCodigo(porCodigo);
+
+        pedido.setOut("campo out");
+        pedido.setFirst(7);
+        return pedido;
+    }
+
+    private static Pedido textos() {
+        Pedido pedido = new Pedido();
+        pedido.setTexto("aspas \" barra \\ / controle \u0000\u0001\u000b\u001f \b\f\n\r\t fim");
+        pedido.setOut("emoji 😀, clave 𝄞, acentos ação, separador \u2028 e \u007f");
+        pedido.setLetra('\u0007');
+        pedido.setTags(Arrays.asList("", "😀😀", "\"\\\""));
+        pedido.setFoto(new byte[0]);
+        pedido.setNumeros(new int[0]);
+        pedido.setItens(Arrays.asList());
+        pedido.setPorNome(new LinkedHashMap<>());
+        return pedido;
+    }
+}
@@ -0,0 +1,6 @@
+package json;
+
+public enum Tipo {
+    VENDA,
+    TROCA
+}
@@ -0,0 +1,16 @@
+package metrics;
+
+import java.util.List;
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingMetrics = true)
+public class Conta {
+
+    private String numero;
+    private List<Lancamento> lancamentos;
+
+    public String getNumero() { return numero; }
+    public void setNumero(String numero) { this.numero = numero; }
+    public List<Lancamento> getLancamentos() { return lancamentos; }
+    public void setLancamentos(List<Lancamento> lancamentos) { this.lancamentos = lancamentos; }
+}
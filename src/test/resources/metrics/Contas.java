@@ -0,0 +1,23 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Conta com dois lançamentos, para o MappingMetricsTest.
+ */
+public final class Contas {
+
+    private Contas() {
+    }
+
+    public static Conta comLancamentos() {
+        Lancamento a = new Lancamento();
+        a.setValor(10);
+        Lancamento b = new Lancamento();
+        b.setValor(20);
+        Conta conta = new Conta();
+        conta.setNumero("001");
+        conta.setLancamentos(Arrays.asList(a, b));
+        return conta;
+    }
+}
@@ -0,0 +1,12 @@
+package metrics;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingMetrics = true)
+public class Lancamento {
+
+    private long valor;
+
+    public long getValor() { return valor; }
+    public void setValor(long valor) { this.valor = valor; }
+}
@@ -0,0 +1,21 @@
+package nestedpackage.loja;
+
+import java.util.List;
+import nestedpackage.comum.Endereco;
+import org.example.GenerateDTO;
+import org.example.NestedDTO;
+
+@GenerateDTO(nestedDTOs = {
+        @NestedDTO(field = "endereco", dto = "EnderecoDTO"),
+        @NestedDTO(field = "outros", dto = "nestedpackage.comum.EnderecoDTO")
+})
+public class Cliente {
+
+    private Endereco endereco;
+    private List<Endereco> outros;
+
+    public Endereco getEndereco() { return endereco; }
+    public void setEndereco(Endereco endereco) { this.endereco = endereco; }
+    public List<Endereco> getOutros() { return outros; }
+    public void setOutros(List<Endereco> outros) { this.outros = outros; }
+}
@@ -0,0 +1,15 @@
+package registry;
+
+import org.example.GenerateDTO;
+
+public class Catalogo {
+
+    @GenerateDTO
+    public static class Secao {
+
+        private String titulo;
+
+        public String getTitulo() { return titulo; }
+        public void setTitulo(String titulo) { this.titulo = titulo; }
+    }
+}
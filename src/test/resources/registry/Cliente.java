@@ -0,0 +1,17 @@
+package registry;
+
+import org.example.GenerateDTO;
+
+// A projeção sem nome é a padrão do registro, mesmo declarada depois
+@GenerateDTO(name = "Resumo", fields = {"nome"})
+@GenerateDTO
+public class Cliente {
+
+    private String nome;
+    private String email;
+
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+}
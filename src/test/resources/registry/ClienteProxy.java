@@ -0,0 +1,7 @@
+package registry;
+
+/**
+ * Subclasse sem DTO, como o proxy que o Hibernate cria para uma entidade lazy.
+ */
+public class ClienteProxy extends Cliente {
+}
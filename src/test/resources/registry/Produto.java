@@ -0,0 +1,17 @@
+package registry;
+
+import org.example.GenerateDTO;
+
+// Sem projeção padrão: a primeira declarada faz o papel dela
+@GenerateDTO(name = "Lista", fields = {"codigo"})
+@GenerateDTO(name = "Detalhe")
+public class Produto {
+
+    private String codigo;
+    private String descricao;
+
+    public String getCodigo() { return codigo; }
+    public void setCodigo(String codigo) { this.codigo = codigo; }
+    public String getDescricao() { return descricao; }
+    public void setDescricao(String descricao) { this.descricao = descricao; }
+}
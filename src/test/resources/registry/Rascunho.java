@@ -0,0 +1,13 @@
+package registry;
+
+import org.example.GenerateDTO;
+
+// Não é pública: o registro, em outro pacote, não a enxerga
+@GenerateDTO
+class Rascunho {
+
+    private String texto;
+
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+}
@@ -0,0 +1,18 @@
+package registry;
+
+import java.util.function.Function;
+import registro.Registro;
+
+/**
+ * Código que usa o registro gerado na mesma compilação.
+ */
+public final class Usos {
+
+    private Usos() {
+    }
+
+    public static Object resumo(Cliente cliente) {
+        Function<Cliente, Object> from = Registro.fromFunction(Cliente.class, "Resumo");
+        return from.apply(cliente);
+    }
+}
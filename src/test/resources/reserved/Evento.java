@@ -0,0 +1,12 @@
+package reserved;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(mappingMetrics = true)
+public class Evento {
+
+    private String METRICS;
+
+    public String getMETRICS() { return METRICS; }
+    public void setMETRICS(String METRICS) { this.METRICS = METRICS; }
+}
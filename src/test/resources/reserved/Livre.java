@@ -0,0 +1,22 @@
+package reserved;
+
+import org.example.GenerateDTO;
+
+/**
+ * Nomes parecidos com os membros gerados, mas que não colidem: só há dirty0
+ * (menos de 64 campos), METRICS só existe com mappingMetrics e $hash só no imutável.
+ */
+@GenerateDTO
+public class Livre {
+
+    private long dirty1;
+    private String metrics;
+    private int hash;
+
+    public long getDirty1() { return dirty1; }
+    public void setDirty1(long dirty1) { this.dirty1 = dirty1; }
+    public String getMetrics() { return metrics; }
+    public void setMetrics(String metrics) { this.metrics = metrics; }
+    public int getHash() { return hash; }
+    public void setHash(int hash) { this.hash = hash; }
+}
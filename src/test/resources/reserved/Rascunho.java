@@ -0,0 +1,15 @@
+package reserved;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO
+public class Rascunho {
+
+    private String titulo;
+    private long dirty0;
+
+    public String getTitulo() { return titulo; }
+    public void setTitulo(String titulo) { this.titulo = titulo; }
+    public long getDirty0() { return dirty0; }
+    public void setDirty0(long dirty0) { this.dirty0 = dirty0; }
+}
@@ -0,0 +1,12 @@
+package reserved;
+
+import org.example.GenerateDTO;
+
+@GenerateDTO(immutable = true)
+public class Valor {
+
+    private int $hash;
+
+    public int get$hash() { return $hash; }
+    public void set$hash(int $hash) { this.$hash = $hash; }
+}